@@ -1,8 +1,11 @@
+import groovy.json.JsonSlurper
+
 plugins {
     java
     id("org.springframework.boot") version "3.4.5"
     id("io.spring.dependency-management") version "1.1.7"
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "dev.j3rrryy"
@@ -20,6 +23,11 @@ configurations {
     }
 }
 
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaseline = layout.projectDirectory.file(
+    findProperty("jmhBaselineFile") as String? ?: "src/jmh/baseline.json"
+)
+
 repositories {
     mavenCentral()
 }
@@ -46,6 +54,79 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = jmhResults
+}
+
+val jmhTolerance = (findProperty("jmhTolerance") as String?)?.toDouble() ?: 0.10
+
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    description = "Stores the latest JMH results as the baseline for jmhCompare"
+    mustRunAfter(tasks.named("jmh"))
+    from(jmhResults)
+    into(jmhBaseline.asFile.parentFile)
+    rename { jmhBaseline.asFile.name }
+}
+
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    description = "Fails when per-thread throughput drops or allocation grows beyond jmhTolerance against the baseline"
+    dependsOn(tasks.named("jmh"))
+    doLast {
+        val baselineFile = jmhBaseline.asFile
+        val resultsFile = jmhResults.get().asFile
+        if (!baselineFile.exists()) {
+            throw GradleException("No JMH baseline at $baselineFile, run jmh and jmhBaseline first")
+        }
+        if (!resultsFile.exists()) throw GradleException("No JMH results at $resultsFile, run jmh first")
+
+        fun scores(file: File, metric: String?): Map<String, Double> {
+            @Suppress("UNCHECKED_CAST")
+            val runs = JsonSlurper().parse(file) as List<Map<String, Any>>
+            return runs.mapNotNull { run ->
+                @Suppress("UNCHECKED_CAST")
+                val result = if (metric == null) run["primaryMetric"] as Map<String, Any>
+                else (run["secondaryMetrics"] as Map<String, Map<String, Any>>)[metric] ?: return@mapNotNull null
+                val threads = if (metric == null) (run["threads"] as Number).toDouble() else 1.0
+                run["benchmark"] as String to (result["score"] as Number).toDouble() / threads
+            }.toMap()
+        }
+
+        val regressions = mutableListOf<String>()
+        val baselineThroughput = scores(baselineFile, null)
+        val throughput = scores(resultsFile, null)
+        (baselineThroughput.keys - throughput.keys).forEach { benchmark ->
+            logger.warn("{} is in the baseline but was not run", benchmark)
+        }
+        (throughput.keys - baselineThroughput.keys).forEach { benchmark ->
+            logger.warn("{} has no baseline and was not compared", benchmark)
+        }
+        throughput.forEach { (benchmark, score) ->
+            val baseline = baselineThroughput[benchmark] ?: return@forEach
+            if (score < baseline * (1 - jmhTolerance)) {
+                regressions += "$benchmark throughput %.1f < baseline %.1f ops/s per thread".format(score, baseline)
+            }
+        }
+        val baselineAllocation = scores(baselineFile, "gc.alloc.rate.norm")
+        scores(resultsFile, "gc.alloc.rate.norm").forEach { (benchmark, score) ->
+            val baseline = baselineAllocation[benchmark] ?: return@forEach
+            if (score > baseline * (1 + jmhTolerance)) {
+                regressions += "$benchmark allocation %.0f > baseline %.0f B/op".format(score, baseline)
+            }
+        }
+
+        if (regressions.isNotEmpty()) throw GradleException(regressions.joinToString("\n", "JMH regressions:\n"))
+        logger.lifecycle("JMH results are within {}% of the baseline", (jmhTolerance * 100).toInt())
+    }
+}
+
 jacoco {
     toolVersion = "0.8.13"
 }
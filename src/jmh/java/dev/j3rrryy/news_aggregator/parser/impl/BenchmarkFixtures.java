@@ -0,0 +1,36 @@
+package dev.j3rrryy.news_aggregator.parser.impl;
+
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserConfig;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static Document load(String path, String baseUri) {
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream("/fixtures/" + path)) {
+            return Jsoup.parse(Objects.requireNonNull(in, path), "UTF-8", baseUri);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static ParserProperties parserProperties(Source source) {
+        ParserConfig parserConfig = new ParserConfig();
+        parserConfig.setRateLimitPerSecond(1);
+
+        ParserProperties parserProperties = new ParserProperties();
+        parserProperties.getConfigs().put(source, parserConfig);
+        return parserProperties;
+    }
+
+}
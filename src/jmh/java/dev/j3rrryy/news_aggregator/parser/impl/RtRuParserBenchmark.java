@@ -0,0 +1,49 @@
+package dev.j3rrryy.news_aggregator.parser.impl;
+
+import dev.j3rrryy.news_aggregator.entity.NewsArticle;
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.service.ParsingStatusManager;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Threads(Threads.MAX)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RtRuParserBenchmark {
+
+    private RtRuParser parser;
+    private Document listing;
+    private Document article;
+    private LocalDateTime latestPublishedAt;
+
+    @Setup
+    public void setUp() {
+        parser = new RtRuParser(
+                null, null, null, null, null,
+                BenchmarkFixtures.parserProperties(Source.RT_RU),
+                null, null,
+                new ParsingStatusManager()
+        );
+        listing = BenchmarkFixtures.load("rt_ru/listing.html", "https://russian.rt.com/listing/type.ArticleVideoGallery.trend.5835d35ec46188a6798b493b/prepare/all-trends-new/50/0");
+        article = BenchmarkFixtures.load("rt_ru/article.html", "https://russian.rt.com/russia/news/1400000-novost");
+        latestPublishedAt = LocalDateTime.of(2025, 4, 1, 0, 0);
+    }
+
+    @Benchmark
+    public Set<String> getPageUrls() {
+        return parser.getPageUrls(listing, latestPublishedAt);
+    }
+
+    @Benchmark
+    public Optional<NewsArticle> parseNewsArticle() {
+        return parser.parseNewsArticle(article, Category.POLITICS);
+    }
+
+}
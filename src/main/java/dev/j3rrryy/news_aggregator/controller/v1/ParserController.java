@@ -1,10 +1,15 @@
 package dev.j3rrryy.news_aggregator.controller.v1;
 
 import dev.j3rrryy.news_aggregator.dto.request.AutoParsingInterval;
+import dev.j3rrryy.news_aggregator.dto.request.BackfillRequest;
+import dev.j3rrryy.news_aggregator.dto.request.HostConcurrencyLimit;
 import dev.j3rrryy.news_aggregator.dto.request.NewsSourceStatusesRequest;
 import dev.j3rrryy.news_aggregator.dto.response.AutoParsingStatus;
+import dev.j3rrryy.news_aggregator.dto.response.BackfillStatus;
+import dev.j3rrryy.news_aggregator.dto.response.HostConcurrencyStatus;
 import dev.j3rrryy.news_aggregator.dto.response.NewsSourceStatusesResponse;
 import dev.j3rrryy.news_aggregator.dto.response.ParsingStatus;
+import dev.j3rrryy.news_aggregator.parser.scheduler.HeadPoller;
 import dev.j3rrryy.news_aggregator.parser.scheduler.ParsingScheduler;
 import dev.j3rrryy.news_aggregator.service.v1.ParserService;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,6 +20,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/v1/parser")
@@ -22,6 +29,7 @@ import org.springframework.web.bind.annotation.*;
 public class ParserController {
 
     private final ParserService parserService;
+    private final HeadPoller headPoller;
     private final ParsingScheduler parsingScheduler;
 
     @PostMapping("/start")
@@ -44,6 +52,43 @@ public class ParserController {
         parserService.stopParsing();
     }
 
+    @PostMapping("/archive/reparse")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Re-parse of archived pages started successfully"),
+            @ApiResponse(responseCode = "409", description = "Parsing is already in progress")
+    })
+    public void startReparse() {
+        parserService.startReparse();
+    }
+
+    @PostMapping("/backfill/start")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Backfill started or resumed successfully"),
+            @ApiResponse(responseCode = "400", ref = "ValidationFailed"),
+            @ApiResponse(responseCode = "409", description = "Backfill is already in progress")
+    })
+    public void startBackfill(@RequestBody @Valid BackfillRequest dto) {
+        parserService.startBackfill(dto);
+    }
+
+    @PostMapping("/backfill/stop")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Backfill stopping..."),
+            @ApiResponse(responseCode = "409", description = "Backfill is not running")
+    })
+    public void stopBackfill() {
+        parserService.stopBackfill();
+    }
+
+    @GetMapping("/backfill/status")
+    @ApiResponse(responseCode = "200", description = "Current status and progress of backfill")
+    public BackfillStatus getBackfillStatus() {
+        return parserService.getBackfillStatus();
+    }
+
     @GetMapping("/status")
     @ApiResponse(responseCode = "200", description = "Current status of parsing process")
     public ParsingStatus getParsingStatus() {
@@ -66,6 +111,22 @@ public class ParserController {
         parserService.patchSourceStatuses(dto);
     }
 
+    @GetMapping("/sources/concurrency")
+    @ApiResponse(responseCode = "200", description = "Concurrency limits, wait times and saturation of news sources")
+    public List<HostConcurrencyStatus> getHostConcurrency() {
+        return parserService.getHostConcurrency();
+    }
+
+    @PatchMapping("/sources/concurrency")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Concurrency limit updated successfully"),
+            @ApiResponse(responseCode = "400", ref = "ValidationFailed")
+    })
+    public void setHostConcurrency(@RequestBody @Valid HostConcurrencyLimit dto) {
+        parserService.setHostConcurrency(dto);
+    }
+
     @GetMapping("/auto-parsing/status")
     @ApiResponse(responseCode = "200", description = "Current status of auto-parsing")
     public AutoParsingStatus getAutoParsingStatus() {
@@ -96,4 +157,18 @@ public class ParserController {
         parserService.setAutoParsingInterval(dto);
     }
 
+    @PatchMapping("/head-polling/enable")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponse(responseCode = "204", description = "Head polling enabled successfully")
+    public void enableHeadPolling() {
+        headPoller.enableHeadPolling();
+    }
+
+    @PatchMapping("/head-polling/disable")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponse(responseCode = "204", description = "Head polling disabled successfully")
+    public void disableHeadPolling() {
+        headPoller.disableHeadPolling();
+    }
+
 }
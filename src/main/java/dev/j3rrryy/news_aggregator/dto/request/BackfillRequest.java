@@ -0,0 +1,16 @@
+package dev.j3rrryy.news_aggregator.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Past;
+
+import java.time.LocalDate;
+
+public record BackfillRequest(
+        @Schema(example = "2020-01-01")
+        @NotNull(message = "Target date must be provided")
+        @Past(message = "Target date must be in the past")
+        LocalDate targetDate
+) {
+
+}
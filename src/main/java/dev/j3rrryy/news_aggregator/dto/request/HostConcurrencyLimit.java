@@ -0,0 +1,19 @@
+package dev.j3rrryy.news_aggregator.dto.request;
+
+import dev.j3rrryy.news_aggregator.enums.Source;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record HostConcurrencyLimit(
+        @Schema(example = "SVPRESSA_RU")
+        @NotNull(message = "Source must be provided")
+        Source source,
+
+        @Schema(example = "8", description = "0 removes the per-source limit")
+        @NotNull(message = "Max concurrent requests must be provided")
+        @PositiveOrZero(message = "Max concurrent requests must be 0 or greater")
+        Integer maxConcurrentRequests
+) {
+
+}
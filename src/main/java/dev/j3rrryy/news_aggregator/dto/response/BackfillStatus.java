@@ -0,0 +1,19 @@
+package dev.j3rrryy.news_aggregator.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+public record BackfillStatus(
+        boolean inProgress,
+
+        @Schema(example = "2020-01-01")
+        LocalDate targetDate,
+
+        int pathsTotal,
+        int pathsCompleted,
+        long pagesCrawled,
+        long articlesSaved
+) {
+
+}
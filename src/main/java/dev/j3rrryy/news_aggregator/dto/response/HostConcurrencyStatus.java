@@ -0,0 +1,24 @@
+package dev.j3rrryy.news_aggregator.dto.response;
+
+import dev.j3rrryy.news_aggregator.enums.Source;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record HostConcurrencyStatus(
+        Source source,
+        int maxConcurrentRequests,
+        int inFlight,
+        int queued,
+        long granted,
+        long expired,
+
+        @Schema(example = "12.5")
+        double averageWaitMillis,
+
+        @Schema(example = "340")
+        long maxWaitMillis,
+
+        @Schema(example = "0.42", description = "Share of time the source spent at its concurrency limit")
+        double saturation
+) {
+
+}
@@ -6,6 +6,7 @@ import dev.j3rrryy.news_aggregator.enums.Status;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Immutable;
 import org.hibernate.annotations.JdbcType;
 import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
@@ -40,6 +41,7 @@ public class NewsArticle {
     @JdbcType(PostgreSQLEnumJdbcType.class)
     private Category category;
 
+    @Immutable
     @Column(name = "keyword")
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(
@@ -72,4 +74,9 @@ public class NewsArticle {
     @JdbcType(PostgreSQLEnumJdbcType.class)
     private Source source;
 
+    private UUID canonicalId;
+
+    @Transient
+    private String crawlPath;
+
 }
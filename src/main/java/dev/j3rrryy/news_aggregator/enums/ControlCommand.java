@@ -0,0 +1,5 @@
+package dev.j3rrryy.news_aggregator.enums;
+
+public enum ControlCommand {
+    STOP, SOURCE_STATUSES, AUTO_PARSING, HEAD_POLLING, HOST_CONCURRENCY
+}
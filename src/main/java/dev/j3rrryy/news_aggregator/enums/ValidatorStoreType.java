@@ -0,0 +1,5 @@
+package dev.j3rrryy.news_aggregator.enums;
+
+public enum ValidatorStoreType {
+    NONE, MEMORY, REDIS
+}
@@ -0,0 +1,13 @@
+package dev.j3rrryy.news_aggregator.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class BackfillNotRunningException extends RuntimeException {
+
+    public BackfillNotRunningException() {
+        super("Backfill is not running");
+    }
+
+}
@@ -0,0 +1,19 @@
+package dev.j3rrryy.news_aggregator.exceptions;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class PageThrottledException extends RuntimeException {
+
+    private final int statusCode;
+    private final Duration retryAfter;
+
+    public PageThrottledException(String url, int statusCode, Duration retryAfter) {
+        super("Throttled by " + url + " with status " + statusCode);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+}
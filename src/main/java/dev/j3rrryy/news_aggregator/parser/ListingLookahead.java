@@ -0,0 +1,56 @@
+package dev.j3rrryy.news_aggregator.parser;
+
+import org.jsoup.nodes.Document;
+
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+class ListingLookahead implements AutoCloseable {
+
+    private final int depth;
+    private final ExecutorService executor;
+    private final IntFunction<Optional<Document>> pageLoader;
+    private final TreeMap<Integer, Future<Optional<Document>>> pending = new TreeMap<>();
+
+    ListingLookahead(int depth, ExecutorService executor, IntFunction<Optional<Document>> pageLoader) {
+        this.depth = Math.max(depth, 0);
+        this.executor = executor;
+        this.pageLoader = pageLoader;
+    }
+
+    Optional<Document> fetch(int page) {
+        pending.headMap(page).values().forEach(future -> future.cancel(true));
+        pending.headMap(page).clear();
+
+        for (int next = page; next <= page + depth; next++) {
+            pending.computeIfAbsent(next, p -> executor.submit(() -> pageLoader.apply(p)));
+        }
+
+        Future<Optional<Document>> future = pending.remove(page);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() {
+        pending.values().forEach(future -> future.cancel(true));
+        pending.clear();
+    }
+
+}
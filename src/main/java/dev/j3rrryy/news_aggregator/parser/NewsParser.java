@@ -4,7 +4,9 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.RateLimiter;
 import dev.j3rrryy.news_aggregator.entity.NewsArticle;
 import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.CrawlPriority;
 import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.archive.ArchiveOrigin;
 import dev.j3rrryy.news_aggregator.parser.config.ParserConfig;
 import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
 import dev.j3rrryy.news_aggregator.parser.service.*;
@@ -12,25 +14,36 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.nodes.Document;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.*;
 
 @Slf4j
 public abstract class NewsParser {
 
+    private static final String HEAD_POLL_LEASE_PREFIX = "head-poll:";
+    private static final double MIN_BACKFILL_RATE = 0.1;
+
     @Getter
     protected final Source source;
+    @Getter
     protected final int initialPage;
+    protected final int frontierMaxAttempts;
     protected final String urlTemplate;
-    protected final RateLimiter rateLimiter;
+    @Getter
+    protected final AdaptiveRateLimiter rateLimiter;
+    protected final RateLimiter backfillRateLimiter;
     protected final PageFetcher pageFetcher;
     protected final ParserConfig parserConfig;
     protected final ExecutorService ioExecutor;
     protected final ExecutorService cpuExecutor;
     protected final ParsingService parsingService;
+    protected final IngestBuffer ingestBuffer;
     protected final ParsingStateStore parsingStateStore;
+    protected final CrawlLeaseManager crawlLeaseManager;
     protected final ParsingStatusManager parsingStatusManager;
 
     protected NewsParser(
@@ -41,124 +54,427 @@ public abstract class NewsParser {
             ExecutorService ioExecutor,
             ExecutorService cpuExecutor,
             ParsingService parsingService,
+            IngestBuffer ingestBuffer,
             ParserProperties parserProperties,
             ParsingStateStore parsingStateStore,
+            CrawlLeaseManager crawlLeaseManager,
             ParsingStatusManager parsingStatusManager
     ) {
         this.source = source;
         this.ioExecutor = ioExecutor;
         this.cpuExecutor = cpuExecutor;
         this.initialPage = initialPage;
+        this.frontierMaxAttempts = parserProperties.getFrontierMaxAttempts();
         this.urlTemplate = urlTemplate;
         this.pageFetcher = pageFetcher;
         this.parsingService = parsingService;
+        this.ingestBuffer = ingestBuffer;
         this.parsingStateStore = parsingStateStore;
+        this.crawlLeaseManager = crawlLeaseManager;
         this.parsingStatusManager = parsingStatusManager;
         this.parserConfig = parserProperties.getConfigs().get(source);
-        this.rateLimiter = RateLimiter.create(parserConfig.getRateLimitPerSecond());
+        this.rateLimiter = AdaptiveRateLimiter.create(source, parserConfig);
+        this.backfillRateLimiter = RateLimiter.create(Math.max(
+                parserConfig.getRateLimitPerSecond() * parserProperties.getBackfillRateFraction(), MIN_BACKFILL_RATE
+        ));
     }
 
     protected abstract Set<String> getPageUrls(Document doc, LocalDateTime latestPublishedAt);
 
     protected abstract Optional<NewsArticle> parseNewsArticle(Document doc, Category category);
 
-    public void parse(Map<Category, LocalDateTime> latestPublishedAtByCategory) {
+    public boolean handlesUrl(String url) {
+        String template = urlTemplate.strip();
+        int placeholder = template.indexOf('%');
+        try {
+            String host = URI.create(url.strip()).getHost();
+            return host != null
+                    && host.equalsIgnoreCase(URI.create(placeholder < 0 ? template : template.substring(0, placeholder)).getHost());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public Optional<NewsArticle> parseArchivedArticle(Document doc, Category category) {
+        return parseNewsArticle(doc, category);
+    }
+
+    public void parse() {
+        if (parserConfig.getPathParallelism() > 1) {
+            parseConcurrently();
+            return;
+        }
+
         for (Map.Entry<Category, Set<String>> entry : parserConfig.getCategoryUrls().entrySet()) {
             Category category = entry.getKey();
-            LocalDateTime latestPublishedAt = latestPublishedAtByCategory.get(category);
 
             for (String path : entry.getValue()) {
-                parsingStateStore.getCurrentPage(source, category, path)
-                        .ifPresent(startPage -> {
-                            log.info("Found missing articles");
-                            processTail(startPage, path, category);
-                        });
+                if (!parseLeasedPath(path, category)) return;
+            }
+        }
+    }
 
-                if (parsingStatusManager.isStopRequested()) return;
-                processHead(path, category, latestPublishedAt);
+    public int pollHead() {
+        int saved = 0;
+        for (Map.Entry<Category, Set<String>> entry : parserConfig.getCategoryUrls().entrySet()) {
+            Category category = entry.getKey();
 
-                if (parsingStatusManager.isStopRequested()) return;
-                parsingStateStore.clearState(source, category, path);
+            for (String path : entry.getValue()) {
+                saved += pollHeadPage(path, category);
             }
         }
+        return saved;
     }
 
-    private void processTail(int startPage, String path, Category category) {
-        int page = startPage;
+    private int pollHeadPage(String path, Category category) {
+        Optional<CrawlLease> lease = crawlLeaseManager.tryAcquire(source, category, HEAD_POLL_LEASE_PREFIX + path);
+        if (lease.isEmpty()) return 0;
 
-        while (!parsingStatusManager.isStopRequested()) {
-            Optional<Document> optDoc = fetchAsync(path, page);
-            if (optDoc.isEmpty()) {
-                parsingStateStore.updateCurrentPage(source, category, path, ++page);
-                continue;
-            }
+        try (CrawlLease ignored = lease.get()) {
+            Optional<Document> optDoc = fetchHeadPage(path);
+            if (optDoc.isEmpty()) return 0;
 
             Set<String> urls = getPageUrls(optDoc.get(), null);
-            if (urls.isEmpty()) break;
+            Set<String> unknownUrls = urls.isEmpty() ? urls : parsingService.filterUnknownUrls(urls);
+            if (!unknownUrls.isEmpty() && unknownUrls.size() == urls.size()
+                    && parsingStateStore.getCurrentPage(source, category, path).isEmpty()) {
+                parsingStateStore.updateCurrentPage(source, category, path, initialPage + 1);
+            }
+
+            int saved = 0;
+            if (!unknownUrls.isEmpty()) {
+                saved = ingestArticles(unknownUrls, null, category, CrawlWatermark.NONE).saved();
+                parsingStatusManager.recordSaved(source, saved);
+                if (saved > 0) log.info("Head poll saved {} new articles from {}", saved, path);
+            }
+            if (!parsingStatusManager.isStopRequested()) pageFetcher.confirmValidators(headPageUrl(path));
+            return saved;
+        }
+    }
+
+    public BackfillResult backfillPage(String path, Category category, int page, LocalDateTime targetDate) {
+        if (parsingStatusManager.isStopRequested()) return BackfillResult.FAILED;
 
-            int saved = parsingService.saveArticles(fetchAndParseArticles(urls, category, null));
-            if (saved == 0) break;
+        backfillRateLimiter.acquire();
+        Optional<Document> optDoc = fetchPage(path, page, CrawlPriority.BACKFILL);
+        if (optDoc.isEmpty()) return BackfillResult.FAILED;
 
-            log.info("Saved {} missing articles from {}, page {}", saved, category, page);
-            parsingStateStore.updateCurrentPage(source, category, path, ++page);
+        Set<String> listedUrls = getPageUrls(optDoc.get(), null);
+        Set<String> urls = getPageUrls(optDoc.get(), targetDate);
+        if (parsingStatusManager.isStopRequested()) return BackfillResult.FAILED;
+
+        int saved = urls.isEmpty()
+                ? 0
+                : ingestBuffer.save(fetchAndParseArticles(
+                        urls, path, category, CrawlWatermark.NONE, true, ConcurrentHashMap.newKeySet()
+                ));
+        return new BackfillResult(true, saved, urls.size() < listedUrls.size() || listedUrls.isEmpty());
+    }
+
+    private void parseConcurrently() {
+        Semaphore permits = new Semaphore(parserConfig.getPathParallelism());
+        ThreadFactory threadFactory = Thread.ofVirtual().name(source.name().toLowerCase() + "-path-", 0).factory();
+
+        try (ExecutorService pathExecutor = Executors.newThreadPerTaskExecutor(threadFactory)) {
+            for (Map.Entry<Category, Set<String>> entry : parserConfig.getCategoryUrls().entrySet()) {
+                Category category = entry.getKey();
+
+                for (String path : entry.getValue()) {
+                    pathExecutor.execute(() -> {
+                        try {
+                            permits.acquire();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        try {
+                            parseLeasedPath(path, category);
+                        } catch (Exception e) {
+                            log.error("Parsing {} from {} failed", path, source, e);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            }
         }
     }
 
-    private void processHead(String path, Category category, LocalDateTime latestPublishedAt) {
-        int page = initialPage;
+    private boolean parseLeasedPath(String path, Category category) {
+        Optional<CrawlLease> lease = crawlLeaseManager.tryAcquire(source, category, path);
+        if (lease.isEmpty()) {
+            log.info("Skipping {} from {}, it is crawled by another node", path, source);
+            return true;
+        }
+
+        try (CrawlLease heldLease = lease.get()) {
+            return parsePath(path, category, heldLease);
+        }
+    }
+
+    private boolean parsePath(String path, Category category, CrawlLease lease) {
+        drainFrontier(path, category);
+        parsingStateStore.getCurrentPage(source, category, path)
+                .ifPresent(startPage -> {
+                    if (!lease.isHeld()) return;
+                    log.info("Found missing articles");
+                    processTail(startPage, path, category, lease);
+                });
+
+        if (parsingStatusManager.isStopRequested()) return false;
+        if (!lease.isHeld()) return true;
+        CrawlWatermark watermark = parsingService.getWatermark(source, category, path).orElse(CrawlWatermark.NONE);
+        processHead(path, category, watermark, lease);
 
-        while (!parsingStatusManager.isStopRequested()) {
-            Optional<Document> optDoc = fetchAsync(path, page);
-            if (optDoc.isEmpty()) {
-                parsingStateStore.updateCurrentPage(source, category, path, page);
-                break;
+        if (parsingStatusManager.isStopRequested()) return false;
+        if (lease.isHeld()) parsingStateStore.clearState(source, category, path);
+        return true;
+    }
+
+    private void processTail(int startPage, String path, Category category, CrawlLease lease) {
+        int page = startPage;
+
+        try (ListingLookahead lookahead = createLookahead(path)) {
+            while (!parsingStatusManager.isStopRequested() && lease.isHeld()) {
+                Optional<Document> optDoc = lookahead.fetch(page);
+                if (optDoc.isEmpty()) {
+                    parsingStateStore.updateCurrentPage(source, category, path, ++page);
+                    continue;
+                }
+
+                Set<String> urls = getPageUrls(optDoc.get(), null);
+                if (urls.isEmpty()) break;
+
+                int saved = saveAndAcknowledge(urls, path, category, CrawlWatermark.NONE).saved();
+                if (saved == 0) break;
+
+                log.info("Saved {} missing articles from {}, page {}", saved, category, page);
+                parsingStateStore.updateCurrentPage(source, category, path, ++page);
             }
+        }
+    }
+
+    private void processHead(String path, Category category, CrawlWatermark watermark, CrawlLease lease) {
+        int page = initialPage;
+        ListingLookahead lookahead = null;
 
-            Set<String> urls = getPageUrls(optDoc.get(), latestPublishedAt);
-            if (urls.isEmpty() && parsingStatusManager.isStopRequested()) {
-                parsingStateStore.updateCurrentPage(source, category, path, page);
-                break;
+        try {
+            while (!parsingStatusManager.isStopRequested() && lease.isHeld()) {
+                if (page != initialPage && lookahead == null) lookahead = createHeadLookahead(path);
+                Optional<Document> optDoc = lookahead == null ? fetchHeadPage(path) : lookahead.fetch(page);
+                if (optDoc.isEmpty()) {
+                    parsingStateStore.updateCurrentPage(source, category, path, page);
+                    break;
+                }
+
+                Set<String> urls = watermark.withoutSeen(getPageUrls(optDoc.get(), watermark.latestPublishedAt()));
+                if (urls.isEmpty() && parsingStatusManager.isStopRequested()) {
+                    parsingStateStore.updateCurrentPage(source, category, path, page);
+                    break;
+                }
+                if (urls.isEmpty()) break;
+
+                IngestResult result = saveAndAcknowledge(urls, path, category, watermark);
+                if (result.saved() == 0 && result.settledUrls().containsAll(urls)) break;
+
+                log.info("Saved {} new articles from {}, page {}", result.saved(), category, page);
+                parsingStateStore.updateCurrentPage(source, category, path, ++page);
             }
-            if (urls.isEmpty()) break;
+        } finally {
+            if (lookahead != null) lookahead.close();
+        }
+        if (!parsingStatusManager.isStopRequested() && lease.isHeld()) pageFetcher.confirmValidators(headPageUrl(path));
+    }
 
-            int saved = parsingService.saveArticles(fetchAndParseArticles(urls, category, latestPublishedAt));
-            if (saved == 0) break;
+    private void drainFrontier(String path, Category category) {
+        Set<String> pendingUrls = parsingStateStore.getPendingUrls(source, category, path);
+        if (pendingUrls.isEmpty()) return;
 
-            log.info("Saved {} new articles from {}, page {}", saved, category, page);
-            parsingStateStore.updateCurrentPage(source, category, path, ++page);
+        log.info("Resuming {} pending articles from {}", pendingUrls.size(), path);
+        int saved = saveAndAcknowledge(pendingUrls, path, category, CrawlWatermark.NONE).saved();
+        log.info("Saved {} pending articles from {}", saved, category);
+    }
+
+    private IngestResult saveAndAcknowledge(Set<String> urls, String path, Category category, CrawlWatermark watermark) {
+        parsingStateStore.addPendingUrls(source, category, path, urls);
+        IngestResult result = ingestArticles(urls, path, category, watermark);
+        parsingStatusManager.recordSaved(source, result.saved());
+        if (!parsingStatusManager.isStopRequested()) acknowledge(urls, result.settledUrls(), path, category);
+        return result;
+    }
+
+    private void acknowledge(Set<String> urls, Set<String> settledUrls, String path, Category category) {
+        Set<String> acknowledged = new HashSet<>(settledUrls);
+        Set<String> failedUrls = new HashSet<>(urls);
+        failedUrls.removeAll(settledUrls);
+
+        Set<String> abandonedUrls = parsingStateStore.recordFailedAttempts(
+                source, category, path, failedUrls, frontierMaxAttempts
+        );
+        if (!abandonedUrls.isEmpty()) {
+            log.warn("Giving up on {} articles of {} after {} attempts", abandonedUrls.size(), category, frontierMaxAttempts);
+            acknowledged.addAll(abandonedUrls);
         }
+        parsingStateStore.acknowledgeUrls(source, category, path, acknowledged);
     }
 
-    private Optional<Document> fetchAsync(String path, int page) {
-        return CompletableFuture
-                .supplyAsync(() -> fetchPage(path, page), ioExecutor)
-                .join();
+    private IngestResult ingestArticles(Set<String> urls, String path, Category category, CrawlWatermark watermark) {
+        if (parserConfig.isStreamingIngest()) return streamArticles(urls, path, category, watermark);
+
+        Set<String> settledUrls = ConcurrentHashMap.newKeySet();
+        List<NewsArticle> articles = fetchAndParseArticles(urls, path, category, watermark, false, settledUrls);
+        return new IngestResult(ingestBuffer.save(articles), settledUrls);
+    }
+
+    private ListingLookahead createLookahead(String path) {
+        return new ListingLookahead(parserConfig.getListingLookahead(), ioExecutor, page -> fetchPage(path, page));
+    }
+
+    private ListingLookahead createHeadLookahead(String path) {
+        return new ListingLookahead(
+                parserConfig.getListingLookahead(), ioExecutor, page -> fetchPage(path, page, CrawlPriority.HEAD_LISTING)
+        );
+    }
+
+    protected Optional<Document> fetchHeadPage(String path) {
+        String url = headPageUrl(path);
+        return pageFetcher.downloadPage(
+                pageFetcher.fetchConditionalGet(url), url, rateLimiter, CrawlPriority.HEAD_LISTING, null
+        );
+    }
+
+    protected String headPageUrl(String path) {
+        return urlTemplate.formatted(path, initialPage);
     }
 
     protected Optional<Document> fetchPage(String path, int page) {
+        return fetchPage(path, page, CrawlPriority.TAIL_LISTING);
+    }
+
+    protected Optional<Document> fetchPage(String path, int page, CrawlPriority priority) {
         String url = urlTemplate.formatted(path, page);
-        return pageFetcher.downloadPage(pageFetcher.fetchGet(url), url, rateLimiter);
+        return pageFetcher.downloadPage(pageFetcher.fetchGet(url), url, rateLimiter, priority, null);
+    }
+
+    private Callable<Document> articleLoader(String articleUrl, Category category, String path) {
+        ArchiveOrigin origin = new ArchiveOrigin(source, category, path);
+        if (!parserConfig.isStreamingExtraction()) return pageFetcher.fetchGet(articleUrl, origin);
+        return pageFetcher.fetchStreamed(articleUrl, parserConfig.getArticleEndSelector(), origin);
     }
 
     @VisibleForTesting
     List<NewsArticle> fetchAndParseArticles(
-            Set<String> articleUrls, Category category, LocalDateTime latestPublishedAt
+            Set<String> articleUrls, String path, Category category, CrawlWatermark watermark
+    ) {
+        return fetchAndParseArticles(articleUrls, path, category, watermark, false, ConcurrentHashMap.newKeySet());
+    }
+
+    private List<NewsArticle> fetchAndParseArticles(
+            Set<String> articleUrls,
+            String path,
+            Category category,
+            CrawlWatermark watermark,
+            boolean backfill,
+            Set<String> settledUrls
     ) {
-        List<CompletableFuture<Optional<NewsArticle>>> articleFutures = articleUrls.stream()
-                .map(articleUrl -> CompletableFuture
-                        .supplyAsync(() -> pageFetcher.downloadPage(
-                                pageFetcher.fetchGet(articleUrl), articleUrl, rateLimiter
-                        ), ioExecutor)
-                        .thenApplyAsync(optDoc -> optDoc
-                                .flatMap(doc -> parseNewsArticle(doc, category)), cpuExecutor))
+        List<CompletableFuture<Optional<NewsArticle>>> articleFutures = filterUnknownUrls(articleUrls, category, settledUrls)
+                .stream()
+                .map(articleUrl -> fetchAndParseArticle(articleUrl, path, category, backfill)
+                        .thenApply(optArticle -> settle(optArticle, articleUrl, settledUrls)))
                 .toList();
 
         CompletableFuture.allOf(articleFutures.toArray(CompletableFuture[]::new)).join();
         return articleFutures.stream()
                 .map(CompletableFuture::join)
                 .flatMap(Optional::stream)
-                .filter(n -> latestPublishedAt == null || n.getPublishedAt().isAfter(latestPublishedAt))
+                .filter(watermark::isNewer)
                 .toList();
     }
 
+    @VisibleForTesting
+    IngestResult streamArticles(Set<String> articleUrls, String path, Category category, CrawlWatermark watermark) {
+        Set<String> settledUrls = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Integer>> saveFutures = filterUnknownUrls(articleUrls, category, settledUrls).stream()
+                .map(articleUrl -> fetchAndParseArticle(articleUrl, path, category, false)
+                        .thenComposeAsync(optArticle -> settle(optArticle, articleUrl, settledUrls)
+                                .filter(watermark::isNewer)
+                                .map(article -> ingestBuffer.submit(List.of(article)))
+                                .orElseGet(() -> CompletableFuture.completedFuture(0)), ioExecutor))
+                .toList();
+
+        int saved = saveFutures.stream()
+                .mapToInt(CompletableFuture::join)
+                .sum();
+        return new IngestResult(saved, settledUrls);
+    }
+
+    private Set<String> filterUnknownUrls(Set<String> articleUrls, Category category, Set<String> settledUrls) {
+        Set<String> unknownUrls = parsingService.filterUnknownUrls(articleUrls);
+        if (unknownUrls.size() < articleUrls.size()) {
+            log.debug("Skipping {} already stored articles of {}", articleUrls.size() - unknownUrls.size(), category);
+            articleUrls.stream()
+                    .filter(articleUrl -> !unknownUrls.contains(articleUrl))
+                    .forEach(settledUrls::add);
+        }
+        return unknownUrls;
+    }
+
+    private static Optional<NewsArticle> settle(
+            Optional<NewsArticle> optArticle, String articleUrl, Set<String> settledUrls
+    ) {
+        if (optArticle.isPresent()) settledUrls.add(articleUrl);
+        return optArticle;
+    }
+
+    private Optional<Document> fetchArticleDocument(
+            Callable<Document> loader, String articleUrl, boolean backfill, Instant deadline
+    ) {
+        if (backfill) backfillRateLimiter.acquire();
+        CrawlPriority priority = backfill ? CrawlPriority.BACKFILL : CrawlPriority.ARTICLE;
+        return pageFetcher.downloadPage(loader, articleUrl, rateLimiter, priority, deadline);
+    }
+
+    private CompletableFuture<Optional<Document>> downloadArticle(
+            Callable<Document> loader, String articleUrl, boolean backfill, Instant deadline
+    ) {
+        CompletableFuture<Optional<Document>> download = new CompletableFuture<>();
+        Future<?> task = ioExecutor.submit(() -> {
+            try {
+                download.complete(fetchArticleDocument(loader, articleUrl, backfill, deadline));
+            } catch (Throwable e) {
+                download.completeExceptionally(e);
+            }
+        });
+        download.whenComplete((optDoc, e) -> {
+            if (e != null) task.cancel(true);
+        });
+        return download;
+    }
+
+    private CompletableFuture<Optional<NewsArticle>> fetchAndParseArticle(
+            String articleUrl, String path, Category category, boolean backfill
+    ) {
+        Duration timeout = parserConfig.getArticleTimeout();
+        boolean timed = timeout != null && timeout.isPositive();
+        Instant deadline = timed ? Instant.now().plus(timeout) : null;
+        CompletableFuture<Optional<Document>> download = downloadArticle(
+                articleLoader(articleUrl, category, path), articleUrl, backfill, deadline
+        );
+
+        if (timed) {
+            download = download
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionally(e -> {
+                        log.warn("Download from {} missed its {} deadline", articleUrl.trim(), timeout);
+                        return Optional.empty();
+                    });
+        }
+        return download.thenApplyAsync(optDoc -> optDoc
+                .flatMap(doc -> parseNewsArticle(doc, category))
+                .map(article -> {
+                    article.setCrawlPath(path);
+                    return article;
+                }), cpuExecutor);
+    }
+
 }
@@ -0,0 +1,33 @@
+package dev.j3rrryy.news_aggregator.parser.archive;
+
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
+
+import java.time.Instant;
+
+public record ArchiveEntry(
+        String url, Instant fetchedAt, String segment, long offset, int length, ArchiveOrigin origin
+) {
+
+    static ArchiveEntry fromIndexLine(String line) {
+        String[] parts = line.split("\t", -1);
+        ArchiveOrigin origin = parts.length < 8 || parts[5].isEmpty()
+                ? null
+                : new ArchiveOrigin(
+                        Source.valueOf(parts[5]), Category.valueOf(parts[6]), parts[7].isEmpty() ? null : parts[7]
+                );
+        return new ArchiveEntry(
+                parts[0], Instant.parse(parts[1]), parts[2], Long.parseLong(parts[3]), Integer.parseInt(parts[4]), origin
+        );
+    }
+
+    String toIndexLine() {
+        return String.join(
+                "\t", url, fetchedAt.toString(), segment, String.valueOf(offset), String.valueOf(length),
+                origin == null ? "" : origin.source().name(),
+                origin == null ? "" : origin.category().name(),
+                origin == null || origin.path() == null ? "" : origin.path()
+        );
+    }
+
+}
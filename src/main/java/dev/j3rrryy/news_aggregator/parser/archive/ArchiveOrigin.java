@@ -0,0 +1,7 @@
+package dev.j3rrryy.news_aggregator.parser.archive;
+
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
+
+public record ArchiveOrigin(Source source, Category category, String path) {
+}
@@ -0,0 +1,159 @@
+package dev.j3rrryy.news_aggregator.parser.archive;
+
+import com.google.common.annotations.VisibleForTesting;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.fetch.FetchResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PageArchive {
+
+    private static final String INDEX_FILE = "index.tsv";
+    private static final String SEGMENT_NAME = "segment-%d-%d.warc.gz";
+    private static final String CRLF = "\r\n";
+
+    private final ParserProperties parserProperties;
+
+    private String currentSegment;
+    private long currentSegmentSize;
+    private int segmentSequence;
+
+    public void append(FetchResponse response, ArchiveOrigin origin) {
+        if (!parserProperties.isArchiveEnabled()) return;
+        try {
+            write(response, origin, Instant.now());
+        } catch (IOException e) {
+            log.warn("Could not archive {}", response.url(), e);
+        }
+    }
+
+    public Map<String, ArchiveEntry> latestEntries() throws IOException {
+        Path index = archiveDir().resolve(INDEX_FILE);
+        Map<String, ArchiveEntry> latest = new LinkedHashMap<>();
+        if (!Files.exists(index)) return latest;
+
+        try (Stream<String> lines = Files.lines(index, StandardCharsets.UTF_8)) {
+            lines.filter(line -> !line.isBlank())
+                    .map(ArchiveEntry::fromIndexLine)
+                    .forEach(entry -> latest.merge(entry.url(), entry,
+                            (current, candidate) -> candidate.fetchedAt().isBefore(current.fetchedAt()) ? current : candidate));
+        }
+        return latest;
+    }
+
+    public FetchResponse read(ArchiveEntry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length());
+        try (FileChannel channel = FileChannel.open(archiveDir().resolve(entry.segment()), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, entry.offset() + buffer.position()) < 0) {
+                    throw new EOFException("Truncated archive record for " + entry.url());
+                }
+            }
+        }
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(buffer.array()))) {
+            return decode(in);
+        }
+    }
+
+    @VisibleForTesting
+    synchronized ArchiveEntry write(FetchResponse response, ArchiveOrigin origin, Instant fetchedAt) throws IOException {
+        Path dir = archiveDir();
+        Files.createDirectories(dir);
+        if (currentSegment == null || currentSegmentSize >= parserProperties.getArchiveSegmentSize().toBytes()) {
+            currentSegment = SEGMENT_NAME.formatted(fetchedAt.toEpochMilli(), segmentSequence++);
+            currentSegmentSize = 0;
+        }
+
+        byte[] record = gzip(encode(response, origin, fetchedAt));
+        ArchiveEntry entry = new ArchiveEntry(
+                response.url(), fetchedAt, currentSegment, currentSegmentSize, record.length, origin
+        );
+
+        Files.write(dir.resolve(currentSegment), record, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        currentSegmentSize += record.length;
+        Files.writeString(
+                dir.resolve(INDEX_FILE), entry.toIndexLine() + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND
+        );
+        return entry;
+    }
+
+    private Path archiveDir() {
+        return Path.of(parserProperties.getArchiveDir());
+    }
+
+    private static byte[] encode(FetchResponse response, ArchiveOrigin origin, Instant fetchedAt) {
+        StringBuilder header = new StringBuilder()
+                .append("WARC/1.0").append(CRLF)
+                .append("WARC-Type: response").append(CRLF)
+                .append("WARC-Target-URI: ").append(response.url()).append(CRLF)
+                .append("WARC-Date: ").append(fetchedAt).append(CRLF)
+                .append("HTTP-Status: ").append(response.statusCode()).append(CRLF);
+        if (origin != null) {
+            header.append("Crawl-Source: ").append(origin.source().name()).append(CRLF)
+                    .append("Crawl-Category: ").append(origin.category().name()).append(CRLF);
+            if (origin.path() != null) header.append("Crawl-Path: ").append(origin.path()).append(CRLF);
+        }
+        String contentType = response.header("Content-Type");
+        if (contentType != null) header.append("Content-Type: ").append(contentType).append(CRLF);
+        header.append("Content-Length: ").append(response.body().length).append(CRLF).append(CRLF);
+
+        byte[] headerBytes = header.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] record = Arrays.copyOf(headerBytes, headerBytes.length + response.body().length);
+        System.arraycopy(response.body(), 0, record, headerBytes.length, response.body().length);
+        return record;
+    }
+
+    private static FetchResponse decode(InputStream in) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) fields.put(line.substring(0, colon), line.substring(colon + 1).trim());
+        }
+
+        byte[] body = in.readNBytes(Integer.parseInt(fields.get("Content-Length")));
+        Map<String, String> headers = fields.containsKey("Content-Type")
+                ? Map.of("Content-Type", fields.get("Content-Type"))
+                : Map.of();
+        return new FetchResponse(
+                Integer.parseInt(fields.get("HTTP-Status")), fields.get("WARC-Target-URI"), headers, body
+        );
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            if (b != '\r') line.write(b);
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,25 @@
+package dev.j3rrryy.news_aggregator.parser.config;
+
+import dev.j3rrryy.news_aggregator.parser.service.ParserControlPlane;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class ControlPlaneConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "parser.cluster-enabled", havingValue = "true")
+    public RedisMessageListenerContainer controlPlaneListenerContainer(
+            RedisConnectionFactory connectionFactory, ParserControlPlane parserControlPlane
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(parserControlPlane, new ChannelTopic(ParserControlPlane.CHANNEL));
+        return container;
+    }
+
+}
@@ -0,0 +1,39 @@
+package dev.j3rrryy.news_aggregator.parser.config;
+
+import dev.j3rrryy.news_aggregator.parser.fetch.*;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+public class FetchEngineConfig {
+
+    @Bean
+    public FetchEngine fetchEngine(ParserProperties parserProperties, ExecutorService ioExecutor) {
+        FixtureStore fixtureStore = new FixtureStore(Path.of(parserProperties.getFixtureDir()));
+        return switch (parserProperties.getFetchMode()) {
+            case LIVE -> liveFetchEngine(parserProperties, ioExecutor);
+            case RECORD -> new RecordingFetchEngine(liveFetchEngine(parserProperties, ioExecutor), fixtureStore);
+            case REPLAY -> new ReplayFetchEngine(
+                    fixtureStore,
+                    parserProperties.getReplayLatency(),
+                    parserProperties.getReplayErrorRate(),
+                    parserProperties.getReplaySeed()
+            );
+        };
+    }
+
+    private FetchEngine liveFetchEngine(ParserProperties parserProperties, ExecutorService ioExecutor) {
+        return switch (parserProperties.getFetchEngine()) {
+            case JSOUP -> new JsoupFetchEngine(parserProperties.getReadTimeout());
+            case HTTP_CLIENT -> new HttpClientFetchEngine(
+                    parserProperties.getConnectTimeout(),
+                    parserProperties.getReadTimeout(),
+                    ioExecutor
+            );
+        };
+    }
+
+}
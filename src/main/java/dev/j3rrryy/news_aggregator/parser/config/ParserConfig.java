@@ -4,6 +4,7 @@ import dev.j3rrryy.news_aggregator.enums.Category;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Duration;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
@@ -14,5 +15,15 @@ public class ParserConfig {
 
     private final Map<Category, Set<String>> categoryUrls = new EnumMap<>(Category.class);
     private double rateLimitPerSecond;
+    private double minRateLimitPerSecond;
+    private double maxRateLimitPerSecond;
+    private Duration maxRetryAfter = Duration.ofMinutes(5);
+    private int listingLookahead;
+    private int pathParallelism = 1;
+    private int maxConcurrentRequests;
+    private boolean streamingExtraction;
+    private String articleEndSelector = "footer:not(article footer)";
+    private boolean streamingIngest;
+    private Duration articleTimeout;
 
 }
@@ -2,13 +2,18 @@ package dev.j3rrryy.news_aggregator.parser.config;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.j3rrryy.news_aggregator.enums.CrawlPriority;
+import dev.j3rrryy.news_aggregator.enums.FetchEngineType;
+import dev.j3rrryy.news_aggregator.enums.FetchMode;
 import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.enums.ValidatorStoreType;
 import dev.j3rrryy.news_aggregator.serializers.DurationDeserializer;
 import dev.j3rrryy.news_aggregator.serializers.DurationSerializer;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 import java.util.EnumMap;
@@ -22,10 +27,88 @@ public class ParserProperties {
 
     private boolean autoParsingEnabled;
 
+    private boolean concurrentSources;
+
+    private FetchEngineType fetchEngine = FetchEngineType.HTTP_CLIENT;
+
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    private Duration readTimeout = Duration.ofSeconds(45);
+
+    private FetchMode fetchMode = FetchMode.LIVE;
+
+    private String fixtureDir = "fixtures";
+
+    private Duration replayLatency = Duration.ZERO;
+
+    private double replayErrorRate;
+
+    private long replaySeed;
+
+    private ValidatorStoreType validatorStore = ValidatorStoreType.NONE;
+
+    private long knownUrlsExpectedInsertions = 1_000_000;
+
+    private double knownUrlsFalsePositiveRate = 0.01;
+
+    private int copyIngestThreshold;
+
+    private int ingestBatchSize = 1;
+
+    private Duration ingestFlushInterval = Duration.ZERO;
+
+    private int ingestQueueCapacity = 64;
+
+    private Duration ingestShutdownTimeout = Duration.ofSeconds(30);
+
+    private boolean duplicateDetectionEnabled;
+
+    private double duplicateSimilarityThreshold = 0.8;
+
+    private Duration duplicateWindow = Duration.ofDays(7);
+
+    private boolean duplicateContentStored = true;
+
+    private boolean headPollingEnabled;
+
+    private Duration headPollingInterval = Duration.ofSeconds(15);
+
+    private double backfillRateFraction = 0.25;
+
+    private Duration backfillYieldPause = Duration.ofSeconds(30);
+
+    private int backfillPageAttempts = 3;
+
+    private int frontierMaxAttempts = 5;
+
+    private int crawlMaxConcurrentRequests = 50;
+
+    private Map<CrawlPriority, Duration> crawlQueueTimeouts = new EnumMap<>(CrawlPriority.class);
+
+    private boolean clusterEnabled;
+
+    private Duration leaseTtl = Duration.ofSeconds(30);
+
+    private boolean archiveEnabled;
+
+    private String archiveDir = "archive";
+
+    private DataSize archiveSegmentSize = DataSize.ofMegabytes(256);
+
     @JsonSerialize(using = DurationSerializer.class)
     @JsonDeserialize(using = DurationDeserializer.class)
     private Duration autoParsingInterval;
 
+    private Duration autoParsingMinInterval = Duration.ofMinutes(5);
+
+    private Duration autoParsingMaxInterval = Duration.ofHours(12);
+
+    private int autoParsingTargetArticles = 20;
+
+    private double autoParsingRateSmoothing = 0.3;
+
+    private Duration autoParsingRateWindow = Duration.ofDays(1);
+
     private Map<Source, Boolean> sourceStatuses = new EnumMap<>(Source.class);
 
     private Map<Source, ParserConfig> configs = new EnumMap<>(Source.class);
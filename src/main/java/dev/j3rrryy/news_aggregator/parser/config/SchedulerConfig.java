@@ -2,6 +2,8 @@ package dev.j3rrryy.news_aggregator.parser.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
@@ -16,4 +18,20 @@ public class SchedulerConfig {
         return taskScheduler;
     }
 
+    @Bean
+    public TaskScheduler autoParsingScheduler() {
+        ThreadPoolTaskScheduler autoParsingScheduler = new ThreadPoolTaskScheduler();
+        autoParsingScheduler.setPoolSize(1);
+        autoParsingScheduler.setThreadNamePrefix("auto-parsing-");
+        autoParsingScheduler.initialize();
+        return autoParsingScheduler;
+    }
+
+    @Bean
+    public TaskExecutor taskExecutor() {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("parser-async-");
+        taskExecutor.setVirtualThreads(true);
+        return taskExecutor;
+    }
+
 }
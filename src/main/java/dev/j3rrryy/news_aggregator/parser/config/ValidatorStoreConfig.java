@@ -0,0 +1,23 @@
+package dev.j3rrryy.news_aggregator.parser.config;
+
+import dev.j3rrryy.news_aggregator.parser.fetch.InMemoryValidatorStore;
+import dev.j3rrryy.news_aggregator.parser.fetch.NoOpValidatorStore;
+import dev.j3rrryy.news_aggregator.parser.fetch.RedisValidatorStore;
+import dev.j3rrryy.news_aggregator.parser.fetch.ValidatorStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class ValidatorStoreConfig {
+
+    @Bean
+    public ValidatorStore validatorStore(ParserProperties parserProperties, StringRedisTemplate redisTemplate) {
+        return switch (parserProperties.getValidatorStore()) {
+            case NONE -> new NoOpValidatorStore();
+            case MEMORY -> new InMemoryValidatorStore();
+            case REDIS -> new RedisValidatorStore(redisTemplate);
+        };
+    }
+
+}
@@ -0,0 +1,163 @@
+package dev.j3rrryy.news_aggregator.parser.dedup;
+
+import com.google.common.annotations.VisibleForTesting;
+import dev.j3rrryy.news_aggregator.entity.NewsArticle;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.repository.NewsArticleBatchRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DuplicateDetector {
+
+    private final ExecutorService ioExecutor;
+    private final ParserProperties parserProperties;
+    private final NewsArticleBatchRepository newsArticleBatchRepository;
+
+    private final LshIndex index = new LshIndex();
+
+    @PostConstruct
+    public void init() {
+        if (parserProperties.isDuplicateDetectionEnabled()) ioExecutor.execute(this::warmUp);
+    }
+
+    public DuplicateLinks linkDuplicates(List<NewsArticle> articles) {
+        if (!parserProperties.isDuplicateDetectionEnabled() || articles.isEmpty()) return DuplicateLinks.NONE;
+
+        double threshold = parserProperties.getDuplicateSimilarityThreshold();
+        LshIndex batchIndex = new LshIndex();
+        Map<UUID, String> batchUrls = new HashMap<>();
+        Map<String, int[]> canonicalSignatures = new HashMap<>();
+        Map<String, UUID> indexedCanonicalIds = new HashMap<>();
+        Map<String, String> batchCanonicalUrls = new HashMap<>();
+
+        for (NewsArticle article : articles) {
+            int[] signature = MinHash.signature(article.getTitle() + " " + article.getContent());
+            if (signature == null) continue;
+
+            Optional<UUID> indexed = index.findSimilar(signature, threshold);
+            Optional<UUID> inBatch = indexed.isPresent() ? Optional.empty() : batchIndex.findSimilar(signature, threshold);
+            if (indexed.isPresent() || inBatch.isPresent()) {
+                indexed.ifPresent(canonicalId -> indexedCanonicalIds.put(article.getUrl(), canonicalId));
+                inBatch.ifPresent(canonicalId -> batchCanonicalUrls.put(article.getUrl(), batchUrls.get(canonicalId)));
+                if (!parserProperties.isDuplicateContentStored()) article.setContent("");
+            } else {
+                if (article.getId() == null) article.setId(UUID.randomUUID());
+                batchIndex.add(article.getId(), signature, article.getPublishedAt());
+                batchUrls.put(article.getId(), article.getUrl());
+                canonicalSignatures.putIfAbsent(article.getUrl(), signature);
+            }
+        }
+        return new DuplicateLinks(canonicalSignatures, indexedCanonicalIds, batchCanonicalUrls);
+    }
+
+    public void register(List<NewsArticle> articles, DuplicateLinks links, Set<String> savedUrls) {
+        if (links.isEmpty() || savedUrls.isEmpty()) return;
+
+        linkSavedDuplicates(articles, links, savedUrls);
+        indexSavedCanonicals(articles, links.canonicalSignatures(), savedUrls);
+    }
+
+    private void linkSavedDuplicates(List<NewsArticle> articles, DuplicateLinks links, Set<String> savedUrls) {
+        List<NewsArticle> duplicates = articles.stream()
+                .filter(article -> savedUrls.contains(article.getUrl()))
+                .filter(article -> links.indexedCanonicalIds().containsKey(article.getUrl())
+                        || links.batchCanonicalUrls().containsKey(article.getUrl()))
+                .toList();
+        if (duplicates.isEmpty()) return;
+
+        Map<String, UUID> storedIds = newsArticleBatchRepository.findIdsByUrls(duplicates.stream()
+                .map(article -> links.batchCanonicalUrls().get(article.getUrl()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+
+        Map<UUID, UUID> canonicalIds = new HashMap<>();
+        for (NewsArticle duplicate : duplicates) {
+            String canonicalUrl = links.batchCanonicalUrls().get(duplicate.getUrl());
+            UUID canonicalId = canonicalUrl != null
+                    ? storedIds.get(canonicalUrl)
+                    : links.indexedCanonicalIds().get(duplicate.getUrl());
+            if (canonicalId == null || canonicalId.equals(duplicate.getId())) continue;
+
+            duplicate.setCanonicalId(canonicalId);
+            canonicalIds.put(duplicate.getId(), canonicalId);
+        }
+        newsArticleBatchRepository.linkCanonicals(canonicalIds);
+    }
+
+    private void indexSavedCanonicals(
+            List<NewsArticle> articles, Map<String, int[]> canonicalSignatures, Set<String> savedUrls
+    ) {
+        if (canonicalSignatures.isEmpty()) return;
+
+        Map<String, NewsArticle> saved = new LinkedHashMap<>();
+        articles.stream()
+                .filter(article -> savedUrls.contains(article.getUrl()))
+                .filter(article -> canonicalSignatures.containsKey(article.getUrl()))
+                .forEach(article -> saved.putIfAbsent(article.getUrl(), article));
+        if (saved.isEmpty()) return;
+
+        Map<UUID, byte[]> signatures = new HashMap<>();
+        saved.values().forEach(article ->
+                signatures.put(article.getId(), MinHash.toBytes(canonicalSignatures.get(article.getUrl())))
+        );
+        newsArticleBatchRepository.saveSignatures(signatures);
+
+        LocalDateTime windowStart = windowStart();
+        List<NewsArticle> indexable = saved.values().stream()
+                .filter(article -> article.getPublishedAt() != null && !article.getPublishedAt().isBefore(windowStart))
+                .toList();
+        afterCommit(() -> {
+            indexable.forEach(article ->
+                    index.add(article.getId(), canonicalSignatures.get(article.getUrl()), article.getPublishedAt())
+            );
+            index.evictOlderThan(windowStart());
+        });
+    }
+
+    @VisibleForTesting
+    void warmUp() {
+        try {
+            newsArticleBatchRepository.forEachSignatureSince(windowStart(), stored ->
+                    index.add(stored.articleId(), MinHash.fromBytes(stored.signature()), stored.publishedAt())
+            );
+            log.info("Duplicate index warmed up with {} signatures", index.size());
+        } catch (Exception e) {
+            log.error("Could not warm up the duplicate index, detecting against new articles only", e);
+        }
+    }
+
+    @VisibleForTesting
+    int indexedCount() {
+        return index.size();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minus(parserProperties.getDuplicateWindow());
+    }
+
+}
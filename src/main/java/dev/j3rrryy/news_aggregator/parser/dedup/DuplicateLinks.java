@@ -0,0 +1,18 @@
+package dev.j3rrryy.news_aggregator.parser.dedup;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record DuplicateLinks(
+        Map<String, int[]> canonicalSignatures,
+        Map<String, UUID> indexedCanonicalIds,
+        Map<String, String> batchCanonicalUrls
+) {
+
+    public static final DuplicateLinks NONE = new DuplicateLinks(Map.of(), Map.of(), Map.of());
+
+    public boolean isEmpty() {
+        return canonicalSignatures.isEmpty() && indexedCanonicalIds.isEmpty() && batchCanonicalUrls.isEmpty();
+    }
+
+}
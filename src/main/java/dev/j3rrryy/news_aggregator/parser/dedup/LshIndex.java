@@ -0,0 +1,70 @@
+package dev.j3rrryy.news_aggregator.parser.dedup;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+class LshIndex {
+
+    private final Map<Long, List<UUID>> buckets = new HashMap<>();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Queue<Expiry> expiryOrder = new PriorityQueue<>(
+            Comparator.comparing(Expiry::publishedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+    );
+
+    synchronized Optional<UUID> findSimilar(int[] signature, double threshold) {
+        UUID best = null;
+        double bestSimilarity = threshold;
+        Set<UUID> compared = new HashSet<>();
+
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            for (UUID candidate : buckets.getOrDefault(MinHash.bandKey(signature, band), List.of())) {
+                if (!compared.add(candidate)) continue;
+
+                double similarity = MinHash.similarity(signature, entries.get(candidate).signature());
+                if (similarity >= bestSimilarity) {
+                    best = candidate;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    synchronized void add(UUID id, int[] signature, LocalDateTime publishedAt) {
+        if (entries.putIfAbsent(id, new Entry(signature, publishedAt)) != null) return;
+
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            buckets.computeIfAbsent(MinHash.bandKey(signature, band), key -> new ArrayList<>(1)).add(id);
+        }
+        expiryOrder.add(new Expiry(id, publishedAt));
+    }
+
+    synchronized void evictOlderThan(LocalDateTime cutoff) {
+        while (!expiryOrder.isEmpty() && expiryOrder.peek().isBefore(cutoff)) {
+            UUID id = expiryOrder.poll().id();
+            int[] signature = entries.remove(id).signature();
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                long key = MinHash.bandKey(signature, band);
+                List<UUID> bucket = buckets.get(key);
+                bucket.remove(id);
+                if (bucket.isEmpty()) buckets.remove(key);
+            }
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(int[] signature, LocalDateTime publishedAt) {
+    }
+
+    private record Expiry(UUID id, LocalDateTime publishedAt) {
+
+        private boolean isBefore(LocalDateTime cutoff) {
+            return publishedAt == null || publishedAt.isBefore(cutoff);
+        }
+
+    }
+
+}
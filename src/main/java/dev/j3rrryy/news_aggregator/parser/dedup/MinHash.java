@@ -0,0 +1,82 @@
+package dev.j3rrryy.news_aggregator.parser.dedup;
+
+import com.google.common.hash.Hashing;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+final class MinHash {
+
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int SIZE = BANDS * ROWS;
+
+    private static final int SHINGLE_SIZE = 3;
+    private static final long SHINGLE_PRIME = 0x9E3779B97F4A7C15L;
+    private static final long[] SEEDS = new SplittableRandom(0x6D696E68617368L).longs(SIZE).toArray();
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private MinHash() {
+    }
+
+    static int[] signature(String text) {
+        long[] tokens = TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .mapToLong(token -> Hashing.murmur3_128().hashUnencodedChars(token).asLong())
+                .toArray();
+        if (tokens.length == 0) return null;
+
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingleSize = Math.min(SHINGLE_SIZE, tokens.length);
+        for (int start = 0; start + shingleSize <= tokens.length; start++) {
+            long shingle = tokens[start];
+            for (int i = 1; i < shingleSize; i++) {
+                shingle = shingle * SHINGLE_PRIME + tokens[start + i];
+            }
+            for (int i = 0; i < SIZE; i++) {
+                int hash = (int) (mix(shingle ^ SEEDS[i]) >>> 32);
+                if (hash < signature[i]) signature[i] = hash;
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(int[] first, int[] second) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (first[i] == second[i]) equal++;
+        }
+        return (double) equal / SIZE;
+    }
+
+    static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = key * SHINGLE_PRIME + signature[i];
+        }
+        return mix(key);
+    }
+
+    static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[SIZE];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+}
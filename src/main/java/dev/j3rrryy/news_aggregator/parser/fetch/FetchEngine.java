@@ -0,0 +1,20 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+public interface FetchEngine {
+
+    FetchResponse execute(FetchRequest request) throws IOException, InterruptedException;
+
+    default StreamedResponse open(FetchRequest request) throws IOException, InterruptedException {
+        FetchResponse response = execute(request);
+        return new StreamedResponse(
+                response.statusCode(),
+                response.url(),
+                response.headers(),
+                new ByteArrayInputStream(response.body())
+        );
+    }
+
+}
@@ -0,0 +1,32 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public record FetchRequest(String method, String url, Map<String, String> headers, String body) {
+
+    private static final Set<String> CONDITIONAL_HEADERS = Set.of("if-none-match", "if-modified-since");
+
+    public static FetchRequest get(String url, Map<String, String> headers) {
+        return new FetchRequest("GET", url, headers, null);
+    }
+
+    public static FetchRequest post(String url, String body, Map<String, String> headers) {
+        return new FetchRequest("POST", url, headers, body);
+    }
+
+    public boolean isPost() {
+        return "POST".equals(method);
+    }
+
+    public FetchRequest withoutConditionalHeaders() {
+        if (headers == null) return this;
+
+        Map<String, String> unconditional = new HashMap<>(headers);
+        unconditional.keySet().removeIf(name -> CONDITIONAL_HEADERS.contains(name.toLowerCase(Locale.ROOT)));
+        return unconditional.size() == headers.size() ? this : new FetchRequest(method, url, unconditional, body);
+    }
+
+}
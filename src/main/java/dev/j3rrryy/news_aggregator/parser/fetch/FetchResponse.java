@@ -0,0 +1,53 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+public record FetchResponse(int statusCode, String url, Map<String, String> headers, byte[] body) {
+
+    public FetchResponse {
+        Map<String, String> caseInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        caseInsensitive.putAll(headers);
+        headers = caseInsensitive;
+    }
+
+    public String header(String name) {
+        return headers.get(name);
+    }
+
+    public Document parse() throws IOException {
+        return Jsoup.parse(new ByteArrayInputStream(body), charsetName(header("Content-Type")), url);
+    }
+
+    public String bodyAsString() {
+        String charset = charsetName(header("Content-Type"));
+        return new String(body, charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8);
+    }
+
+    static String charsetName(String contentType) {
+        if (contentType == null) return null;
+
+        for (String part : contentType.split(";")) {
+            String param = part.trim();
+            if (param.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                String charset = param.substring("charset=".length()).replace("\"", "").replace("'", "").trim();
+                try {
+                    return Charset.isSupported(charset) ? charset : null;
+                } catch (IllegalCharsetNameException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+}
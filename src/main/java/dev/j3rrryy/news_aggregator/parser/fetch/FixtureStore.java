@@ -0,0 +1,64 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+
+public class FixtureStore {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Path fixtureDir;
+
+    public FixtureStore(Path fixtureDir) {
+        this.fixtureDir = fixtureDir;
+    }
+
+    public Optional<FetchResponse> load(FetchRequest request) throws IOException {
+        Path file = fixtureDir.resolve(key(request) + ".json");
+        if (!Files.exists(file)) return Optional.empty();
+
+        Fixture fixture = objectMapper.readValue(file.toFile(), Fixture.class);
+        return Optional.of(new FetchResponse(fixture.statusCode(), fixture.responseUrl(), fixture.headers(), fixture.body()));
+    }
+
+    public void save(FetchRequest request, FetchResponse response) throws IOException {
+        Files.createDirectories(fixtureDir);
+        Fixture fixture = new Fixture(
+                request.method(), request.url(), request.body(),
+                response.statusCode(), response.url(), response.headers(), response.body()
+        );
+
+        Path file = fixtureDir.resolve(key(request) + ".json");
+        Path tmp = Files.createTempFile(fixtureDir, "fixture-", ".tmp");
+        objectMapper.writeValue(tmp.toFile(), fixture);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @VisibleForTesting
+    static String key(FetchRequest request) {
+        String identity = request.method() + " " + request.url().strip() + "\n"
+                + (request.body() == null ? "" : request.body());
+        return Hashing.sha256().hashString(identity, StandardCharsets.UTF_8).toString();
+    }
+
+    record Fixture(
+            String method,
+            String url,
+            String requestBody,
+            int statusCode,
+            String responseUrl,
+            Map<String, String> headers,
+            byte[] body
+    ) {
+    }
+
+}
@@ -0,0 +1,129 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+public class HttpClientFetchEngine implements FetchEngine {
+
+    private static final Set<String> restrictedHeaders = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade", "accept-encoding"
+    );
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded; charset=UTF-8";
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+
+    public HttpClientFetchEngine(Duration connectTimeout, Duration readTimeout, Executor executor) {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build(), readTimeout);
+    }
+
+    HttpClientFetchEngine(HttpClient httpClient, Duration readTimeout) {
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public FetchResponse execute(FetchRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(toHttpRequest(request), HttpResponse.BodyHandlers.ofByteArray());
+        return new FetchResponse(
+                response.statusCode(),
+                response.uri().toString(),
+                flatten(response.headers()),
+                decode(response.body(), response.headers().firstValue("Content-Encoding").orElse(""))
+        );
+    }
+
+    @Override
+    public StreamedResponse open(FetchRequest request) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(toHttpRequest(request), HttpResponse.BodyHandlers.ofInputStream());
+        return new StreamedResponse(
+                response.statusCode(),
+                response.uri().toString(),
+                flatten(response.headers()),
+                decode(response.body(), response.headers().firstValue("Content-Encoding").orElse(""))
+        );
+    }
+
+    private HttpRequest toHttpRequest(FetchRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.url().trim()))
+                .timeout(readTimeout)
+                .header("Accept-Encoding", ACCEPT_ENCODING);
+
+        request.headers().forEach((name, value) -> {
+            if (!restrictedHeaders.contains(name.toLowerCase())) builder.header(name, value);
+        });
+
+        if (request.isPost()) {
+            if (request.headers().keySet().stream().noneMatch("Content-Type"::equalsIgnoreCase)) {
+                builder.header("Content-Type", FORM_CONTENT_TYPE);
+            }
+            builder.POST(HttpRequest.BodyPublishers.ofString(request.body()));
+        } else {
+            builder.GET();
+        }
+        return builder.build();
+    }
+
+    private static Map<String, String> flatten(HttpHeaders headers) {
+        Map<String, String> result = new HashMap<>();
+        headers.map().forEach((name, values) -> {
+            if (!values.isEmpty()) result.put(name, values.getFirst());
+        });
+        return result;
+    }
+
+    private static byte[] decode(byte[] body, String contentEncoding) throws IOException {
+        String encoding = contentEncoding.trim().toLowerCase();
+        if (body.length == 0 || encoding.isEmpty() || encoding.equals("identity")) return body;
+
+        try (InputStream in = switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(new ByteArrayInputStream(body));
+            case "deflate" -> new InflaterInputStream(new ByteArrayInputStream(body));
+            default -> throw new IOException("Unsupported content encoding: " + contentEncoding);
+        }) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        String encoding = contentEncoding.trim().toLowerCase();
+        if (encoding.isEmpty() || encoding.equals("identity")) return body;
+
+        PushbackInputStream in = new PushbackInputStream(body);
+        try {
+            int first = in.read();
+            if (first == -1) return in;
+            in.unread(first);
+
+            return switch (encoding) {
+                case "gzip", "x-gzip" -> new GZIPInputStream(in);
+                case "deflate" -> new InflaterInputStream(in);
+                default -> throw new IOException("Unsupported content encoding: " + contentEncoding);
+            };
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+}
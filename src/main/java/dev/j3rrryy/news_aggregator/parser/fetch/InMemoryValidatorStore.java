@@ -0,0 +1,21 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryValidatorStore implements ValidatorStore {
+
+    private final Map<String, PageValidators> validators = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<PageValidators> get(String url) {
+        return Optional.ofNullable(validators.get(url));
+    }
+
+    @Override
+    public void put(String url, PageValidators pageValidators) {
+        validators.put(url, pageValidators);
+    }
+
+}
@@ -0,0 +1,52 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.time.Duration;
+
+public class JsoupFetchEngine implements FetchEngine {
+
+    private final int timeoutMillis;
+
+    public JsoupFetchEngine(Duration readTimeout) {
+        this.timeoutMillis = (int) readTimeout.toMillis();
+    }
+
+    @Override
+    public FetchResponse execute(FetchRequest request) throws IOException {
+        Connection.Response response = connect(request).execute();
+        return new FetchResponse(
+                response.statusCode(),
+                response.url().toString(),
+                response.headers(),
+                response.bodyAsBytes()
+        );
+    }
+
+    @Override
+    public StreamedResponse open(FetchRequest request) throws IOException {
+        Connection.Response response = connect(request).execute();
+        return new StreamedResponse(
+                response.statusCode(),
+                response.url().toString(),
+                response.headers(),
+                response.bodyStream()
+        );
+    }
+
+    private Connection connect(FetchRequest request) {
+        Connection connection = Jsoup.connect(request.url())
+                .timeout(timeoutMillis)
+                .headers(request.headers())
+                .ignoreContentType(true)
+                .ignoreHttpErrors(true);
+
+        if (request.isPost()) {
+            connection.method(Connection.Method.POST).requestBody(request.body());
+        }
+        return connection;
+    }
+
+}
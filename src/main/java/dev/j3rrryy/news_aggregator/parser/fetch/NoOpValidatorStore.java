@@ -0,0 +1,16 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import java.util.Optional;
+
+public class NoOpValidatorStore implements ValidatorStore {
+
+    @Override
+    public Optional<PageValidators> get(String url) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(String url, PageValidators validators) {
+    }
+
+}
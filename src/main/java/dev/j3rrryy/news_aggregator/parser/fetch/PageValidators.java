@@ -0,0 +1,24 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public record PageValidators(String etag, String lastModified) {
+
+    public static PageValidators from(FetchResponse response) {
+        return new PageValidators(response.header("ETag"), response.header("Last-Modified"));
+    }
+
+    public boolean isEmpty() {
+        return etag == null && lastModified == null;
+    }
+
+    public Map<String, String> toRequestHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Cache-Control", "max-age=0");
+        if (etag != null) headers.put("If-None-Match", etag);
+        if (lastModified != null) headers.put("If-Modified-Since", lastModified);
+        return headers;
+    }
+
+}
@@ -0,0 +1,31 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+@Slf4j
+@RequiredArgsConstructor
+public class RecordingFetchEngine implements FetchEngine {
+
+    private static final int NOT_MODIFIED = 304;
+
+    private final FetchEngine delegate;
+    private final FixtureStore fixtureStore;
+
+    @Override
+    public FetchResponse execute(FetchRequest request) throws IOException, InterruptedException {
+        FetchRequest unconditional = request.withoutConditionalHeaders();
+        FetchResponse response = delegate.execute(unconditional);
+        if (response.statusCode() == NOT_MODIFIED) return response;
+
+        try {
+            fixtureStore.save(request, response);
+        } catch (IOException e) {
+            log.warn("Could not record {} {}: {}", request.method(), request.url().trim(), e.getMessage());
+        }
+        return response;
+    }
+
+}
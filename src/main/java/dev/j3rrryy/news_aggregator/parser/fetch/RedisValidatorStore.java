@@ -0,0 +1,48 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class RedisValidatorStore implements ValidatorStore {
+
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final Duration TTL = Duration.ofDays(7);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public Optional<PageValidators> get(String url) {
+        HashOperations<String, String, String> ops = redisTemplate.opsForHash();
+        Map<String, String> stored = ops.entries(createKey(url));
+        if (stored.isEmpty()) return Optional.empty();
+        return Optional.of(new PageValidators(stored.get(ETAG), stored.get(LAST_MODIFIED)));
+    }
+
+    @Override
+    public void put(String url, PageValidators validators) {
+        String key = createKey(url);
+        Map<String, String> values = new HashMap<>();
+        if (validators.etag() != null) values.put(ETAG, validators.etag());
+        if (validators.lastModified() != null) values.put(LAST_MODIFIED, validators.lastModified());
+
+        redisTemplate.delete(key);
+        if (values.isEmpty()) return;
+        redisTemplate.opsForHash().putAll(key, values);
+        redisTemplate.expire(key, TTL);
+    }
+
+    private String createKey(String url) {
+        return "validators:" + URLEncoder.encode(url.trim(), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,38 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReplayFetchEngine implements FetchEngine {
+
+    private final FixtureStore fixtureStore;
+    private final Duration latency;
+    private final double errorRate;
+    private final long seed;
+
+    @Override
+    public FetchResponse execute(FetchRequest request) throws IOException, InterruptedException {
+        if (latency.isPositive()) Thread.sleep(latency);
+
+        if (isSimulatedError(request)) {
+            return new FetchResponse(503, request.url(), Map.of(), new byte[0]);
+        }
+        return fixtureStore.load(request).orElseGet(() -> {
+            log.debug("No fixture for {} {}", request.method(), request.url().trim());
+            return new FetchResponse(404, request.url(), Map.of(), new byte[0]);
+        });
+    }
+
+    private boolean isSimulatedError(FetchRequest request) {
+        if (errorRate <= 0) return false;
+        return new SplittableRandom(seed ^ FixtureStore.key(request).hashCode()).nextDouble() < errorRate;
+    }
+
+}
@@ -0,0 +1,155 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Comment;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class StreamedResponse implements Closeable {
+
+    private static final Set<String> PRUNED_TAGS = Set.of("script", "style", "noscript", "template", "svg", "iframe");
+    private static final int CHARSET_SNIFF_LIMIT = 5 * 1024;
+
+    private final int statusCode;
+    private final String url;
+    private final Map<String, String> headers;
+    private final InputStream body;
+    private final ByteArrayOutputStream consumed = new ByteArrayOutputStream();
+
+    public StreamedResponse(int statusCode, String url, Map<String, String> headers, InputStream body) {
+        Map<String, String> caseInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        caseInsensitive.putAll(headers);
+        this.statusCode = statusCode;
+        this.url = url;
+        this.headers = caseInsensitive;
+        this.body = body;
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+
+    public String url() {
+        return url;
+    }
+
+    public String header(String name) {
+        return headers.get(name);
+    }
+
+    public Document parseStreaming(String endSelector) throws IOException {
+        Evaluator end = endSelector == null || endSelector.isBlank() ? null : QueryParser.parse(endSelector);
+        BufferedInputStream in = new BufferedInputStream(new RecordingInputStream(body, consumed));
+        Reader reader = new InputStreamReader(in, detectCharset(in));
+
+        try (StreamParser streamParser = new StreamParser(Parser.htmlParser()).parse(reader, url)) {
+            Document doc = streamParser.document();
+            Iterator<Element> elements = streamParser.iterator();
+
+            while (elements.hasNext()) {
+                Element element = elements.next();
+                if (PRUNED_TAGS.contains(element.normalName())) {
+                    element.remove();
+                    continue;
+                }
+                removeComments(element);
+
+                if (end != null && element.is(end)) {
+                    streamParser.stop();
+                    break;
+                }
+            }
+            return doc;
+        }
+    }
+
+    public FetchResponse toFetchResponse() {
+        return new FetchResponse(statusCode, url, headers, consumed.toByteArray());
+    }
+
+    @Override
+    public void close() throws IOException {
+        body.close();
+    }
+
+    private Charset detectCharset(BufferedInputStream in) throws IOException {
+        String declared = FetchResponse.charsetName(header("Content-Type"));
+        if (declared != null) return Charset.forName(declared);
+
+        in.mark(CHARSET_SNIFF_LIMIT);
+        byte[] prefix = in.readNBytes(CHARSET_SNIFF_LIMIT);
+        in.reset();
+
+        Charset bomCharset = bomCharset(prefix);
+        if (bomCharset != null) {
+            in.skipNBytes(bomCharset.equals(StandardCharsets.UTF_8) ? 3 : 2);
+            return bomCharset;
+        }
+
+        Document head = Jsoup.parse(new String(prefix, StandardCharsets.ISO_8859_1));
+        for (Element meta : head.select("meta[http-equiv=content-type], meta[charset]")) {
+            String charset = meta.hasAttr("charset")
+                    ? FetchResponse.charsetName("charset=" + meta.attr("charset"))
+                    : FetchResponse.charsetName(meta.attr("content"));
+            if (charset != null) return Charset.forName(charset);
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static Charset bomCharset(byte[] prefix) {
+        if (prefix.length >= 3 && (prefix[0] & 0xFF) == 0xEF && (prefix[1] & 0xFF) == 0xBB && (prefix[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        if (prefix.length >= 2 && (prefix[0] & 0xFF) == 0xFE && (prefix[1] & 0xFF) == 0xFF) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (prefix.length >= 2 && (prefix[0] & 0xFF) == 0xFF && (prefix[1] & 0xFF) == 0xFE) {
+            return StandardCharsets.UTF_16LE;
+        }
+        return null;
+    }
+
+    private static void removeComments(Element element) {
+        for (int i = element.childNodeSize() - 1; i >= 0; i--) {
+            if (element.childNode(i) instanceof Comment comment) comment.remove();
+        }
+    }
+
+    private static class RecordingInputStream extends FilterInputStream {
+
+        private final ByteArrayOutputStream copy;
+
+        RecordingInputStream(InputStream in, ByteArrayOutputStream copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) copy.write(b);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) copy.write(b, off, n);
+            return n;
+        }
+
+    }
+
+}
@@ -0,0 +1,11 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import java.util.Optional;
+
+public interface ValidatorStore {
+
+    Optional<PageValidators> get(String url);
+
+    void put(String url, PageValidators validators);
+
+}
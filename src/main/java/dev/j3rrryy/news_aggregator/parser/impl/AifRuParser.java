@@ -2,6 +2,7 @@ package dev.j3rrryy.news_aggregator.parser.impl;
 
 import dev.j3rrryy.news_aggregator.entity.NewsArticle;
 import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.CrawlPriority;
 import dev.j3rrryy.news_aggregator.enums.Source;
 import dev.j3rrryy.news_aggregator.enums.Status;
 import dev.j3rrryy.news_aggregator.parser.NewsParser;
@@ -47,8 +48,10 @@ public class AifRuParser extends NewsParser {
             ExecutorService ioExecutor,
             ExecutorService cpuExecutor,
             ParsingService parsingService,
+            IngestBuffer ingestBuffer,
             ParserProperties parserProperties,
             ParsingStateStore parsingStateStore,
+            CrawlLeaseManager crawlLeaseManager,
             ParsingStatusManager parsingStatusManager
     ) {
         super(
@@ -59,16 +62,25 @@ public class AifRuParser extends NewsParser {
                 ioExecutor,
                 cpuExecutor,
                 parsingService,
+                ingestBuffer,
                 parserProperties,
                 parsingStateStore,
+                crawlLeaseManager,
                 parsingStatusManager
         );
     }
 
     @Override
-    protected Optional<Document> fetchPage(String path, int page) {
+    protected Optional<Document> fetchPage(String path, int page, CrawlPriority priority) {
         String url = URL_TEMPLATE.formatted(path);
-        return pageFetcher.downloadPage(pageFetcher.fetchPost(url, BODY_TEMPLATE.formatted(page)), url, rateLimiter);
+        return pageFetcher.downloadPage(
+                pageFetcher.fetchPost(url, BODY_TEMPLATE.formatted(page)), url, rateLimiter, priority, null
+        );
+    }
+
+    @Override
+    protected Optional<Document> fetchHeadPage(String path) {
+        return fetchPage(path, initialPage, CrawlPriority.HEAD_LISTING);
     }
 
     @Override
@@ -102,11 +114,12 @@ public class AifRuParser extends NewsParser {
             String title = Objects.requireNonNull(doc.selectFirst("h1[itemprop=headline]"))
                     .text()
                     .trim();
-            String summary = doc.select(SUMMARY_AND_CONTENT_SELECTOR)
+            Elements paragraphs = doc.select(SUMMARY_AND_CONTENT_SELECTOR);
+            String summary = paragraphs
                     .text()
                     .trim()
                     .replaceFirst("^(.*?\\.)(?:\\s+|$).*", "$1");
-            String content = doc.select(SUMMARY_AND_CONTENT_SELECTOR).stream()
+            String content = paragraphs.stream()
                     .map(Element::text)
                     .map(String::trim)
                     .filter(text -> !text.isEmpty())
@@ -40,8 +40,10 @@ public class RtRuParser extends NewsParser {
             ExecutorService ioExecutor,
             ExecutorService cpuExecutor,
             ParsingService parsingService,
+            IngestBuffer ingestBuffer,
             ParserProperties parserProperties,
             ParsingStateStore parsingStateStore,
+            CrawlLeaseManager crawlLeaseManager,
             ParsingStatusManager parsingStatusManager
     ) {
         super(
@@ -52,8 +54,10 @@ public class RtRuParser extends NewsParser {
                 ioExecutor,
                 cpuExecutor,
                 parsingService,
+                ingestBuffer,
                 parserProperties,
                 parsingStateStore,
+                crawlLeaseManager,
                 parsingStatusManager
         );
     }
@@ -88,11 +92,11 @@ public class RtRuParser extends NewsParser {
             String title = Objects.requireNonNull(doc.selectFirst("h1.article__heading"))
                     .text()
                     .trim();
-            String summary = doc.select("div.article__summary")
+            String summaryText = doc.select("div.article__summary")
                     .text()
-                    .trim()
-                    .replaceFirst("^(.*?\\.)(?:\\s+|$).*", "$1");
-            String content = doc.select("div.article__summary").text().trim()
+                    .trim();
+            String summary = summaryText.replaceFirst("^(.*?\\.)(?:\\s+|$).*", "$1");
+            String content = summaryText
                     + "\n\n"
                     + doc.select(CONTENT_SELECTOR).stream()
                     .map(Element::text)
@@ -41,8 +41,10 @@ public class SvpressaRuParser extends NewsParser {
             ExecutorService ioExecutor,
             ExecutorService cpuExecutor,
             ParsingService parsingService,
+            IngestBuffer ingestBuffer,
             ParserProperties parserProperties,
             ParsingStateStore parsingStateStore,
+            CrawlLeaseManager crawlLeaseManager,
             ParsingStatusManager parsingStatusManager
     ) {
         super(
@@ -53,8 +55,10 @@ public class SvpressaRuParser extends NewsParser {
                 ioExecutor,
                 cpuExecutor,
                 parsingService,
+                ingestBuffer,
                 parserProperties,
                 parsingStateStore,
+                crawlLeaseManager,
                 parsingStatusManager
         );
     }
@@ -90,11 +94,12 @@ public class SvpressaRuParser extends NewsParser {
             String title = Objects.requireNonNull(doc.selectFirst("h1.b-text__title"))
                     .text()
                     .trim();
-            String summary = doc.select("div.b-text__block > p")
+            Elements paragraphs = doc.select("div.b-text__block > p");
+            String summary = paragraphs
                     .text()
                     .trim()
                     .replaceFirst("^(.*?\\.)(?:\\s+|$).*", "$1");
-            String content = doc.select("div.b-text__block > p").stream()
+            String content = paragraphs.stream()
                     .map(Element::text)
                     .map(String::trim)
                     .filter(text -> !text.isEmpty())
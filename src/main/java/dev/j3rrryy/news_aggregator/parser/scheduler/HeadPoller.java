@@ -0,0 +1,125 @@
+package dev.j3rrryy.news_aggregator.parser.scheduler;
+
+import com.google.common.annotations.VisibleForTesting;
+import dev.j3rrryy.news_aggregator.parser.NewsParser;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.service.HeadPollingChangedEvent;
+import dev.j3rrryy.news_aggregator.parser.service.ParserControlPlane;
+import dev.j3rrryy.news_aggregator.service.v1.CacheManagerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HeadPoller {
+
+    private final List<NewsParser> parsers;
+    private final ExecutorService ioExecutor;
+    @Qualifier("taskScheduler")
+    private final TaskScheduler taskScheduler;
+    private final ParserProperties parserProperties;
+    private final CacheManagerService cacheManagerService;
+    private final ParserControlPlane parserControlPlane;
+
+    @VisibleForTesting
+    final List<ScheduledFuture<?>> scheduledFutures = new ArrayList<>();
+
+    private boolean active;
+
+    @PostConstruct
+    public void init() {
+        if (parserProperties.isHeadPollingEnabled()) scheduleHeadPolling();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cancelHeadPolling();
+    }
+
+    public void enableHeadPolling() {
+        scheduleHeadPolling();
+        parserControlPlane.publishHeadPolling();
+    }
+
+    public void disableHeadPolling() {
+        cancelHeadPolling();
+        parserControlPlane.publishHeadPolling();
+    }
+
+    @EventListener
+    public void onHeadPollingChanged(HeadPollingChangedEvent event) {
+        cancelHeadPolling();
+        if (event.enabled()) scheduleHeadPolling();
+    }
+
+    private synchronized void scheduleHeadPolling() {
+        if (active) return;
+
+        Duration interval = parserProperties.getHeadPollingInterval();
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            log.warn("Head polling interval is not set or <= 0 ({}), could not enable the feature", interval);
+            return;
+        }
+
+        for (NewsParser parser : parsers) {
+            AtomicBoolean polling = new AtomicBoolean(false);
+            scheduledFutures.add(taskScheduler.scheduleWithFixedDelay(() -> dispatch(parser, polling), interval));
+        }
+        active = true;
+        parserProperties.setHeadPollingEnabled(true);
+        log.info("Head polling every {} is enabled", interval);
+    }
+
+    private synchronized void cancelHeadPolling() {
+        if (active) {
+            scheduledFutures.forEach(future -> future.cancel(false));
+            log.info("Head polling is disabled");
+        }
+        scheduledFutures.clear();
+        active = false;
+        parserProperties.setHeadPollingEnabled(false);
+    }
+
+    @VisibleForTesting
+    void dispatch(NewsParser parser, AtomicBoolean polling) {
+        if (!parserProperties.getSourceStatuses().getOrDefault(parser.getSource(), false)) return;
+        if (!polling.compareAndSet(false, true)) return;
+
+        try {
+            ioExecutor.execute(() -> {
+                try {
+                    poll(parser);
+                } finally {
+                    polling.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            polling.set(false);
+        }
+    }
+
+    @VisibleForTesting
+    void poll(NewsParser parser) {
+        try {
+            if (parser.pollHead() > 0) cacheManagerService.clearAllCaches();
+        } catch (Exception e) {
+            log.error("Head polling of {} failed", parser.getSource(), e);
+        }
+    }
+
+}
@@ -1,17 +1,31 @@
 package dev.j3rrryy.news_aggregator.parser.scheduler;
 
 import com.google.common.annotations.VisibleForTesting;
+import dev.j3rrryy.news_aggregator.enums.ParsingOutcome;
+import dev.j3rrryy.news_aggregator.enums.Source;
 import dev.j3rrryy.news_aggregator.exceptions.ParsingInProgressException;
 import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.service.AutoParsingChangedEvent;
+import dev.j3rrryy.news_aggregator.parser.service.ParserControlPlane;
+import dev.j3rrryy.news_aggregator.parser.service.ParsingService;
+import dev.j3rrryy.news_aggregator.parser.service.SourceParsedEvent;
 import dev.j3rrryy.news_aggregator.service.v1.ParserService;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 
 @Slf4j
@@ -20,24 +34,70 @@ import java.util.concurrent.ScheduledFuture;
 public class ParsingScheduler {
 
     private final ParserService parserService;
+    @Qualifier("autoParsingScheduler")
     private final TaskScheduler taskScheduler;
+    private final ParsingService parsingService;
     private final ParserProperties parserProperties;
+    private final ParserControlPlane parserControlPlane;
+
+    private final Map<Source, Instant> dueAt = new EnumMap<>(Source.class);
+    private final Map<Source, PublicationRate> rates = new EnumMap<>(Source.class);
 
     @VisibleForTesting
-    volatile ScheduledFuture<?> scheduledFuture;
+    final Map<Source, ScheduledFuture<?>> scheduledFutures = new EnumMap<>(Source.class);
+
+    private boolean active;
 
     @PostConstruct
     public void init() {
-        if (parserProperties.isAutoParsingEnabled()) enableAutoParsing();
+        if (parserProperties.isAutoParsingEnabled()) scheduleAutoParsing();
     }
 
     @PreDestroy
     public void shutdown() {
-        disableAutoParsing();
+        cancelAutoParsing();
     }
 
     public void enableAutoParsing() {
-        if (scheduledFuture != null && !scheduledFuture.isCancelled()) return;
+        scheduleAutoParsing();
+        parserControlPlane.publishAutoParsing();
+    }
+
+    public void disableAutoParsing() {
+        cancelAutoParsing();
+        parserControlPlane.publishAutoParsing();
+    }
+
+    @EventListener
+    public void onAutoParsingChanged(AutoParsingChangedEvent event) {
+        cancelAutoParsing();
+        if (event.enabled()) scheduleAutoParsing();
+    }
+
+    @EventListener
+    public synchronized void onSourceParsed(SourceParsedEvent event) {
+        Source source = event.source();
+        PublicationRate rate = rates.computeIfAbsent(source, s -> new PublicationRate());
+        if (event.outcome() == ParsingOutcome.COMPLETED) {
+            rate.record(Instant.now(), event.savedArticles(), parserProperties.getAutoParsingRateSmoothing());
+        }
+        if (!active) return;
+
+        Duration interval = event.outcome() == ParsingOutcome.SKIPPED
+                ? parserProperties.getAutoParsingMaxInterval()
+                : rate.nextInterval(
+                parserProperties.getAutoParsingInterval(),
+                parserProperties.getAutoParsingMinInterval(),
+                parserProperties.getAutoParsingMaxInterval(),
+                parserProperties.getAutoParsingTargetArticles()
+        );
+        scheduleSource(source, interval);
+        log.info("Next auto-parsing of {} in {} ({} articles/h, {} saved last run)",
+                source, interval, String.format("%.2f", rate.articlesPerHour()), event.savedArticles());
+    }
+
+    private synchronized void scheduleAutoParsing() {
+        if (active) return;
 
         Duration interval = parserProperties.getAutoParsingInterval();
         if (interval == null || interval.isZero() || interval.isNegative()) {
@@ -45,25 +105,65 @@ public class ParsingScheduler {
             return;
         }
 
-        scheduledFuture = taskScheduler.scheduleWithFixedDelay(this::autoParsing, interval);
+        active = true;
+        for (Source source : Source.values()) {
+            seedRate(source);
+            scheduleSource(source, Duration.ZERO);
+        }
         parserProperties.setAutoParsingEnabled(true);
-        log.info("Auto-parsing every {} is enabled", interval);
+        log.info("Auto-parsing every {}-{} depending on publication rate is enabled",
+                parserProperties.getAutoParsingMinInterval(), parserProperties.getAutoParsingMaxInterval());
     }
 
-    public void disableAutoParsing() {
-        if (scheduledFuture != null) {
-            scheduledFuture.cancel(false);
+    private synchronized void cancelAutoParsing() {
+        if (active) {
+            scheduledFutures.values().forEach(future -> future.cancel(false));
             log.info("Auto-parsing is disabled");
         }
+        scheduledFutures.clear();
+        dueAt.clear();
+        active = false;
         parserProperties.setAutoParsingEnabled(false);
     }
 
-    @VisibleForTesting
-    void autoParsing() {
+    private void seedRate(Source source) {
+        PublicationRate rate = rates.computeIfAbsent(source, s -> new PublicationRate());
+        Duration window = parserProperties.getAutoParsingRateWindow();
         try {
-            parserService.startParsing();
-        } catch (ParsingInProgressException e) {
-            log.warn(e.getMessage());
+            rate.seed(parsingService.countPublishedSince(source, LocalDateTime.now().minus(window)), window);
+        } catch (Exception e) {
+            log.warn("Could not measure the publication rate of {}, starting from the base interval", source, e);
+        }
+    }
+
+    private void scheduleSource(Source source, Duration delay) {
+        ScheduledFuture<?> previous = scheduledFutures.get(source);
+        if (previous != null) previous.cancel(false);
+
+        Instant at = Instant.now().plus(delay);
+        dueAt.put(source, at);
+        scheduledFutures.put(source, taskScheduler.schedule(this::autoParsing, at));
+    }
+
+    @VisibleForTesting
+    synchronized void autoParsing() {
+        if (!active) return;
+
+        Instant now = Instant.now();
+        Set<Source> due = EnumSet.noneOf(Source.class);
+        dueAt.forEach((source, at) -> {
+            if (!at.isAfter(now)) due.add(source);
+        });
+        if (due.isEmpty()) return;
+
+        for (Source source : due) {
+            try {
+                parserService.startParsing(EnumSet.of(source));
+                scheduleSource(source, parserProperties.getAutoParsingMaxInterval());
+            } catch (ParsingInProgressException e) {
+                log.warn("{} is still being parsed, retrying in {}", source, parserProperties.getAutoParsingMinInterval());
+                scheduleSource(source, parserProperties.getAutoParsingMinInterval());
+            }
         }
     }
 
@@ -0,0 +1,47 @@
+package dev.j3rrryy.news_aggregator.parser.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+class PublicationRate {
+
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    private double articlesPerHour = Double.NaN;
+    private Instant lastRunAt;
+
+    synchronized void seed(long articles, Duration window) {
+        if (!Double.isNaN(articlesPerHour) || window.isZero() || window.isNegative()) return;
+        articlesPerHour = articles * SECONDS_PER_HOUR / window.toSeconds();
+    }
+
+    synchronized void record(Instant finishedAt, long savedArticles, double smoothing) {
+        if (lastRunAt != null && finishedAt.isAfter(lastRunAt)) {
+            double hours = Duration.between(lastRunAt, finishedAt).toMillis() / (SECONDS_PER_HOUR * 1000);
+            double observed = savedArticles / hours;
+            articlesPerHour = Double.isNaN(articlesPerHour)
+                    ? observed
+                    : smoothing * observed + (1 - smoothing) * articlesPerHour;
+        }
+        lastRunAt = finishedAt;
+    }
+
+    synchronized double articlesPerHour() {
+        return articlesPerHour;
+    }
+
+    synchronized Duration nextInterval(Duration fallback, Duration min, Duration max, int targetArticles) {
+        Duration interval;
+        if (Double.isNaN(articlesPerHour)) {
+            interval = fallback;
+        } else if (articlesPerHour <= 0) {
+            interval = max;
+        } else {
+            interval = Duration.ofSeconds(Math.round(targetArticles / articlesPerHour * SECONDS_PER_HOUR));
+        }
+        if (interval.compareTo(min) < 0) return min;
+        if (interval.compareTo(max) > 0) return max;
+        return interval;
+    }
+
+}
@@ -0,0 +1,164 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.RateLimiter;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserConfig;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class AdaptiveRateLimiter {
+
+    @VisibleForTesting
+    static final int LATENCY_WINDOW = 100;
+    @VisibleForTesting
+    static final int HEALTHY_RESPONSES_TO_INCREASE = 20;
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double LATENCY_DEGRADATION_FACTOR = 2.0;
+    private static final double BASELINE_SMOOTHING = 0.2;
+    private static final Duration DEFAULT_MAX_RETRY_AFTER = Duration.ofMinutes(5);
+    @VisibleForTesting
+    static final Duration MIN_DECREASE_INTERVAL = Duration.ofSeconds(1);
+
+    @Getter
+    private final Source source;
+    @Getter
+    private final double minRate;
+    @Getter
+    private final double maxRate;
+    private final double increaseStep;
+    private final Duration maxRetryAfter;
+    private final RateLimiter rateLimiter;
+    private final long[] latencies = new long[LATENCY_WINDOW];
+
+    private int latencyIndex;
+    private int latencySamples;
+    private int healthyStreak;
+    private double baselineP95Nanos;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+    private volatile long pausedUntilNanos;
+
+    public AdaptiveRateLimiter(Source source, double initialRate, double minRate, double maxRate) {
+        this(source, initialRate, minRate, maxRate, DEFAULT_MAX_RETRY_AFTER);
+    }
+
+    public AdaptiveRateLimiter(
+            Source source, double initialRate, double minRate, double maxRate, Duration maxRetryAfter
+    ) {
+        this.source = source;
+        this.minRate = Math.min(minRate, initialRate);
+        this.maxRate = Math.max(maxRate, initialRate);
+        this.increaseStep = Math.max(initialRate / 20, 0.1);
+        this.maxRetryAfter = maxRetryAfter == null ? DEFAULT_MAX_RETRY_AFTER : maxRetryAfter;
+        this.rateLimiter = RateLimiter.create(initialRate);
+    }
+
+    public static AdaptiveRateLimiter create(Source source, ParserConfig parserConfig) {
+        double rate = parserConfig.getRateLimitPerSecond();
+        double minRate = parserConfig.getMinRateLimitPerSecond() > 0 ? parserConfig.getMinRateLimitPerSecond() : rate / 10;
+        double maxRate = parserConfig.getMaxRateLimitPerSecond() > 0 ? parserConfig.getMaxRateLimitPerSecond() : rate;
+        return new AdaptiveRateLimiter(source, rate, minRate, maxRate, parserConfig.getMaxRetryAfter());
+    }
+
+    public void acquire() throws InterruptedException {
+        long pause = pausedUntilNanos - System.nanoTime();
+        if (pause > 0) TimeUnit.NANOSECONDS.sleep(pause);
+        rateLimiter.acquire();
+    }
+
+    public boolean tryAcquire() {
+        if (pausedUntilNanos - System.nanoTime() > 0) return false;
+        return rateLimiter.tryAcquire();
+    }
+
+    public double getRate() {
+        return rateLimiter.getRate();
+    }
+
+    long nanosUntilPermit() {
+        long pause = pausedUntilNanos - System.nanoTime();
+        return Math.max(pause, (long) (TimeUnit.SECONDS.toNanos(1) / rateLimiter.getRate()));
+    }
+
+    public synchronized void onSuccess(Duration latency) {
+        latencies[latencyIndex] = latency.toNanos();
+        latencyIndex = (latencyIndex + 1) % LATENCY_WINDOW;
+        latencySamples = Math.min(latencySamples + 1, LATENCY_WINDOW);
+        healthyStreak++;
+
+        if (latencySamples == LATENCY_WINDOW && latencyIndex % HEALTHY_RESPONSES_TO_INCREASE == 0) {
+            long p95 = percentile95(LATENCY_WINDOW);
+            boolean degraded = baselineP95Nanos > 0 && p95 > baselineP95Nanos * LATENCY_DEGRADATION_FACTOR;
+            baselineP95Nanos = baselineP95Nanos > 0
+                    ? baselineP95Nanos + (p95 - baselineP95Nanos) * BASELINE_SMOOTHING
+                    : p95;
+            if (degraded) {
+                decrease("p95 latency rose to " + Duration.ofNanos(p95).toMillis() + " ms");
+                return;
+            }
+        }
+
+        if (healthyStreak >= HEALTHY_RESPONSES_TO_INCREASE) {
+            healthyStreak = 0;
+            double current = rateLimiter.getRate();
+            double increased = Math.min(current + increaseStep, maxRate);
+            if (increased > current) setRate(increased, "responses are healthy");
+        }
+    }
+
+    public synchronized void onThrottle(Duration retryAfter) {
+        if (retryAfter != null && !retryAfter.isNegative()) {
+            Duration pause = retryAfter.compareTo(maxRetryAfter) > 0 ? maxRetryAfter : retryAfter;
+            if (pause != retryAfter) log.warn("Clamping Retry-After of {} from {} to {}", source, retryAfter, pause);
+            pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + pause.toNanos());
+        }
+        decrease("source responded with throttling");
+    }
+
+    public synchronized void onTimeout() {
+        decrease("request timed out");
+    }
+
+    private void decrease(String reason) {
+        healthyStreak = 0;
+        long now = nanoTime();
+        if (decreased && now - lastDecreaseNanos < decreaseIntervalNanos()) {
+            log.debug("Rate limit for {} already decreased in this episode: {}", source, reason);
+            return;
+        }
+        decreased = true;
+        lastDecreaseNanos = now;
+
+        double current = rateLimiter.getRate();
+        double decreased = Math.max(current * DECREASE_FACTOR, minRate);
+        if (decreased < current) setRate(decreased, reason);
+    }
+
+    private void setRate(double rate, String reason) {
+        rateLimiter.setRate(rate);
+        log.info("Rate limit for {} changed to {} req/s: {}", source, "%.2f".formatted(rate), reason);
+    }
+
+    private long decreaseIntervalNanos() {
+        long rtt = latencySamples > 0 ? percentile95(latencySamples) : 0;
+        return Math.max(rtt, MIN_DECREASE_INTERVAL.toNanos());
+    }
+
+    private long percentile95(int samples) {
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(samples * 0.95) - 1];
+    }
+
+    @VisibleForTesting
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+}
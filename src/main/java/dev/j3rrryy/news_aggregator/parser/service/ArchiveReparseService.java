@@ -0,0 +1,95 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import dev.j3rrryy.news_aggregator.entity.NewsArticle;
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.parser.NewsParser;
+import dev.j3rrryy.news_aggregator.parser.archive.ArchiveEntry;
+import dev.j3rrryy.news_aggregator.parser.archive.PageArchive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArchiveReparseService {
+
+    @VisibleForTesting
+    static final int BATCH_SIZE = 500;
+
+    private final List<NewsParser> parsers;
+    private final PageArchive pageArchive;
+    private final ExecutorService cpuExecutor;
+    private final ParsingService parsingService;
+    private final ParsingStatusManager parsingStatusManager;
+
+    @Async
+    public void runAsyncReparse() {
+        try {
+            int upserted = reparse();
+            log.info("Re-parse finished: {} articles upserted", upserted);
+        } catch (Exception e) {
+            log.error("Re-parse failed", e);
+        } finally {
+            parsingStatusManager.stopParsing();
+            parsingStatusManager.resetStopRequest();
+        }
+    }
+
+    @VisibleForTesting
+    int reparse() throws Exception {
+        Collection<ArchiveEntry> entries = pageArchive.latestEntries().values();
+        log.info("Re-parsing {} archived pages...", entries.size());
+
+        int upserted = 0;
+        for (List<ArchiveEntry> batch : Lists.partition(new ArrayList<>(entries), BATCH_SIZE)) {
+            if (parsingStatusManager.isStopRequested()) break;
+
+            Map<String, Category> categories = parsingService.findCategoriesByUrls(
+                    batch.stream().map(ArchiveEntry::url).toList()
+            );
+            List<CompletableFuture<Optional<NewsArticle>>> futures = batch.stream()
+                    .filter(entry -> categoryOf(entry, categories) != null)
+                    .map(entry -> CompletableFuture.supplyAsync(
+                            () -> reparseEntry(entry, categoryOf(entry, categories)), cpuExecutor
+                    ))
+                    .toList();
+            if (futures.isEmpty()) continue;
+
+            List<NewsArticle> articles = futures.stream()
+                    .map(CompletableFuture::join)
+                    .flatMap(Optional::stream)
+                    .toList();
+            upserted += parsingService.upsertArticles(articles);
+        }
+        return upserted;
+    }
+
+    private static Category categoryOf(ArchiveEntry entry, Map<String, Category> storedCategories) {
+        Category stored = storedCategories.get(entry.url());
+        if (stored != null) return stored;
+        return entry.origin() == null ? null : entry.origin().category();
+    }
+
+    private Optional<NewsArticle> reparseEntry(ArchiveEntry entry, Category category) {
+        Optional<NewsParser> parser = parsers.stream().filter(p -> p.handlesUrl(entry.url())).findFirst();
+        if (parser.isEmpty()) return Optional.empty();
+
+        try {
+            Optional<NewsArticle> article = parser.get().parseArchivedArticle(pageArchive.read(entry).parse(), category);
+            if (entry.origin() != null) article.ifPresent(a -> a.setCrawlPath(entry.origin().path()));
+            return article;
+        } catch (Exception e) {
+            log.warn("Re-parse of {} failed: {}", entry.url(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+}
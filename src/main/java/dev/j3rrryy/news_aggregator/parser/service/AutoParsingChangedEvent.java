@@ -0,0 +1,5 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+public record AutoParsingChangedEvent(boolean enabled) {
+
+}
@@ -0,0 +1,7 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+public record BackfillResult(boolean fetched, int saved, boolean reachedTarget) {
+
+    public static final BackfillResult FAILED = new BackfillResult(false, 0, false);
+
+}
@@ -0,0 +1,220 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.NewsParser;
+import dev.j3rrryy.news_aggregator.parser.config.ParserConfig;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BackfillService {
+
+    private static final String LEASE_PREFIX = "backfill:";
+
+    private final List<NewsParser> parsers;
+    private final ExecutorService ioExecutor;
+    private final ParserProperties parserProperties;
+    private final CrawlLeaseManager crawlLeaseManager;
+    private final ParserControlPlane parserControlPlane;
+    private final BackfillStateStore backfillStateStore;
+    private final ParsingStatusManager parsingStatusManager;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final LongAdder pagesCrawled = new LongAdder();
+    private final LongAdder articlesSaved = new LongAdder();
+    private volatile CountDownLatch stopSignal = new CountDownLatch(0);
+
+    @PostConstruct
+    public void init() {
+        try {
+            if (!backfillStateStore.isActive()) return;
+            backfillStateStore.getTargetDate().ifPresent(targetDate -> {
+                log.info("Resuming interrupted backfill to {}", targetDate);
+                start(targetDate);
+            });
+        } catch (Exception e) {
+            log.warn("Could not check for an interrupted backfill", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopSignal.countDown();
+    }
+
+    public boolean start(LocalDate targetDate) {
+        if (!running.compareAndSet(false, true)) return false;
+
+        stopSignal = new CountDownLatch(1);
+        pagesCrawled.reset();
+        articlesSaved.reset();
+        try {
+            backfillStateStore.activate(targetDate);
+            ioExecutor.execute(() -> run(targetDate));
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    public boolean stop() {
+        if (!running.get()) return false;
+
+        backfillStateStore.deactivate();
+        stopSignal.countDown();
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Optional<LocalDate> getTargetDate() {
+        return backfillStateStore.getTargetDate();
+    }
+
+    public BackfillProgress getProgress() {
+        int pathsTotal = 0;
+        int pathsCompleted = 0;
+        for (NewsParser parser : parsers) {
+            for (BackfillTask task : tasksOf(parser)) {
+                pathsTotal++;
+                if (backfillStateStore.isDone(parser.getSource(), task.category(), task.path())) pathsCompleted++;
+            }
+        }
+        return new BackfillProgress(pathsTotal, pathsCompleted, pagesCrawled.sum(), articlesSaved.sum());
+    }
+
+    @VisibleForTesting
+    void run(LocalDate targetDate) {
+        LocalDateTime target = targetDate.atStartOfDay();
+        try {
+            log.info("Backfilling articles down to {}...", targetDate);
+            CompletableFuture.allOf(parsers.stream()
+                    .map(parser -> CompletableFuture.runAsync(() -> backfillSource(parser, target), ioExecutor))
+                    .toArray(CompletableFuture[]::new)
+            ).join();
+
+            if (!isStopRequested()) {
+                backfillStateStore.deactivate();
+                log.info("Backfill to {} finished: {} pages crawled, {} articles saved",
+                        targetDate, pagesCrawled.sum(), articlesSaved.sum());
+            } else {
+                log.info("Backfill to {} stopped: {} pages crawled, {} articles saved",
+                        targetDate, pagesCrawled.sum(), articlesSaved.sum());
+            }
+        } catch (Exception e) {
+            log.error("Backfill to {} failed", targetDate, e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void backfillSource(NewsParser parser, LocalDateTime target) {
+        Source source = parser.getSource();
+        if (!parserProperties.getSourceStatuses().getOrDefault(source, false)) return;
+
+        Deque<BackfillTask> queue = new ArrayDeque<>(tasksOf(parser).stream()
+                .filter(task -> !backfillStateStore.isDone(source, task.category(), task.path()))
+                .toList());
+        Map<BackfillTask, Integer> failedAttempts = new HashMap<>();
+
+        while (!queue.isEmpty() && !isStopRequested()) {
+            if (parsingStatusManager.isParsingInProgress() || parserControlPlane.isParsingInProgressElsewhere()) {
+                pause();
+                continue;
+            }
+
+            BackfillTask task = queue.pollFirst();
+            try {
+                if (backfillNextPage(parser, task, target, failedAttempts)) queue.addLast(task);
+            } catch (Exception e) {
+                log.error("Backfill of {} from {} failed", task.path(), source, e);
+            }
+        }
+    }
+
+    private boolean backfillNextPage(
+            NewsParser parser, BackfillTask task, LocalDateTime target, Map<BackfillTask, Integer> failedAttempts
+    ) {
+        Source source = parser.getSource();
+        Optional<CrawlLease> lease = crawlLeaseManager.tryAcquire(source, task.category(), LEASE_PREFIX + task.path());
+        if (lease.isEmpty()) {
+            pause();
+            return true;
+        }
+
+        try (CrawlLease ignored = lease.get()) {
+            int page = backfillStateStore.getPage(source, task.category(), task.path()).orElse(parser.getInitialPage());
+            BackfillResult result = parser.backfillPage(task.path(), task.category(), page, target);
+
+            if (!result.fetched()) {
+                int attempts = failedAttempts.merge(task, 1, Integer::sum);
+                if (attempts < parserProperties.getBackfillPageAttempts()) return true;
+                log.warn("Skipping page {} of {} from {} after {} failed attempts", page, task.path(), source, attempts);
+            } else {
+                pagesCrawled.increment();
+                articlesSaved.add(result.saved());
+            }
+            failedAttempts.remove(task);
+
+            if (result.reachedTarget()) {
+                backfillStateStore.markDone(source, task.category(), task.path());
+                log.info("Backfill of {} from {} reached {} at page {}", task.path(), source, target.toLocalDate(), page);
+                return false;
+            }
+            backfillStateStore.updatePage(source, task.category(), task.path(), page + 1);
+            return true;
+        }
+    }
+
+    private List<BackfillTask> tasksOf(NewsParser parser) {
+        ParserConfig config = parserProperties.getConfigs().get(parser.getSource());
+        if (config == null) return List.of();
+
+        List<BackfillTask> tasks = new ArrayList<>();
+        config.getCategoryUrls().forEach((category, paths) ->
+                paths.forEach(path -> tasks.add(new BackfillTask(category, path)))
+        );
+        return tasks;
+    }
+
+    private boolean isStopRequested() {
+        return stopSignal.getCount() == 0;
+    }
+
+    private void pause() {
+        try {
+            stopSignal.await(parserProperties.getBackfillYieldPause().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopSignal.countDown();
+        }
+    }
+
+    public record BackfillProgress(int pathsTotal, int pathsCompleted, long pagesCrawled, long articlesSaved) {
+    }
+
+    private record BackfillTask(Category category, String path) {
+    }
+
+}
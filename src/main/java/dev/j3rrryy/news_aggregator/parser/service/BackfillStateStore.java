@@ -0,0 +1,71 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class BackfillStateStore {
+
+    private static final String TARGET_KEY = "backfill:target";
+    private static final String ACTIVE_KEY = "backfill:active";
+    private static final String PAGES_KEY = "backfill:pages";
+    private static final String DONE_KEY = "backfill:done";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public Optional<LocalDate> getTargetDate() {
+        String stored = redisTemplate.opsForValue().get(TARGET_KEY);
+        return stored == null ? Optional.empty() : Optional.of(LocalDate.parse(stored));
+    }
+
+    public void activate(LocalDate targetDate) {
+        if (getTargetDate().filter(targetDate::equals).isEmpty()) {
+            redisTemplate.delete(List.of(PAGES_KEY, DONE_KEY));
+            redisTemplate.opsForValue().set(TARGET_KEY, targetDate.toString());
+        }
+        redisTemplate.opsForValue().set(ACTIVE_KEY, "1");
+    }
+
+    public boolean isActive() {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(ACTIVE_KEY));
+    }
+
+    public void deactivate() {
+        redisTemplate.delete(ACTIVE_KEY);
+    }
+
+    public Optional<Integer> getPage(Source source, Category category, String path) {
+        Object stored = redisTemplate.opsForHash().get(PAGES_KEY, createField(source, category, path));
+        return stored == null ? Optional.empty() : Optional.of(Integer.parseInt(stored.toString()));
+    }
+
+    public void updatePage(Source source, Category category, String path, int nextPage) {
+        redisTemplate.opsForHash().put(PAGES_KEY, createField(source, category, path), String.valueOf(nextPage));
+    }
+
+    public boolean isDone(Source source, Category category, String path) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(DONE_KEY, createField(source, category, path)));
+    }
+
+    public void markDone(Source source, Category category, String path) {
+        String field = createField(source, category, path);
+        redisTemplate.opsForSet().add(DONE_KEY, field);
+        redisTemplate.opsForHash().delete(PAGES_KEY, field);
+    }
+
+    private String createField(Source source, Category category, String path) {
+        String safePath = URLEncoder.encode(path, StandardCharsets.UTF_8);
+        return source.name() + ":" + category.name() + ":" + safePath;
+    }
+
+}
@@ -0,0 +1,15 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+public interface CrawlLease extends AutoCloseable {
+
+    CrawlLease LOCAL = () -> {
+    };
+
+    default boolean isHeld() {
+        return true;
+    }
+
+    @Override
+    void close();
+
+}
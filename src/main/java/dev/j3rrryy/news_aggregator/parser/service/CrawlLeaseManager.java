@@ -0,0 +1,148 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class CrawlLeaseManager {
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+              return redis.call('pexpire', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+              return redis.call('del', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ParserProperties parserProperties;
+    private final ScheduledExecutorService heartbeatScheduler;
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    public CrawlLeaseManager(StringRedisTemplate redisTemplate, ParserProperties parserProperties) {
+        this(
+                redisTemplate,
+                parserProperties,
+                Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("crawl-lease-heartbeat").daemon().factory()
+                )
+        );
+    }
+
+    @VisibleForTesting
+    CrawlLeaseManager(
+            StringRedisTemplate redisTemplate,
+            ParserProperties parserProperties,
+            ScheduledExecutorService heartbeatScheduler
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.parserProperties = parserProperties;
+        this.heartbeatScheduler = heartbeatScheduler;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+    }
+
+    public Optional<CrawlLease> tryAcquire(Source source, Category category, String path) {
+        if (!parserProperties.isClusterEnabled()) return Optional.of(CrawlLease.LOCAL);
+
+        String key = createKey(source, category, path);
+        String token = nodeId + ":" + UUID.randomUUID();
+        Duration ttl = parserProperties.getLeaseTtl();
+
+        long requestedAt = System.nanoTime();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, token, ttl);
+        if (!Boolean.TRUE.equals(acquired)) return Optional.empty();
+
+        AtomicBoolean held = new AtomicBoolean(true);
+        AtomicLong renewedAt = new AtomicLong(requestedAt);
+        long renewMillis = Math.max(ttl.toMillis() / 3, 1);
+        ScheduledFuture<?> heartbeat = heartbeatScheduler.scheduleAtFixedRate(
+                () -> heartbeat(key, token, ttl, held, renewedAt), renewMillis, renewMillis, TimeUnit.MILLISECONDS
+        );
+        return Optional.of(new CrawlLease() {
+            @Override
+            public boolean isHeld() {
+                if (held.get() && System.nanoTime() - renewedAt.get() >= ttl.toNanos()) {
+                    log.warn("Lease {} was not renewed within {}, another node may take the path over", key, ttl);
+                    held.set(false);
+                }
+                return held.get();
+            }
+
+            @Override
+            public void close() {
+                heartbeat.cancel(false);
+                if (held.getAndSet(false)) release(key, token);
+            }
+        });
+    }
+
+    private void heartbeat(String key, String token, Duration ttl, AtomicBoolean held, AtomicLong renewedAt) {
+        if (!held.get()) return;
+
+        long attemptedAt = System.nanoTime();
+        try {
+            if (renew(key, token, ttl)) renewedAt.set(attemptedAt);
+            else held.set(false);
+        } catch (Exception e) {
+            log.warn("Could not renew lease {}", key, e);
+        }
+    }
+
+    @VisibleForTesting
+    boolean renew(String key, String token, Duration ttl) {
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(key), token, String.valueOf(ttl.toMillis()));
+        if (renewed != null && renewed > 0) return true;
+        log.warn("Lease {} was lost, another node may take the path over", key);
+        return false;
+    }
+
+    private void release(String key, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key), token);
+        } catch (Exception e) {
+            log.warn("Could not release lease {}, it will expire on its own", key, e);
+        }
+    }
+
+    private String createKey(Source source, Category category, String path) {
+        String safePath = URLEncoder.encode(path, StandardCharsets.UTF_8);
+        return "lease:" + source.name() + ":" + category.name() + ":" + safePath;
+    }
+
+}
@@ -0,0 +1,298 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import dev.j3rrryy.news_aggregator.enums.CrawlPriority;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserConfig;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@RequiredArgsConstructor
+public class CrawlScheduler {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final Comparator<Ticket> TICKET_ORDER = Comparator
+            .comparing((Ticket ticket) -> ticket.priority)
+            .thenComparing(ticket -> ticket.deadlineNanos, CrawlScheduler::compareDeadlines)
+            .thenComparingLong(ticket -> ticket.sequence);
+
+    private final ParserProperties parserProperties;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Source, Host> hostsBySource = new EnumMap<>(Source.class);
+    private final List<Host> hosts = new ArrayList<>();
+
+    private int cursor;
+    private int inFlight;
+    private long sequence;
+    private Ticket dispatcher;
+    private long nextPermitNanos = Long.MAX_VALUE;
+
+    public boolean acquire(
+            AdaptiveRateLimiter rateLimiter, CrawlPriority priority, Instant deadline
+    ) throws InterruptedException {
+        Duration timeout = deadline != null
+                ? Duration.between(Instant.now(), deadline)
+                : parserProperties.getCrawlQueueTimeouts().get(priority);
+        long enqueuedAt = System.nanoTime();
+        long deadlineNanos = timeout == null ? NO_DEADLINE : enqueuedAt + Math.max(timeout.toNanos(), 0);
+
+        lock.lock();
+        try {
+            Host host = host(rateLimiter.getSource());
+            Ticket ticket = new Ticket(
+                    rateLimiter, priority, enqueuedAt, deadlineNanos, sequence++, lock.newCondition()
+            );
+            host.queue.add(ticket);
+
+            try {
+                while (true) {
+                    dispatch();
+                    if (ticket.granted) return true;
+
+                    long remaining = ticket.remainingNanos();
+                    if (remaining <= 0) {
+                        if (host.queue.remove(ticket)) host.expired++;
+                        return false;
+                    }
+                    if (dispatcher == null && nextPermitNanos != Long.MAX_VALUE) dispatcher = ticket;
+                    long wait = dispatcher == ticket ? Math.min(nextPermitNanos, remaining) : remaining;
+                    ticket.wakeUp.awaitNanos(wait);
+                }
+            } catch (InterruptedException e) {
+                if (ticket.granted) release(rateLimiter.getSource());
+                else host.queue.remove(ticket);
+                throw e;
+            } finally {
+                if (dispatcher == ticket) {
+                    dispatcher = null;
+                    dispatch();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(Source source) {
+        lock.lock();
+        try {
+            Host host = host(source);
+            inFlight--;
+            host.inFlight--;
+            host.trackSaturation(maxConcurrentRequests(source));
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void setMaxConcurrentRequests(Source source, int maxConcurrentRequests) {
+        lock.lock();
+        try {
+            ParserConfig config = parserProperties.getConfigs().get(source);
+            if (config == null) return;
+
+            config.setMaxConcurrentRequests(maxConcurrentRequests);
+            host(source).trackSaturation(maxConcurrentRequests);
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onHostConcurrencyChanged(HostConcurrencyChangedEvent event) {
+        setMaxConcurrentRequests(event.source(), event.maxConcurrentRequests());
+    }
+
+    public List<HostStats> getHostStats() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            return parserProperties.getConfigs().keySet().stream()
+                    .map(source -> host(source).stats(maxConcurrentRequests(source), now))
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    int getQueued() {
+        lock.lock();
+        try {
+            return hosts.stream().mapToInt(host -> host.queue.size()).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch() {
+        int maxConcurrentRequests = parserProperties.getCrawlMaxConcurrentRequests();
+        boolean granted = true;
+        Ticket rateLimited = null;
+        nextPermitNanos = Long.MAX_VALUE;
+        while (granted && inFlight < maxConcurrentRequests) {
+            granted = false;
+            for (int i = 0; i < hosts.size() && inFlight < maxConcurrentRequests; i++) {
+                Host host = hosts.get(cursor);
+                cursor = (cursor + 1) % hosts.size();
+
+                Ticket next = host.queue.peek();
+                while (next != null && next.remainingNanos() <= 0) {
+                    host.queue.poll();
+                    host.expired++;
+                    next = host.queue.peek();
+                }
+                if (next == null) continue;
+
+                int hostLimit = maxConcurrentRequests(host.source);
+                if (hostLimit > 0 && host.inFlight >= hostLimit) continue;
+                if (!next.rateLimiter.tryAcquire()) {
+                    long untilPermit = next.rateLimiter.nanosUntilPermit();
+                    if (untilPermit < nextPermitNanos) {
+                        nextPermitNanos = untilPermit;
+                        rateLimited = next;
+                    }
+                    continue;
+                }
+
+                host.queue.poll();
+                next.granted = true;
+                inFlight++;
+                host.grant(next, hostLimit);
+                next.wakeUp.signal();
+                granted = true;
+            }
+        }
+        if (inFlight >= maxConcurrentRequests) {
+            rateLimited = null;
+            nextPermitNanos = Long.MAX_VALUE;
+        }
+        if (dispatcher == null && rateLimited != null) rateLimited.wakeUp.signal();
+    }
+
+    private Host host(Source source) {
+        return hostsBySource.computeIfAbsent(source, s -> {
+            Host host = new Host(s);
+            hosts.add(host);
+            return host;
+        });
+    }
+
+    private int maxConcurrentRequests(Source source) {
+        ParserConfig config = parserProperties.getConfigs().get(source);
+        return config == null ? 0 : config.getMaxConcurrentRequests();
+    }
+
+    private static int compareDeadlines(long first, long second) {
+        if (first == second) return 0;
+        if (first == NO_DEADLINE) return 1;
+        if (second == NO_DEADLINE) return -1;
+        return Long.signum(first - second);
+    }
+
+    public record HostStats(
+            Source source,
+            int maxConcurrentRequests,
+            int inFlight,
+            int queued,
+            long granted,
+            long expired,
+            Duration averageWait,
+            Duration maxWait,
+            double saturation
+    ) {
+    }
+
+    @RequiredArgsConstructor
+    private static final class Host {
+
+        private final Source source;
+        private final Queue<Ticket> queue = new PriorityQueue<>(TICKET_ORDER);
+        private final long createdAt = System.nanoTime();
+
+        private int inFlight;
+        private long granted;
+        private long expired;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+        private long saturatedNanos;
+        private long saturatedSince;
+        private boolean saturated;
+
+        private void grant(Ticket ticket, int limit) {
+            long wait = System.nanoTime() - ticket.enqueuedAt;
+            inFlight++;
+            granted++;
+            totalWaitNanos += wait;
+            maxWaitNanos = Math.max(maxWaitNanos, wait);
+            trackSaturation(limit);
+        }
+
+        private void trackSaturation(int limit) {
+            boolean atLimit = limit > 0 && inFlight >= limit;
+            if (atLimit == saturated) return;
+
+            long now = System.nanoTime();
+            if (atLimit) saturatedSince = now;
+            else saturatedNanos += now - saturatedSince;
+            saturated = atLimit;
+        }
+
+        private HostStats stats(int limit, long now) {
+            long saturatedTotal = saturatedNanos + (saturated ? now - saturatedSince : 0);
+            return new HostStats(
+                    source,
+                    limit,
+                    inFlight,
+                    queue.size(),
+                    granted,
+                    expired,
+                    Duration.ofNanos(granted == 0 ? 0 : totalWaitNanos / granted),
+                    Duration.ofNanos(maxWaitNanos),
+                    (double) saturatedTotal / Math.max(now - createdAt, 1)
+            );
+        }
+
+    }
+
+    @RequiredArgsConstructor
+    private static final class Ticket {
+
+        private final AdaptiveRateLimiter rateLimiter;
+        private final CrawlPriority priority;
+        private final long enqueuedAt;
+        private final long deadlineNanos;
+        private final long sequence;
+        private final Condition wakeUp;
+
+        private boolean granted;
+
+        private long remainingNanos() {
+            return deadlineNanos == NO_DEADLINE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+        }
+
+    }
+
+}
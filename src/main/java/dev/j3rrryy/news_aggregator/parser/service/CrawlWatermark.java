@@ -0,0 +1,29 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.entity.NewsArticle;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public record CrawlWatermark(LocalDateTime latestPublishedAt, Set<String> latestUrls) {
+
+    public static final CrawlWatermark NONE = new CrawlWatermark(null, Set.of());
+
+    public Set<String> withoutSeen(Set<String> urls) {
+        if (latestUrls.isEmpty()) return urls;
+
+        Set<String> unseen = new LinkedHashSet<>(urls);
+        unseen.removeAll(latestUrls);
+        return unseen;
+    }
+
+    public boolean isNewer(NewsArticle article) {
+        if (latestPublishedAt == null) return true;
+
+        LocalDateTime publishedAt = article.getPublishedAt();
+        return publishedAt.isAfter(latestPublishedAt)
+                || publishedAt.isEqual(latestPublishedAt) && !latestUrls.contains(article.getUrl());
+    }
+
+}
@@ -0,0 +1,7 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.enums.Source;
+
+public record HostConcurrencyChangedEvent(Source source, int maxConcurrentRequests) {
+
+}
@@ -0,0 +1,132 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import dev.j3rrryy.news_aggregator.entity.NewsArticle;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IngestBuffer {
+
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ParsingService parsingService;
+    private final ParserProperties parserProperties;
+
+    private BlockingQueue<PendingBatch> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(parserProperties.getIngestQueueCapacity(), 1));
+        running = true;
+        writer = Thread.ofPlatform().name("ingest-writer").daemon().start(this::runWriter);
+    }
+
+    public int save(List<NewsArticle> articles) {
+        return submit(articles).join();
+    }
+
+    public CompletableFuture<Integer> submit(List<NewsArticle> articles) {
+        if (articles.isEmpty()) return CompletableFuture.completedFuture(0);
+        if (!running) {
+            return CompletableFuture.completedFuture(countSaved(articles, parsingService.saveArticles(articles)));
+        }
+
+        PendingBatch pending = new PendingBatch(articles, new CompletableFuture<>());
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!running) flush();
+        return pending.result();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) writer.join(parserProperties.getIngestShutdownTimeout().toMillis());
+        flush();
+    }
+
+    @VisibleForTesting
+    void flush() {
+        if (queue == null) return;
+        List<PendingBatch> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) write(remaining);
+    }
+
+    private void runWriter() {
+        long flushIntervalNanos = parserProperties.getIngestFlushInterval().toNanos();
+        int batchSize = parserProperties.getIngestBatchSize();
+        List<PendingBatch> batch = new ArrayList<>();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingBatch first = queue.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                int size = first.articles().size();
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (size < batchSize && running) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+
+                    PendingBatch next = queue.poll(Math.min(remaining, POLL_NANOS), TimeUnit.NANOSECONDS);
+                    if (next == null) continue;
+                    batch.add(next);
+                    size += next.articles().size();
+                }
+            } catch (InterruptedException e) {
+                running = false;
+                queue.drainTo(batch);
+            }
+
+            if (!batch.isEmpty()) write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingBatch> batch) {
+        List<NewsArticle> articles = batch.stream()
+                .flatMap(pending -> pending.articles().stream())
+                .toList();
+        try {
+            Set<String> savedUrls = parsingService.saveArticles(articles);
+            log.debug("Flushed {} articles from {} pages, {} new", articles.size(), batch.size(), savedUrls.size());
+            batch.forEach(pending -> pending.result().complete(countSaved(pending.articles(), savedUrls)));
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                log.error("Flushing {} articles failed", articles.size(), e);
+                batch.getFirst().result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Flushing {} merged pages failed, retrying each page separately", batch.size(), e);
+            batch.forEach(pending -> write(List.of(pending)));
+        }
+    }
+
+    private static int countSaved(List<NewsArticle> articles, Set<String> savedUrls) {
+        return (int) articles.stream().filter(article -> savedUrls.contains(article.getUrl())).count();
+    }
+
+    private record PendingBatch(List<NewsArticle> articles, CompletableFuture<Integer> result) {
+    }
+
+}
@@ -0,0 +1,6 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import java.util.Set;
+
+public record IngestResult(int saved, Set<String> settledUrls) {
+}
@@ -0,0 +1,89 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.repository.NewsArticleBatchRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KnownUrlIndex {
+
+    private final ExecutorService ioExecutor;
+    private final ParserProperties parserProperties;
+    private final NewsArticleBatchRepository newsArticleBatchRepository;
+
+    private volatile BloomFilter<CharSequence> filter;
+    private volatile long capacity;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        ioExecutor.execute(this::rebuild);
+    }
+
+    public Set<String> filterUnknown(Set<String> urls) {
+        if (urls.isEmpty()) return urls;
+
+        BloomFilter<CharSequence> current = filter;
+        Set<String> candidates = ready
+                ? urls.stream().filter(current::mightContain).collect(Collectors.toSet())
+                : urls;
+        if (candidates.isEmpty()) return urls;
+
+        Set<String> existing = newsArticleBatchRepository.findExistingUrls(candidates);
+        if (existing.isEmpty()) return urls;
+
+        Set<String> unknown = new LinkedHashSet<>(urls);
+        unknown.removeAll(existing);
+        return unknown;
+    }
+
+    public void addAll(Collection<String> urls) {
+        BloomFilter<CharSequence> current = filter;
+        if (current == null) return;
+
+        urls.forEach(current::put);
+        if (ready && current.approximateElementCount() > capacity) {
+            ready = false;
+            log.warn("Known URL index exceeded its expected size, rebuilding");
+            ioExecutor.execute(this::rebuild);
+        }
+    }
+
+    @VisibleForTesting
+    synchronized void rebuild() {
+        ready = false;
+        try {
+            long expectedInsertions = Math.max(
+                    parserProperties.getKnownUrlsExpectedInsertions(),
+                    newsArticleBatchRepository.countUrls() * 2
+            );
+            BloomFilter<CharSequence> rebuilt = BloomFilter.create(
+                    Funnels.stringFunnel(StandardCharsets.UTF_8),
+                    expectedInsertions,
+                    parserProperties.getKnownUrlsFalsePositiveRate()
+            );
+            filter = rebuilt;
+            newsArticleBatchRepository.forEachUrl(rebuilt::put);
+
+            capacity = expectedInsertions;
+            ready = true;
+            log.info("Known URL index warmed up with ~{} URLs", rebuilt.approximateElementCount());
+        } catch (Exception e) {
+            log.error("Could not warm up the known URL index, falling back to exact lookups", e);
+        }
+    }
+
+}
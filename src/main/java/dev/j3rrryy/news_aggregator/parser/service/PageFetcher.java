@@ -3,18 +3,35 @@ package dev.j3rrryy.news_aggregator.parser.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.util.concurrent.RateLimiter;
+import dev.j3rrryy.news_aggregator.enums.CrawlPriority;
+import dev.j3rrryy.news_aggregator.exceptions.PageThrottledException;
+import dev.j3rrryy.news_aggregator.parser.archive.ArchiveOrigin;
+import dev.j3rrryy.news_aggregator.parser.archive.PageArchive;
+import dev.j3rrryy.news_aggregator.parser.fetch.FetchEngine;
+import dev.j3rrryy.news_aggregator.parser.fetch.FetchRequest;
+import dev.j3rrryy.news_aggregator.parser.fetch.FetchResponse;
+import dev.j3rrryy.news_aggregator.parser.fetch.PageValidators;
+import dev.j3rrryy.news_aggregator.parser.fetch.StreamedResponse;
+import dev.j3rrryy.news_aggregator.parser.fetch.ValidatorStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.springframework.stereotype.Component;
 
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
@@ -32,60 +49,154 @@ public class PageFetcher {
             "Upgrade-Insecure-Requests", "1",
             "Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,image/apng,*/*;q=0.8"
     );
-    private static final Semaphore ioSemaphore = new Semaphore(50);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, PageValidators> pendingValidators = new ConcurrentHashMap<>();
+    private final PageArchive pageArchive;
+    private final FetchEngine fetchEngine;
+    private final ValidatorStore validatorStore;
+    private final CrawlScheduler crawlScheduler;
     private final UserAgentProvider userAgentProvider;
     private final ParsingStatusManager parsingStatusManager;
 
-    public Optional<Document> downloadPage(Callable<Document> pageLoader, String urlForLog, RateLimiter rateLimiter) {
-        boolean stopRequested = parsingStatusManager.isStopRequested();
+    public Optional<Document> downloadPage(
+            Callable<Document> pageLoader,
+            String urlForLog,
+            AdaptiveRateLimiter rateLimiter,
+            CrawlPriority priority,
+            Instant deadline
+    ) {
+        if (parsingStatusManager.isStopRequested()) return Optional.empty();
+
+        boolean scheduled = false;
         try {
-            ioSemaphore.acquire();
-            rateLimiter.acquire();
+            scheduled = crawlScheduler.acquire(rateLimiter, priority, deadline);
+            if (!scheduled) {
+                log.warn("Download from {} missed its deadline in the crawl queue", urlForLog.trim());
+                return Optional.empty();
+            }
 
-            if (stopRequested || isThreadInterrupted()) return Optional.empty();
+            if (isThreadInterrupted()) return Optional.empty();
 
+            long start = System.nanoTime();
             Document doc = pageLoader.call();
+            rateLimiter.onSuccess(Duration.ofNanos(System.nanoTime() - start));
             return Optional.of(doc);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return Optional.empty();
+        } catch (PageThrottledException e) {
+            rateLimiter.onThrottle(e.getRetryAfter());
+            log.warn("Download from {} failed: {}", urlForLog.trim(), e.getMessage());
+            return Optional.empty();
+        } catch (SocketTimeoutException | HttpTimeoutException e) {
+            rateLimiter.onTimeout();
+            log.warn("Download from {} timed out: {}", urlForLog.trim(), e.getMessage());
+            return Optional.empty();
         } catch (Exception e) {
             log.warn("Download from {} failed: {}", urlForLog.trim(), e.getMessage());
             return Optional.empty();
         } finally {
-            ioSemaphore.release();
+            if (scheduled) crawlScheduler.release(rateLimiter.getSource());
         }
     }
 
     public Callable<Document> fetchGet(String url) {
-        return () -> Jsoup.connect(url)
-                .userAgent(userAgentProvider.getNextUserAgent())
-                .timeout(45_000)
-                .headers(headers)
-                .get();
+        return fetchGet(url, null);
+    }
+
+    public Callable<Document> fetchGet(String url, ArchiveOrigin origin) {
+        return () -> {
+            FetchResponse response = fetchEngine.execute(FetchRequest.get(url, requestHeaders(Map.of())));
+            checkStatus(response);
+            pageArchive.append(response, origin);
+            return response.parse();
+        };
+    }
+
+    public Callable<Document> fetchStreamed(String url, String endSelector, ArchiveOrigin origin) {
+        return () -> {
+            try (StreamedResponse response = fetchEngine.open(FetchRequest.get(url, requestHeaders(Map.of())))) {
+                checkStatus(response.statusCode(), response.url(), response.header("Retry-After"));
+                Document doc = response.parseStreaming(endSelector);
+                pageArchive.append(response.toFetchResponse(), origin);
+                return doc;
+            }
+        };
+    }
+
+    public Callable<Document> fetchConditionalGet(String url) {
+        return () -> {
+            Map<String, String> conditionalHeaders = validatorStore.get(url)
+                    .map(PageValidators::toRequestHeaders)
+                    .orElse(Map.of());
+            FetchResponse response = fetchEngine.execute(FetchRequest.get(url, requestHeaders(conditionalHeaders)));
+
+            if (response.statusCode() == 304) {
+                log.debug("Listing {} is not modified", url.trim());
+                return Document.createShell(response.url());
+            }
+            checkStatus(response);
+            pageArchive.append(response, null);
+
+            PageValidators validators = PageValidators.from(response);
+            if (!validators.isEmpty()) pendingValidators.put(url, validators);
+            return response.parse();
+        };
+    }
+
+    public void confirmValidators(String url) {
+        PageValidators validators = pendingValidators.remove(url);
+        if (validators != null) validatorStore.put(url, validators);
     }
 
     public Callable<Document> fetchPost(String url, String body) {
         return () -> {
-            String json = Jsoup.connect(url)
-                    .userAgent(userAgentProvider.getNextUserAgent())
-                    .timeout(45_000)
-                    .headers(headers)
-                    .header("X-Requested-With", "XMLHttpRequest")
-                    .method(Connection.Method.POST)
-                    .requestBody(body)
-                    .ignoreContentType(true)
-                    .execute()
-                    .body();
-
-            String html = new ObjectMapper().readValue(json, new TypeReference<Map<String, Object>>() {
+            Map<String, String> ajaxHeaders = Map.of("X-Requested-With", "XMLHttpRequest");
+            FetchResponse response = fetchEngine.execute(FetchRequest.post(url, body, requestHeaders(ajaxHeaders)));
+            checkStatus(response);
+
+            String html = objectMapper.readValue(response.bodyAsString(), new TypeReference<Map<String, Object>>() {
                     })
                     .get("data")
                     .toString();
-            return Jsoup.parse(html);
+            return Jsoup.parse(html, response.url());
         };
     }
 
+    private Map<String, String> requestHeaders(Map<String, String> extraHeaders) {
+        Map<String, String> requestHeaders = new HashMap<>(headers);
+        requestHeaders.putAll(extraHeaders);
+        requestHeaders.put("User-Agent", userAgentProvider.getNextUserAgent());
+        return requestHeaders;
+    }
+
+    private void checkStatus(FetchResponse response) throws HttpStatusException {
+        checkStatus(response.statusCode(), response.url(), response.header("Retry-After"));
+    }
+
+    private void checkStatus(int status, String url, String retryAfter) throws HttpStatusException {
+        if (status == 429 || status == 503) {
+            throw new PageThrottledException(url, status, parseRetryAfter(retryAfter));
+        }
+        if (status >= 400) throw new HttpStatusException("HTTP error fetching URL", status, url);
+    }
+
+    @VisibleForTesting
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration delay = Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt);
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
     @VisibleForTesting
     boolean isThreadInterrupted() {
         return Thread.interrupted();
@@ -0,0 +1,244 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.enums.ControlCommand;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParserControlPlane implements MessageListener {
+
+    public static final String CHANNEL = "parser:control";
+
+    private static final String STATE_KEY = "parser:control:state";
+    private static final String RUNNING_KEY = "parser:running";
+    private static final String SOURCE_FIELD_PREFIX = "source:";
+    private static final String AUTO_PARSING_ENABLED_FIELD = "autoParsingEnabled";
+    private static final String AUTO_PARSING_INTERVAL_FIELD = "autoParsingInterval";
+    private static final String HEAD_POLLING_ENABLED_FIELD = "headPollingEnabled";
+    private static final String MAX_CONCURRENT_REQUESTS_FIELD_PREFIX = "maxConcurrentRequests:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ParserProperties parserProperties;
+    private final CrawlLeaseManager crawlLeaseManager;
+    private final ParsingStatusManager parsingStatusManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private ScheduledExecutorService heartbeatScheduler;
+
+    @PostConstruct
+    public void init() {
+        if (!parserProperties.isClusterEnabled()) return;
+
+        seedSharedState();
+        applySourceStatuses();
+        applyAutoParsing();
+        applyHeadPolling();
+        applyHostConcurrency();
+
+        long heartbeatMillis = Math.max(parserProperties.getLeaseTtl().toMillis() / 3, 1);
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("parser-control-heartbeat").daemon().factory()
+        );
+        heartbeatScheduler.scheduleAtFixedRate(this::reportRunning, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (heartbeatScheduler == null) return;
+        heartbeatScheduler.shutdownNow();
+        redisTemplate.opsForZSet().remove(RUNNING_KEY, crawlLeaseManager.getNodeId());
+    }
+
+    public boolean isParsingInProgressElsewhere() {
+        if (!parserProperties.isClusterEnabled()) return false;
+
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().removeRangeByScore(RUNNING_KEY, Double.NEGATIVE_INFINITY, now);
+        Long running = redisTemplate.opsForZSet().count(RUNNING_KEY, now, Double.POSITIVE_INFINITY);
+        Double own = redisTemplate.opsForZSet().score(RUNNING_KEY, crawlLeaseManager.getNodeId());
+        return running != null && running - (own != null ? 1 : 0) > 0;
+    }
+
+    public void markRunning() {
+        if (parserProperties.isClusterEnabled()) reportRunning();
+    }
+
+    public void publishStop() {
+        publish(ControlCommand.STOP);
+    }
+
+    public void publishSourceStatuses(Map<Source, Boolean> sourceStatuses) {
+        if (!parserProperties.isClusterEnabled()) return;
+
+        Map<String, String> fields = new HashMap<>();
+        sourceStatuses.forEach((source, enabled) -> fields.put(SOURCE_FIELD_PREFIX + source.name(), enabled.toString()));
+        redisTemplate.opsForHash().putAll(STATE_KEY, fields);
+        publish(ControlCommand.SOURCE_STATUSES);
+    }
+
+    public void publishAutoParsing() {
+        if (!parserProperties.isClusterEnabled()) return;
+
+        redisTemplate.opsForHash().putAll(STATE_KEY, autoParsingFields());
+        publish(ControlCommand.AUTO_PARSING);
+    }
+
+    public void publishHeadPolling() {
+        if (!parserProperties.isClusterEnabled()) return;
+
+        redisTemplate.opsForHash().put(STATE_KEY, HEAD_POLLING_ENABLED_FIELD, headPollingField());
+        publish(ControlCommand.HEAD_POLLING);
+    }
+
+    public void publishHostConcurrency(Source source, int maxConcurrentRequests) {
+        if (!parserProperties.isClusterEnabled()) return;
+
+        redisTemplate.opsForHash().put(
+                STATE_KEY, MAX_CONCURRENT_REQUESTS_FIELD_PREFIX + source.name(), String.valueOf(maxConcurrentRequests)
+        );
+        publish(ControlCommand.HOST_CONCURRENCY);
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 2);
+        if (parts.length < 2 || parts[1].equals(crawlLeaseManager.getNodeId())) return;
+
+        try {
+            switch (ControlCommand.valueOf(parts[0])) {
+                case STOP -> {
+                    if (parsingStatusManager.isParsingInProgress()) parsingStatusManager.requestStop();
+                }
+                case SOURCE_STATUSES -> applySourceStatuses();
+                case AUTO_PARSING -> {
+                    applyAutoParsing();
+                    eventPublisher.publishEvent(new AutoParsingChangedEvent(parserProperties.isAutoParsingEnabled()));
+                }
+                case HEAD_POLLING -> {
+                    applyHeadPolling();
+                    eventPublisher.publishEvent(new HeadPollingChangedEvent(parserProperties.isHeadPollingEnabled()));
+                }
+                case HOST_CONCURRENCY -> applyHostConcurrency().forEach((source, maxConcurrentRequests) ->
+                        eventPublisher.publishEvent(new HostConcurrencyChangedEvent(source, maxConcurrentRequests)));
+            }
+            log.info("Applied {} from node {}", parts[0], parts[1]);
+        } catch (Exception e) {
+            log.warn("Could not apply control message {}", parts[0], e);
+        }
+    }
+
+    private void publish(ControlCommand command) {
+        if (!parserProperties.isClusterEnabled()) return;
+        redisTemplate.convertAndSend(CHANNEL, command.name() + ":" + crawlLeaseManager.getNodeId());
+    }
+
+    private void reportRunning() {
+        try {
+            String nodeId = crawlLeaseManager.getNodeId();
+            if (parsingStatusManager.isParsingInProgress()) {
+                long expiresAt = System.currentTimeMillis() + parserProperties.getLeaseTtl().toMillis();
+                redisTemplate.opsForZSet().add(RUNNING_KEY, nodeId, expiresAt);
+            } else {
+                redisTemplate.opsForZSet().remove(RUNNING_KEY, nodeId);
+            }
+        } catch (Exception e) {
+            log.warn("Could not report parsing status to the cluster", e);
+        }
+    }
+
+    private void seedSharedState() {
+        HashOperations<String, String, String> ops = redisTemplate.opsForHash();
+        parserProperties.getSourceStatuses().forEach((source, enabled) ->
+                ops.putIfAbsent(STATE_KEY, SOURCE_FIELD_PREFIX + source.name(), enabled.toString()));
+        autoParsingFields().forEach((field, value) -> ops.putIfAbsent(STATE_KEY, field, value));
+        ops.putIfAbsent(STATE_KEY, HEAD_POLLING_ENABLED_FIELD, headPollingField());
+        parserProperties.getConfigs().forEach((source, config) -> ops.putIfAbsent(
+                STATE_KEY,
+                MAX_CONCURRENT_REQUESTS_FIELD_PREFIX + source.name(),
+                String.valueOf(config.getMaxConcurrentRequests())
+        ));
+    }
+
+    private void applySourceStatuses() {
+        HashOperations<String, String, String> ops = redisTemplate.opsForHash();
+        Map<String, String> state = ops.entries(STATE_KEY);
+        Map<Source, Boolean> sourceStatuses = new EnumMap<>(Source.class);
+        sourceStatuses.putAll(parserProperties.getSourceStatuses());
+
+        for (Source source : Source.values()) {
+            String enabled = state.get(SOURCE_FIELD_PREFIX + source.name());
+            if (enabled != null) sourceStatuses.put(source, Boolean.parseBoolean(enabled));
+        }
+        parserProperties.setSourceStatuses(sourceStatuses);
+    }
+
+    private void applyAutoParsing() {
+        HashOperations<String, String, String> ops = redisTemplate.opsForHash();
+        Map<String, String> state = ops.entries(STATE_KEY);
+
+        String interval = state.get(AUTO_PARSING_INTERVAL_FIELD);
+        if (interval != null && !interval.isEmpty()) parserProperties.setAutoParsingInterval(Duration.parse(interval));
+
+        String enabled = state.get(AUTO_PARSING_ENABLED_FIELD);
+        if (enabled != null) parserProperties.setAutoParsingEnabled(Boolean.parseBoolean(enabled));
+    }
+
+    private void applyHeadPolling() {
+        HashOperations<String, String, String> ops = redisTemplate.opsForHash();
+        String enabled = ops.entries(STATE_KEY).get(HEAD_POLLING_ENABLED_FIELD);
+        if (enabled != null) parserProperties.setHeadPollingEnabled(Boolean.parseBoolean(enabled));
+    }
+
+    private Map<Source, Integer> applyHostConcurrency() {
+        HashOperations<String, String, String> ops = redisTemplate.opsForHash();
+        Map<String, String> state = ops.entries(STATE_KEY);
+        Map<Source, Integer> changed = new EnumMap<>(Source.class);
+
+        parserProperties.getConfigs().forEach((source, config) -> {
+            String value = state.get(MAX_CONCURRENT_REQUESTS_FIELD_PREFIX + source.name());
+            if (value == null) return;
+
+            int maxConcurrentRequests = Integer.parseInt(value);
+            if (maxConcurrentRequests != config.getMaxConcurrentRequests()) {
+                config.setMaxConcurrentRequests(maxConcurrentRequests);
+                changed.put(source, maxConcurrentRequests);
+            }
+        });
+        return changed;
+    }
+
+    private String headPollingField() {
+        return String.valueOf(parserProperties.isHeadPollingEnabled());
+    }
+
+    private Map<String, String> autoParsingFields() {
+        Duration interval = parserProperties.getAutoParsingInterval();
+        return Map.of(
+                AUTO_PARSING_ENABLED_FIELD, String.valueOf(parserProperties.isAutoParsingEnabled()),
+                AUTO_PARSING_INTERVAL_FIELD, interval != null ? interval.toString() : ""
+        );
+    }
+
+}
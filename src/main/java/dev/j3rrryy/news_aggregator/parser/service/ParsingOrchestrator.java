@@ -1,17 +1,22 @@
 package dev.j3rrryy.news_aggregator.parser.service;
 
-import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.ParsingOutcome;
 import dev.j3rrryy.news_aggregator.enums.Source;
 import dev.j3rrryy.news_aggregator.parser.NewsParser;
 import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 @Slf4j
 @Component
@@ -19,30 +24,92 @@ import java.util.Map;
 public class ParsingOrchestrator {
 
     private final List<NewsParser> parsers;
+    private final ExecutorService ioExecutor;
     private final ParsingService parsingService;
     private final ParserProperties parserProperties;
     private final ParsingStatusManager parsingStatusManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Async
-    public void runAsyncParsing() {
+    public void runAsyncParsing(Set<Source> sources) {
         try {
-            parsingService.prepareForParsing();
-            Map<Source, Map<Category, LocalDateTime>> latestPublishedAt =
-                    parsingService.getLatestPublishedAtByCategoryAndSource();
+            parsingService.prepareForParsing(sources);
+            parsingStatusManager.resetCounters(sources);
             Map<Source, Boolean> sourceStatuses = parserProperties.getSourceStatuses();
+            List<NewsParser> selected = parsers.stream()
+                    .filter(parser -> sources.contains(parser.getSource()))
+                    .toList();
 
-            for (NewsParser parser : parsers) {
-                Source source = parser.getSource();
-                if (!parsingStatusManager.isStopRequested() && sourceStatuses.get(source)) {
-                    log.info("Parsing news from {}...", source);
-                    parser.parse(latestPublishedAt.get(source));
-                    log.info("Parsing from {} completed", source);
-                }
+            Map<Source, ParsingOutcome> outcomes = parserProperties.isConcurrentSources()
+                    ? runConcurrently(selected, sourceStatuses)
+                    : runSequentially(selected, sourceStatuses);
+            log.info("Parsing finished: {}", outcomes);
+        } finally {
+            parsingStatusManager.stopParsing(sources);
+        }
+    }
+
+    private Map<Source, ParsingOutcome> runSequentially(List<NewsParser> parsers, Map<Source, Boolean> sourceStatuses) {
+        Map<Source, ParsingOutcome> outcomes = new EnumMap<>(Source.class);
+        for (NewsParser parser : parsers) {
+            outcomes.put(parser.getSource(), runParser(parser, sourceStatuses));
+        }
+        return outcomes;
+    }
+
+    private Map<Source, ParsingOutcome> runConcurrently(List<NewsParser> parsers, Map<Source, Boolean> sourceStatuses) {
+        Map<Source, CompletableFuture<ParsingOutcome>> futures = new EnumMap<>(Source.class);
+        for (NewsParser parser : parsers) {
+            futures.put(parser.getSource(), CompletableFuture.supplyAsync(
+                    () -> runParser(parser, sourceStatuses), ioExecutor
+            ));
+        }
+
+        Map<Source, ParsingOutcome> outcomes = new EnumMap<>(Source.class);
+        futures.forEach((source, future) -> {
+            try {
+                outcomes.put(source, future.join());
+            } catch (Exception e) {
+                log.error("Parsing from {} failed", source, e);
+                outcomes.put(source, ParsingOutcome.FAILED);
             }
+        });
+        return outcomes;
+    }
+
+    private ParsingOutcome runParser(NewsParser parser, Map<Source, Boolean> sourceStatuses) {
+        ParsingOutcome outcome = parseSource(parser, sourceStatuses);
+        Source source = parser.getSource();
+        eventPublisher.publishEvent(new SourceParsedEvent(source, outcome, parsingStatusManager.getSavedArticles(source)));
+        return outcome;
+    }
+
+    private ParsingOutcome parseSource(NewsParser parser, Map<Source, Boolean> sourceStatuses) {
+        Source source = parser.getSource();
+        if (parsingStatusManager.isStopRequested()) return ParsingOutcome.STOPPED;
+        if (!sourceStatuses.getOrDefault(source, false)) return ParsingOutcome.SKIPPED;
+
+        long start = System.nanoTime();
+        try {
+            log.info("Parsing news from {}...", source);
+            parser.parse();
+        } catch (Exception e) {
+            log.error("Parsing from {} failed", source, e);
+            return ParsingOutcome.FAILED;
         } finally {
-            parsingStatusManager.stopParsing();
-            parsingStatusManager.resetStopRequest();
+            logThroughput(source, Duration.ofNanos(System.nanoTime() - start));
         }
+
+        if (parsingStatusManager.isStopRequested()) return ParsingOutcome.STOPPED;
+        log.info("Parsing from {} completed", source);
+        return ParsingOutcome.COMPLETED;
+    }
+
+    private void logThroughput(Source source, Duration elapsed) {
+        long saved = parsingStatusManager.getSavedArticles(source);
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        log.info("{} saved {} articles in {} ({} articles/s)",
+                source, saved, elapsed, String.format("%.2f", saved / seconds));
     }
 
 }
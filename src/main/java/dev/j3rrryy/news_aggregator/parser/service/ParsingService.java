@@ -3,6 +3,9 @@ package dev.j3rrryy.news_aggregator.parser.service;
 import dev.j3rrryy.news_aggregator.entity.NewsArticle;
 import dev.j3rrryy.news_aggregator.enums.Category;
 import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.dedup.DuplicateDetector;
+import dev.j3rrryy.news_aggregator.parser.dedup.DuplicateLinks;
 import dev.j3rrryy.news_aggregator.repository.NewsArticleBatchRepository;
 import dev.j3rrryy.news_aggregator.repository.NewsArticleRepository;
 import dev.j3rrryy.news_aggregator.service.v1.CacheManagerService;
@@ -12,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,39 +24,65 @@ public class ParsingService {
     private final CacheManagerService cacheManagerService;
     private final NewsArticleRepository newsArticleRepository;
     private final NewsArticleBatchRepository newsArticleBatchRepository;
+    private final KnownUrlIndex knownUrlIndex;
+    private final DuplicateDetector duplicateDetector;
+    private final ParserProperties parserProperties;
 
     @Transactional
-    public void prepareForParsing() {
-        cacheManagerService.clearAllCaches();
-        newsArticleRepository.updateAllNewToActive();
+    public void prepareForParsing(Set<Source> sources) {
+        if (sources.isEmpty()) return;
+        if (newsArticleRepository.updateNewToActiveBySources(sources) > 0) cacheManagerService.clearAllCaches();
     }
 
     @Transactional(readOnly = true)
-    public Map<Source, Map<Category, LocalDateTime>> getLatestPublishedAtByCategoryAndSource() {
-        List<Object[]> query = newsArticleRepository.findLatestPublishedAtByCategoryAndSource();
-        Map<Source, Map<Category, LocalDateTime>> result = new EnumMap<>(Source.class);
-
-        for (Source source : Source.values()) {
-            Map<Category, LocalDateTime> categoryMap = new EnumMap<>(Category.class);
-            for (Category category : Category.values()) {
-                Optional<Object[]> matchingRow = query.stream()
-                        .filter(res -> res[0] == source && res[1] == category)
-                        .findFirst();
-
-                LocalDateTime latestPublishedAt = matchingRow
-                        .map(res -> (LocalDateTime) res[2])
-                        .orElse(null);
-
-                categoryMap.put(category, latestPublishedAt);
-            }
-            result.put(source, categoryMap);
-        }
-        return result;
+    public Optional<CrawlWatermark> getWatermark(Source source, Category category, String path) {
+        return newsArticleBatchRepository.findWatermark(source, category, path)
+                .map(stored -> new CrawlWatermark(stored.latestPublishedAt(), stored.latestUrls()))
+                .or(() -> newsArticleRepository.findLatestPublishedAt(source, category)
+                        .map(latestPublishedAt -> new CrawlWatermark(latestPublishedAt, Set.of())));
+    }
+
+    @Transactional(readOnly = true)
+    public long countPublishedSince(Source source, LocalDateTime since) {
+        return newsArticleRepository.countBySourceAndPublishedAtAfter(source, since);
+    }
+
+    @Transactional
+    public Set<String> saveArticles(List<NewsArticle> articles) {
+        DuplicateLinks duplicateLinks = duplicateDetector.linkDuplicates(articles);
+        int copyThreshold = parserProperties.getCopyIngestThreshold();
+        Set<String> savedUrls = copyThreshold > 0 && articles.size() >= copyThreshold
+                ? newsArticleBatchRepository.copyAllBatch(articles)
+                : newsArticleBatchRepository.saveAllBatch(articles);
+        duplicateDetector.register(articles, duplicateLinks, savedUrls);
+        newsArticleBatchRepository.advanceWatermarks(articles.stream()
+                .filter(article -> savedUrls.contains(article.getUrl()))
+                .toList());
+        knownUrlIndex.addAll(articles.stream().map(NewsArticle::getUrl).toList());
+        return savedUrls;
     }
 
     @Transactional
-    public int saveArticles(List<NewsArticle> articles) {
-        return newsArticleBatchRepository.saveAllBatch(articles);
+    public int upsertArticles(List<NewsArticle> articles) {
+        Set<String> existingUrls = newsArticleBatchRepository.findExistingUrls(
+                articles.stream().map(NewsArticle::getUrl).toList()
+        );
+        Map<Boolean, List<NewsArticle>> byExistence = articles.stream()
+                .collect(Collectors.partitioningBy(article -> existingUrls.contains(article.getUrl())));
+
+        int updated = newsArticleBatchRepository.updateArticlesByUrl(byExistence.get(true));
+        List<NewsArticle> missing = byExistence.get(false);
+        int inserted = missing.isEmpty() ? 0 : saveArticles(missing).size();
+        if (updated + inserted > 0) cacheManagerService.clearAllCaches();
+        return updated + inserted;
+    }
+
+    public Map<String, Category> findCategoriesByUrls(Collection<String> urls) {
+        return newsArticleBatchRepository.findCategoriesByUrls(urls);
+    }
+
+    public Set<String> filterUnknownUrls(Set<String> urls) {
+        return knownUrlIndex.filterUnknown(urls);
     }
 
 }
@@ -8,7 +8,10 @@ import org.springframework.stereotype.Component;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -28,14 +31,53 @@ public class ParsingStateStore {
         redisTemplate.opsForValue().set(key, String.valueOf(nextPage));
     }
 
+    public Set<String> getPendingUrls(Source source, Category category, String path) {
+        Set<String> pending = redisTemplate.opsForSet().members(createFrontierKey(source, category, path));
+        return pending == null ? Set.of() : pending;
+    }
+
+    public void addPendingUrls(Source source, Category category, String path, Collection<String> urls) {
+        if (urls.isEmpty()) return;
+        redisTemplate.opsForSet().add(createFrontierKey(source, category, path), urls.toArray(String[]::new));
+    }
+
+    public void acknowledgeUrls(Source source, Category category, String path, Collection<String> urls) {
+        if (urls.isEmpty()) return;
+        redisTemplate.opsForSet().remove(createFrontierKey(source, category, path), urls.toArray());
+        redisTemplate.opsForHash().delete(createAttemptsKey(source, category, path), urls.toArray());
+    }
+
+    public Set<String> recordFailedAttempts(
+            Source source, Category category, String path, Collection<String> urls, int maxAttempts
+    ) {
+        String key = createAttemptsKey(source, category, path);
+        Set<String> exhausted = new HashSet<>();
+        for (String url : urls) {
+            long attempts = redisTemplate.opsForHash().increment(key, url, 1);
+            if (maxAttempts > 0 && attempts >= maxAttempts) exhausted.add(url);
+        }
+        return exhausted;
+    }
+
     public void clearState(Source source, Category category, String path) {
-        String key = createKey(source, category, path);
-        redisTemplate.delete(key);
+        redisTemplate.delete(createKey(source, category, path));
     }
 
     private String createKey(Source source, Category category, String path) {
+        return createKey("state", source, category, path);
+    }
+
+    private String createFrontierKey(Source source, Category category, String path) {
+        return createKey("frontier", source, category, path);
+    }
+
+    private String createAttemptsKey(Source source, Category category, String path) {
+        return createKey("frontier-attempts", source, category, path);
+    }
+
+    private String createKey(String prefix, Source source, Category category, String path) {
         String safePath = URLEncoder.encode(path, StandardCharsets.UTF_8);
-        return "state:" + source.name() + ":" + category.name() + ":" + safePath;
+        return prefix + ":" + source.name() + ":" + category.name() + ":" + safePath;
     }
 
 }
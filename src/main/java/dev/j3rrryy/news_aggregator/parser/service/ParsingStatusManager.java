@@ -1,21 +1,33 @@
 package dev.j3rrryy.news_aggregator.parser.service;
 
+import dev.j3rrryy.news_aggregator.enums.Source;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class ParsingStatusManager {
 
     private final AtomicBoolean stopRequested = new AtomicBoolean(false);
-    private final AtomicBoolean parsingInProgress = new AtomicBoolean(false);
+    private final Set<Source> parsingSources = ConcurrentHashMap.newKeySet();
+    private final Map<Source, LongAdder> savedArticles = new ConcurrentHashMap<>();
 
     public boolean isStopRequested() {
         return stopRequested.get();
     }
 
     public boolean isParsingInProgress() {
-        return parsingInProgress.get();
+        return !parsingSources.isEmpty();
+    }
+
+    public boolean isParsingInProgress(Source source) {
+        return parsingSources.contains(source);
     }
 
     public void requestStop() {
@@ -27,11 +39,35 @@ public class ParsingStatusManager {
     }
 
     public boolean startParsing() {
-        return parsingInProgress.compareAndSet(false, true);
+        return startParsing(EnumSet.allOf(Source.class));
+    }
+
+    public synchronized boolean startParsing(Set<Source> sources) {
+        if (!Collections.disjoint(parsingSources, sources)) return false;
+        parsingSources.addAll(sources);
+        return true;
     }
 
     public void stopParsing() {
-        parsingInProgress.set(false);
+        stopParsing(EnumSet.allOf(Source.class));
+    }
+
+    public synchronized void stopParsing(Set<Source> sources) {
+        parsingSources.removeAll(sources);
+        if (parsingSources.isEmpty()) stopRequested.set(false);
+    }
+
+    public void recordSaved(Source source, int count) {
+        savedArticles.computeIfAbsent(source, s -> new LongAdder()).add(count);
+    }
+
+    public long getSavedArticles(Source source) {
+        LongAdder counter = savedArticles.get(source);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public void resetCounters(Set<Source> sources) {
+        sources.forEach(savedArticles::remove);
     }
 
 }
@@ -0,0 +1,8 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.enums.ParsingOutcome;
+import dev.j3rrryy.news_aggregator.enums.Source;
+
+public record SourceParsedEvent(Source source, ParsingOutcome outcome, long savedArticles) {
+
+}
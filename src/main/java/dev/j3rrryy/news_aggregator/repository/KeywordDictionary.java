@@ -0,0 +1,66 @@
+package dev.j3rrryy.news_aggregator.repository;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+
+@Repository
+public class KeywordDictionary {
+
+    private static final int MAX_CACHED_KEYWORDS = 100_000;
+    private static final String UPSERT_KEYWORDS = """
+            INSERT INTO keywords (keyword, normalized)
+            SELECT k, LOWER(k) FROM unnest(?::text[]) AS k ORDER BY k
+            ON CONFLICT (keyword) DO UPDATE SET keyword = EXCLUDED.keyword
+            RETURNING keyword, id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Integer> ids = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_KEYWORDS)
+            .build();
+
+    public KeywordDictionary(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public Map<String, Integer> resolveIds(Collection<String> keywords) {
+        if (keywords.isEmpty()) return Map.of();
+
+        Map<String, Integer> resolved = new HashMap<>(ids.getAllPresent(keywords));
+        String[] missing = keywords.stream()
+                .filter(keyword -> !resolved.containsKey(keyword))
+                .distinct()
+                .toArray(String[]::new);
+        if (missing.length == 0) return resolved;
+
+        Map<String, Integer> created = transactionTemplate.execute(status -> upsert(missing));
+        if (created != null) {
+            ids.putAll(created);
+            resolved.putAll(created);
+        }
+        return resolved;
+    }
+
+    private Map<String, Integer> upsert(String[] keywords) {
+        Map<String, Integer> created = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(UPSERT_KEYWORDS);
+            ps.setArray(1, con.createArrayOf("text", keywords));
+            return ps;
+        }, (RowCallbackHandler) rs -> created.put(rs.getString(1), rs.getInt(2)));
+        return created;
+    }
+
+}
@@ -1,25 +1,74 @@
 package dev.j3rrryy.news_aggregator.repository;
 
 import dev.j3rrryy.news_aggregator.entity.NewsArticle;
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.postgresql.util.PGobject;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
-import java.util.List;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 public class NewsArticleBatchRepository {
 
+    private static final int URL_FETCH_SIZE = 10_000;
+    private static final String CREATE_STAGING_TABLES = """
+            CREATE TEMP TABLE IF NOT EXISTS staging_articles (
+              id UUID, title TEXT, summary TEXT, content TEXT, category TEXT,
+              url TEXT, status TEXT, published_at TIMESTAMP, source TEXT, canonical_id UUID
+            ) ON COMMIT DELETE ROWS;
+            CREATE TEMP TABLE IF NOT EXISTS staging_keywords (article_id UUID, keyword_id INTEGER) ON COMMIT DELETE ROWS;
+            CREATE TEMP TABLE IF NOT EXISTS staging_media_urls (article_id UUID, media_url TEXT) ON COMMIT DELETE ROWS;
+            TRUNCATE staging_articles, staging_keywords, staging_media_urls;
+            """;
+    private static final String MOVE_STAGED_ROWS = """
+            WITH inserted AS (
+              INSERT INTO news_articles
+                (id, title, summary, content, category, url, status, published_at, source, canonical_id)
+              SELECT id, title, summary, content, category::category, url, status::status, published_at,
+                     source::source, canonical_id
+              FROM staging_articles
+              ON CONFLICT (url) DO NOTHING
+              RETURNING id, url
+            ), keywords AS (
+              INSERT INTO news_article_keywords (article_id, keyword_id)
+              SELECT k.article_id, k.keyword_id FROM staging_keywords k JOIN inserted i ON i.id = k.article_id
+              ON CONFLICT (article_id, keyword_id) DO NOTHING
+            ), media_urls AS (
+              INSERT INTO news_media_urls (article_id, media_url)
+              SELECT m.article_id, m.media_url FROM staging_media_urls m JOIN inserted i ON i.id = m.article_id
+              ON CONFLICT (article_id, media_url) DO NOTHING
+            )
+            SELECT url FROM inserted
+            """;
+
     private final JdbcTemplate jdbcTemplate;
+    private final KeywordDictionary keywordDictionary;
 
-    public int saveAllBatch(List<NewsArticle> articles) {
+    public Set<String> saveAllBatch(List<NewsArticle> articles) {
         articles.forEach(article -> {
             if (article.getId() == null) article.setId(UUID.randomUUID());
         });
@@ -32,7 +81,270 @@ public class NewsArticleBatchRepository {
 
         insertKeywordsIfNotExist(insertedArticles);
         insertMediaUrlsIfNotExist(insertedArticles);
-        return insertedArticles.size();
+        return insertedArticles.stream().map(NewsArticle::getUrl).collect(Collectors.toSet());
+    }
+
+    @Transactional
+    public Set<String> copyAllBatch(List<NewsArticle> articles) {
+        if (articles.isEmpty()) return Set.of();
+        articles.forEach(article -> {
+            if (article.getId() == null) article.setId(UUID.randomUUID());
+        });
+        Map<String, Integer> keywordIds = resolveKeywordIds(articles);
+
+        Set<String> insertedUrls = jdbcTemplate.execute((ConnectionCallback<Set<String>>) con -> {
+            try (Statement statement = con.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLES);
+            }
+
+            CopyManager copyManager = con.unwrap(PGConnection.class).getCopyAPI();
+            copyRows(copyManager, "staging_articles", articles.stream()
+                    .map(article -> Arrays.<Object>asList(
+                            article.getId(),
+                            article.getTitle(),
+                            article.getSummary(),
+                            article.getContent(),
+                            article.getCategory().name(),
+                            article.getUrl(),
+                            article.getStatus().name(),
+                            Timestamp.valueOf(article.getPublishedAt()),
+                            article.getSource().name(),
+                            article.getCanonicalId()
+                    )));
+            copyRows(copyManager, "staging_keywords", articles.stream()
+                    .flatMap(article -> article.getKeywords().stream()
+                            .map(kw -> List.<Object>of(article.getId(), keywordIds.get(kw)))));
+            copyRows(copyManager, "staging_media_urls", articles.stream()
+                    .flatMap(article -> article.getMediaUrls().stream()
+                            .map(url -> List.<Object>of(article.getId(), url))));
+
+            try (
+                    PreparedStatement ps = con.prepareStatement(MOVE_STAGED_ROWS);
+                    ResultSet rs = ps.executeQuery()
+            ) {
+                Set<String> urls = new HashSet<>();
+                while (rs.next()) urls.add(rs.getString(1));
+                return urls;
+            }
+        });
+        return insertedUrls == null ? Set.of() : insertedUrls;
+    }
+
+    public Set<String> findExistingUrls(Collection<String> urls) {
+        if (urls.isEmpty()) return Set.of();
+
+        String sql = "SELECT url FROM news_articles WHERE url = ANY (?)";
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("text", urls.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1)));
+    }
+
+    public Map<String, Category> findCategoriesByUrls(Collection<String> urls) {
+        if (urls.isEmpty()) return Map.of();
+
+        String sql = "SELECT url, category FROM news_articles WHERE url = ANY (?)";
+        Map<String, Category> categories = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("text", urls.toArray()));
+            return ps;
+        }, (RowCallbackHandler) rs -> categories.put(rs.getString(1), Category.valueOf(rs.getString(2))));
+        return categories;
+    }
+
+    public Map<String, UUID> findIdsByUrls(Collection<String> urls) {
+        if (urls.isEmpty()) return Map.of();
+
+        String sql = "SELECT url, id FROM news_articles WHERE url = ANY (?)";
+        Map<String, UUID> ids = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("text", urls.toArray()));
+            return ps;
+        }, (RowCallbackHandler) rs -> ids.put(rs.getString(1), rs.getObject(2, UUID.class)));
+        return ids;
+    }
+
+    public int updateArticlesByUrl(List<NewsArticle> articles) {
+        Map<String, UUID> ids = findIdsByUrls(articles.stream().map(NewsArticle::getUrl).toList());
+        List<NewsArticle> existingArticles = articles.stream()
+                .filter(article -> ids.containsKey(article.getUrl()))
+                .toList();
+        if (existingArticles.isEmpty()) return 0;
+        existingArticles.forEach(article -> article.setId(ids.get(article.getUrl())));
+
+        String sql = """
+                UPDATE news_articles
+                SET title = ?, summary = ?, content = ?, published_at = ?
+                WHERE id = ?
+                """;
+        jdbcTemplate.batchUpdate(sql, existingArticles.stream()
+                .map(article -> new Object[]{
+                        article.getTitle(),
+                        article.getSummary(),
+                        article.getContent(),
+                        Timestamp.valueOf(article.getPublishedAt()),
+                        article.getId()
+                })
+                .toList());
+
+        UUID[] articleIds = existingArticles.stream().map(NewsArticle::getId).toArray(UUID[]::new);
+        deleteByArticleIds("news_article_keywords", articleIds);
+        deleteByArticleIds("news_media_urls", articleIds);
+        insertKeywordsIfNotExist(existingArticles);
+        insertMediaUrlsIfNotExist(existingArticles);
+        return existingArticles.size();
+    }
+
+    public void saveSignatures(Map<UUID, byte[]> signatures) {
+        if (signatures.isEmpty()) return;
+
+        String sql = """
+                INSERT INTO article_signatures (article_id, signature)
+                SELECT ?, ? WHERE EXISTS (SELECT 1 FROM news_articles WHERE id = ?)
+                ON CONFLICT (article_id) DO UPDATE SET signature = EXCLUDED.signature
+                """;
+        jdbcTemplate.batchUpdate(sql, signatures.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue(), entry.getKey()})
+                .toList());
+    }
+
+    public void linkCanonicals(Map<UUID, UUID> canonicalIds) {
+        if (canonicalIds.isEmpty()) return;
+
+        String sql = """
+                UPDATE news_articles SET canonical_id = ?
+                WHERE id = ? AND EXISTS (SELECT 1 FROM news_articles WHERE id = ?)
+                """;
+        jdbcTemplate.batchUpdate(sql, canonicalIds.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey(), entry.getValue()})
+                .toList());
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachSignatureSince(LocalDateTime since, Consumer<StoredSignature> consumer) {
+        String sql = """
+                SELECT s.article_id, s.signature, a.published_at
+                FROM article_signatures s
+                JOIN news_articles a ON a.id = s.article_id
+                WHERE a.published_at >= ? AND a.canonical_id IS NULL
+                ORDER BY a.published_at
+                """;
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setTimestamp(1, Timestamp.valueOf(since));
+            ps.setFetchSize(URL_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(new StoredSignature(
+                rs.getObject(1, UUID.class),
+                rs.getBytes(2),
+                rs.getTimestamp(3).toLocalDateTime()
+        )));
+    }
+
+    public Optional<StoredWatermark> findWatermark(Source source, Category category, String path) {
+        String sql = """
+                SELECT latest_published_at, latest_urls
+                FROM crawl_watermarks
+                WHERE source = ?::source AND category = ?::category AND path = ?
+                """;
+        List<StoredWatermark> watermarks = jdbcTemplate.query(sql, (rs, rowNum) -> new StoredWatermark(
+                rs.getTimestamp(1).toLocalDateTime(),
+                new HashSet<>(Arrays.asList((String[]) rs.getArray(2).getArray()))
+        ), source.name(), category.name(), path);
+        return watermarks.stream().findFirst();
+    }
+
+    public void advanceWatermarks(List<NewsArticle> savedArticles) {
+        Map<List<Object>, List<NewsArticle>> byPath = savedArticles.stream()
+                .filter(article -> article.getCrawlPath() != null)
+                .collect(Collectors.groupingBy(article ->
+                        List.of(article.getSource(), article.getCategory(), article.getCrawlPath())
+                ));
+        if (byPath.isEmpty()) return;
+
+        List<List<NewsArticle>> latestByPath = byPath.values().stream()
+                .map(articles -> {
+                    LocalDateTime latest = articles.stream()
+                            .map(NewsArticle::getPublishedAt)
+                            .max(Comparator.naturalOrder())
+                            .orElseThrow();
+                    return articles.stream().filter(article -> article.getPublishedAt().isEqual(latest)).toList();
+                })
+                .toList();
+
+        String sql = """
+                INSERT INTO crawl_watermarks AS w (source, category, path, latest_published_at, latest_urls)
+                VALUES (?::source, ?::category, ?, ?, ?)
+                ON CONFLICT (source, category, path) DO UPDATE SET
+                  latest_urls = CASE
+                    WHEN EXCLUDED.latest_published_at > w.latest_published_at THEN EXCLUDED.latest_urls
+                    WHEN EXCLUDED.latest_published_at = w.latest_published_at
+                      THEN ARRAY(SELECT DISTINCT u FROM unnest(w.latest_urls || EXCLUDED.latest_urls) AS u)
+                    ELSE w.latest_urls
+                  END,
+                  latest_published_at = GREATEST(w.latest_published_at, EXCLUDED.latest_published_at)
+                """;
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(@NonNull PreparedStatement ps, int i) throws SQLException {
+                List<NewsArticle> latest = latestByPath.get(i);
+                NewsArticle first = latest.getFirst();
+                ps.setString(1, first.getSource().name());
+                ps.setString(2, first.getCategory().name());
+                ps.setString(3, first.getCrawlPath());
+                ps.setTimestamp(4, Timestamp.valueOf(first.getPublishedAt()));
+                ps.setArray(5, ps.getConnection().createArrayOf(
+                        "text", latest.stream().map(NewsArticle::getUrl).distinct().toArray()
+                ));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return latestByPath.size();
+            }
+        });
+    }
+
+    public long countUrls() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM news_articles", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachUrl(Consumer<String> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT url FROM news_articles");
+            ps.setFetchSize(URL_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+
+    private void copyRows(CopyManager copyManager, String table, Stream<List<Object>> rows) throws SQLException {
+        String sql = "COPY " + table + " FROM STDIN WITH (FORMAT csv)";
+        try (
+                Writer writer = new OutputStreamWriter(
+                        new PGCopyOutputStream(copyManager.copyIn(sql)), StandardCharsets.UTF_8
+                );
+                CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.POSTGRESQL_CSV)
+        ) {
+            for (List<Object> row : (Iterable<List<Object>>) rows::iterator) {
+                csvPrinter.printRecord(row);
+            }
+        } catch (IOException e) {
+            throw new SQLException("COPY into " + table + " failed", e);
+        }
+    }
+
+    private void deleteByArticleIds(String table, UUID[] articleIds) {
+        String sql = "DELETE FROM " + table + " WHERE article_id = ANY (?)";
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("uuid", articleIds));
+            return ps;
+        });
     }
 
     private int[] insertArticlesIfNotExist(List<NewsArticle> articles) {
@@ -40,8 +352,8 @@ public class NewsArticleBatchRepository {
 
         String sql = """
                 INSERT INTO news_articles
-                  (id, title, summary, content, category, url, status, published_at, source)
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                  (id, title, summary, content, category, url, status, published_at, source, canonical_id)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 ON CONFLICT (url) DO NOTHING
                 """;
 
@@ -72,6 +384,8 @@ public class NewsArticleBatchRepository {
                 sourceObj.setType("source");
                 sourceObj.setValue(article.getSource().name());
                 ps.setObject(9, sourceObj);
+
+                ps.setObject(10, article.getCanonicalId(), Types.OTHER);
             }
 
             @Override
@@ -81,18 +395,26 @@ public class NewsArticleBatchRepository {
         });
     }
 
+    private Map<String, Integer> resolveKeywordIds(List<NewsArticle> articles) {
+        Set<String> keywords = articles.stream()
+                .flatMap(article -> article.getKeywords().stream())
+                .collect(Collectors.toSet());
+        return keywords.isEmpty() ? Map.of() : keywordDictionary.resolveIds(keywords);
+    }
+
     private void insertKeywordsIfNotExist(List<NewsArticle> articles) {
+        Map<String, Integer> keywordIds = resolveKeywordIds(articles);
         List<Object[]> batch = articles.stream()
                 .flatMap(article -> article.getKeywords().stream()
-                        .map(kw -> new Object[]{article.getId(), kw})
+                        .map(kw -> new Object[]{article.getId(), keywordIds.get(kw)})
                 )
                 .toList();
         if (batch.isEmpty()) return;
 
         String sql = """
-                INSERT INTO news_keywords (article_id, keyword)
+                INSERT INTO news_article_keywords (article_id, keyword_id)
                 VALUES (?, ?)
-                ON CONFLICT (article_id, keyword) DO NOTHING
+                ON CONFLICT (article_id, keyword_id) DO NOTHING
                 """;
         jdbcTemplate.batchUpdate(sql, batch);
     }
@@ -113,4 +435,10 @@ public class NewsArticleBatchRepository {
         jdbcTemplate.batchUpdate(sql, batch);
     }
 
+    public record StoredWatermark(LocalDateTime latestPublishedAt, Set<String> latestUrls) {
+    }
+
+    public record StoredSignature(UUID articleId, byte[] signature, LocalDateTime publishedAt) {
+    }
+
 }
@@ -1,33 +1,40 @@
 package dev.j3rrryy.news_aggregator.repository;
 
 import dev.j3rrryy.news_aggregator.entity.NewsArticle;
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
 import dev.j3rrryy.news_aggregator.enums.Status;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface NewsArticleRepository extends JpaRepository<NewsArticle, UUID>, JpaSpecificationExecutor<NewsArticle> {
 
     @Modifying
-    @Query("UPDATE NewsArticle SET status = 'ACTIVE' WHERE status = 'NEW'")
-    void updateAllNewToActive();
+    @Query("UPDATE NewsArticle SET status = 'ACTIVE' WHERE status = 'NEW' AND source IN :sources")
+    int updateNewToActiveBySources(@Param("sources") Collection<Source> sources);
 
     @Query("""
-            SELECT source, category, MAX(publishedAt)
+            SELECT MAX(publishedAt)
             FROM NewsArticle
-            WHERE status != 'DELETED'
-            GROUP BY source, category
+            WHERE source = :source AND category = :category AND status != 'DELETED'
             """)
-    List<Object[]> findLatestPublishedAtByCategoryAndSource();
+    Optional<LocalDateTime> findLatestPublishedAt(
+            @Param("source") Source source,
+            @Param("category") Category category
+    );
 
     int countByStatus(Status status);
 
+    long countBySourceAndPublishedAtAfter(Source source, LocalDateTime publishedAt);
+
     @Modifying
     @Query("UPDATE NewsArticle SET status = 'DELETED' WHERE publishedAt < :olderThan AND status != 'DELETED'")
     int markAsDeletedByPublishedAtBefore(@Param("olderThan") LocalDateTime olderThan);
@@ -40,56 +47,77 @@ public interface NewsArticleRepository extends JpaRepository<NewsArticle, UUID>,
     @Query("DELETE FROM NewsArticle")
     int deleteAllArticles();
 
+    @Modifying
+    @Query(value = "DELETE FROM crawl_watermarks", nativeQuery = true)
+    void deleteAllWatermarks();
+
     @Query("SELECT category, COUNT(*) FROM NewsArticle WHERE status != 'DELETED' GROUP BY category")
     List<Object[]> countArticlesByCategory();
 
-    @Query("""
-                SELECT k, COUNT(k) frequency
-                FROM NewsArticle n
-                JOIN n.keywords k
-                WHERE n.status != 'DELETED'
-                GROUP BY k
-                ORDER BY frequency DESC
-            """)
-    List<Object[]> findMostFrequentKeywords(Pageable pageable);
+    @Query(value = """
+                SELECT k.keyword, top.frequency
+                FROM (
+                  SELECT ak.keyword_id, COUNT(*) AS frequency
+                  FROM news_article_keywords ak
+                  JOIN news_articles n ON n.id = ak.article_id
+                  WHERE n.status <> 'DELETED' AND n.canonical_id IS NULL
+                  GROUP BY ak.keyword_id
+                  ORDER BY frequency DESC
+                  LIMIT :limit
+                ) top
+                JOIN keywords k ON k.id = top.keyword_id
+                ORDER BY top.frequency DESC
+            """, nativeQuery = true)
+    List<Object[]> findMostFrequentKeywords(@Param("limit") int limit);
 
-    @Query("""
-                SELECT FUNCTION('date_trunc', 'day', n.publishedAt) AS day, COUNT(n)
-                FROM NewsArticle n
-                JOIN n.keywords k
-                WHERE LOWER(k) LIKE CONCAT('%', LOWER(:keyword), '%') AND n.status != 'DELETED'
+    @Query(value = """
+                SELECT date_trunc('day', n.published_at) AS day, COUNT(*)
+                FROM news_article_keywords ak
+                JOIN news_articles n ON n.id = ak.article_id
+                WHERE ak.keyword_id IN (
+                  SELECT id FROM keywords WHERE normalized LIKE CONCAT('%', LOWER(:keyword), '%')
+                ) AND n.status <> 'DELETED' AND n.canonical_id IS NULL
                 GROUP BY day
                 ORDER BY day DESC
-            """)
+            """, nativeQuery = true)
     List<Object[]> findKeywordFrequencyOverTime(@Param("keyword") String keyword);
 
     @Query(value = """
                 WITH
                   curr AS (
-                    SELECT k.keyword, COUNT(*) AS curr_count
+                    SELECT ak.keyword_id, COUNT(*) AS curr_count
                     FROM news_articles n
-                    JOIN news_keywords k ON n.id = k.article_id
-                    WHERE n.published_at BETWEEN :fromDate AND :toDate AND n.status <> 'DELETED'
-                    GROUP BY k.keyword
+                    JOIN news_article_keywords ak ON n.id = ak.article_id
+                    WHERE n.published_at BETWEEN :fromDate AND :toDate
+                      AND n.status <> 'DELETED' AND n.canonical_id IS NULL
+                    GROUP BY ak.keyword_id
                   ),
             
                   prev AS (
-                    SELECT k.keyword, COUNT(*) AS prev_count
+                    SELECT ak.keyword_id, COUNT(*) AS prev_count
                     FROM news_articles n
-                    JOIN news_keywords k ON n.id = k.article_id
-                    WHERE n.published_at BETWEEN :prev_start AND :fromDate AND n.status <> 'DELETED'
-                    GROUP BY k.keyword
+                    JOIN news_article_keywords ak ON n.id = ak.article_id
+                    WHERE n.published_at BETWEEN :prev_start AND :fromDate
+                      AND n.status <> 'DELETED' AND n.canonical_id IS NULL
+                    GROUP BY ak.keyword_id
+                  ),
+            
+                  top AS (
+                    SELECT
+                      c.keyword_id,
+                      c.curr_count,
+                      COALESCE(p.prev_count, 0) AS prev_count,
+                      (c.curr_count - COALESCE(p.prev_count, 0)) AS delta
+                    FROM curr c
+                    LEFT JOIN prev p ON p.keyword_id = c.keyword_id
+                    ORDER BY delta DESC
+                    LIMIT :limit
                   )
             
-                SELECT
-                  c.keyword,
-                  c.curr_count,
-                  COALESCE(p.prev_count, 0) AS prev_count,
-                  (c.curr_count - COALESCE(p.prev_count, 0)) AS delta
-                FROM curr c
-                LEFT JOIN prev p ON p.keyword = c.keyword
-                ORDER BY delta DESC
-                LIMIT :limit
+                SELECT k.keyword, t.curr_count, t.prev_count, t.delta
+                FROM top t
+                JOIN keywords k ON k.id = t.keyword_id
+                ORDER BY t.delta DESC
             """, nativeQuery = true)
     List<Object[]> findTopKeywordsInRange(
             @Param("fromDate") LocalDateTime fromDate,
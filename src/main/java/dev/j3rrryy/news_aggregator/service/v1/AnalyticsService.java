@@ -6,11 +6,10 @@ import dev.j3rrryy.news_aggregator.exceptions.FromDateAfterToDateException;
 import dev.j3rrryy.news_aggregator.repository.NewsArticleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -54,8 +53,7 @@ public class AnalyticsService {
             condition = "!@parsingStatusManager.isParsingInProgress()"
     )
     public List<KeywordFrequency> getTopFrequentKeywords(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return repository.findMostFrequentKeywords(pageable).stream()
+        return repository.findMostFrequentKeywords(limit).stream()
                 .map(row -> new KeywordFrequency((String) row[0], ((Number) row[1]).intValue()))
                 .toList();
     }
@@ -68,7 +66,7 @@ public class AnalyticsService {
     public List<KeywordDateCount> getKeywordTrend(String keyword) {
         return repository.findKeywordFrequencyOverTime(keyword).stream()
                 .map(row -> {
-                    LocalDate day = ((LocalDateTime) row[0]).toLocalDate();
+                    LocalDate day = toLocalDate(row[0]);
                     int count = ((Number) row[1]).intValue();
                     return new KeywordDateCount(day, count);
                 })
@@ -93,4 +91,10 @@ public class AnalyticsService {
                 .toList();
     }
 
+    private static LocalDate toLocalDate(Object day) {
+        return day instanceof Timestamp timestamp
+                ? timestamp.toLocalDateTime().toLocalDate()
+                : ((LocalDateTime) day).toLocalDate();
+    }
+
 }
@@ -48,6 +48,7 @@ public class ArticlesService {
     @Transactional
     public ArticlesAffected deleteAllArticles() {
         cacheManagerService.clearAllCaches();
+        repository.deleteAllWatermarks();
         return new ArticlesAffected(repository.deleteAllArticles());
     }
 
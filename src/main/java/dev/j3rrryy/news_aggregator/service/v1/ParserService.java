@@ -1,48 +1,105 @@
 package dev.j3rrryy.news_aggregator.service.v1;
 
 import dev.j3rrryy.news_aggregator.dto.request.AutoParsingInterval;
+import dev.j3rrryy.news_aggregator.dto.request.BackfillRequest;
+import dev.j3rrryy.news_aggregator.dto.request.HostConcurrencyLimit;
 import dev.j3rrryy.news_aggregator.dto.request.NewsSourceStatusesRequest;
 import dev.j3rrryy.news_aggregator.dto.response.AutoParsingStatus;
+import dev.j3rrryy.news_aggregator.dto.response.BackfillStatus;
+import dev.j3rrryy.news_aggregator.dto.response.HostConcurrencyStatus;
 import dev.j3rrryy.news_aggregator.dto.response.NewsSourceStatusesResponse;
 import dev.j3rrryy.news_aggregator.dto.response.ParsingStatus;
 import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.exceptions.BackfillInProgressException;
+import dev.j3rrryy.news_aggregator.exceptions.BackfillNotRunningException;
 import dev.j3rrryy.news_aggregator.exceptions.ParsingInProgressException;
 import dev.j3rrryy.news_aggregator.exceptions.ParsingNotRunningException;
 import dev.j3rrryy.news_aggregator.mapper.NewsSourceStatusesMapper;
 import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.service.ArchiveReparseService;
+import dev.j3rrryy.news_aggregator.parser.service.BackfillService;
+import dev.j3rrryy.news_aggregator.parser.service.CrawlScheduler;
+import dev.j3rrryy.news_aggregator.parser.service.ParserControlPlane;
 import dev.j3rrryy.news_aggregator.parser.service.ParsingOrchestrator;
 import dev.j3rrryy.news_aggregator.parser.service.ParsingStatusManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ParserService {
 
     private final ParserProperties parserProperties;
+    private final ParserControlPlane parserControlPlane;
     private final ParsingOrchestrator parsingOrchestrator;
     private final ParsingStatusManager parsingStatusManager;
+    private final ArchiveReparseService archiveReparseService;
+    private final BackfillService backfillService;
+    private final CrawlScheduler crawlScheduler;
     private final NewsSourceStatusesMapper newsSourceStatusesMapper;
 
     public void startParsing() {
+        startParsing(EnumSet.allOf(Source.class));
+    }
+
+    public void startParsing(Set<Source> sources) {
+        if (!parsingStatusManager.startParsing(sources)) {
+            throw new ParsingInProgressException();
+        }
+        parserControlPlane.markRunning();
+        parsingOrchestrator.runAsyncParsing(sources);
+    }
+
+    public void startReparse() {
         if (!parsingStatusManager.startParsing()) {
             throw new ParsingInProgressException();
         }
-        parsingOrchestrator.runAsyncParsing();
+        archiveReparseService.runAsyncReparse();
+    }
+
+    public void startBackfill(BackfillRequest dto) {
+        if (!backfillService.start(dto.targetDate())) {
+            throw new BackfillInProgressException();
+        }
+    }
+
+    public void stopBackfill() {
+        if (!backfillService.stop()) {
+            throw new BackfillNotRunningException();
+        }
+    }
+
+    public BackfillStatus getBackfillStatus() {
+        BackfillService.BackfillProgress progress = backfillService.getProgress();
+        return new BackfillStatus(
+                backfillService.isRunning(),
+                backfillService.getTargetDate().orElse(null),
+                progress.pathsTotal(),
+                progress.pathsCompleted(),
+                progress.pagesCrawled(),
+                progress.articlesSaved()
+        );
     }
 
     public void stopParsing() {
-        if (!parsingStatusManager.isParsingInProgress()) {
+        boolean runningLocally = parsingStatusManager.isParsingInProgress();
+        if (!runningLocally && !parserControlPlane.isParsingInProgressElsewhere()) {
             throw new ParsingNotRunningException();
         }
-        parsingStatusManager.requestStop();
+        if (runningLocally) parsingStatusManager.requestStop();
+        parserControlPlane.publishStop();
     }
 
 
     public ParsingStatus getParsingStatus() {
-        return new ParsingStatus(parsingStatusManager.isParsingInProgress());
+        return new ParsingStatus(
+                parsingStatusManager.isParsingInProgress() || parserControlPlane.isParsingInProgressElsewhere()
+        );
     }
 
     public NewsSourceStatusesResponse getSourceStatuses() {
@@ -53,6 +110,28 @@ public class ParserService {
         Map<Source, Boolean> currentStatus = parserProperties.getSourceStatuses();
         newsSourceStatusesMapper.updateStatusMap(dto, currentStatus);
         parserProperties.setSourceStatuses(currentStatus);
+        parserControlPlane.publishSourceStatuses(currentStatus);
+    }
+
+    public List<HostConcurrencyStatus> getHostConcurrency() {
+        return crawlScheduler.getHostStats().stream()
+                .map(stats -> new HostConcurrencyStatus(
+                        stats.source(),
+                        stats.maxConcurrentRequests(),
+                        stats.inFlight(),
+                        stats.queued(),
+                        stats.granted(),
+                        stats.expired(),
+                        stats.averageWait().toNanos() / 1_000_000.0,
+                        stats.maxWait().toMillis(),
+                        stats.saturation()
+                ))
+                .toList();
+    }
+
+    public void setHostConcurrency(HostConcurrencyLimit dto) {
+        crawlScheduler.setMaxConcurrentRequests(dto.source(), dto.maxConcurrentRequests());
+        parserControlPlane.publishHostConcurrency(dto.source(), dto.maxConcurrentRequests());
     }
 
     public AutoParsingStatus getAutoParsingStatus() {
@@ -64,6 +143,7 @@ public class ParserService {
 
     public void setAutoParsingInterval(AutoParsingInterval dto) {
         parserProperties.setAutoParsingInterval(dto.autoParsingInterval());
+        parserControlPlane.publishAutoParsing();
     }
 
 }
@@ -0,0 +1,31 @@
+CREATE TABLE keywords (
+    id SERIAL PRIMARY KEY,
+    keyword VARCHAR(100) NOT NULL UNIQUE,
+    normalized VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE news_article_keywords (
+    article_id UUID NOT NULL REFERENCES news_articles (id) ON DELETE CASCADE,
+    keyword_id INTEGER NOT NULL REFERENCES keywords (id),
+    PRIMARY KEY (article_id, keyword_id)
+);
+
+INSERT INTO keywords (keyword, normalized)
+SELECT DISTINCT keyword, LOWER(keyword) FROM news_keywords;
+
+INSERT INTO news_article_keywords (article_id, keyword_id)
+SELECT nk.article_id, k.id
+FROM news_keywords nk
+JOIN keywords k ON k.keyword = nk.keyword;
+
+DROP TABLE news_keywords;
+
+CREATE VIEW news_keywords AS
+SELECT ak.article_id, k.keyword
+FROM news_article_keywords ak
+JOIN keywords k ON k.id = ak.keyword_id;
+
+CREATE INDEX idx_news_article_keywords_keyword_id ON news_article_keywords (keyword_id, article_id);
+
+CREATE INDEX idx_keywords_normalized ON keywords
+USING GIN (normalized gin_trgm_ops);
@@ -0,0 +1,9 @@
+ALTER TABLE news_articles ADD COLUMN canonical_id UUID;
+
+CREATE INDEX idx_news_articles_canonical_id ON news_articles (canonical_id)
+WHERE canonical_id IS NOT NULL;
+
+CREATE TABLE article_signatures (
+    article_id UUID PRIMARY KEY REFERENCES news_articles (id) ON DELETE CASCADE,
+    signature BYTEA NOT NULL
+);
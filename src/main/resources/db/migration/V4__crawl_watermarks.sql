@@ -0,0 +1,8 @@
+CREATE TABLE crawl_watermarks (
+    source source NOT NULL,
+    category category NOT NULL,
+    path VARCHAR(300) NOT NULL,
+    latest_published_at TIMESTAMP NOT NULL,
+    latest_urls TEXT[] NOT NULL,
+    PRIMARY KEY (source, category, path)
+);
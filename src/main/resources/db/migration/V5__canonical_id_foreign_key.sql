@@ -0,0 +1,7 @@
+UPDATE news_articles a SET canonical_id = NULL
+WHERE a.canonical_id IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM news_articles c WHERE c.id = a.canonical_id);
+
+ALTER TABLE news_articles
+    ADD CONSTRAINT fk_news_articles_canonical_id
+    FOREIGN KEY (canonical_id) REFERENCES news_articles (id) ON DELETE SET NULL;
@@ -3,10 +3,16 @@ package dev.j3rrryy.news_aggregator.controller.v1;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import dev.j3rrryy.news_aggregator.dto.request.AutoParsingInterval;
+import dev.j3rrryy.news_aggregator.dto.request.BackfillRequest;
+import dev.j3rrryy.news_aggregator.dto.request.HostConcurrencyLimit;
 import dev.j3rrryy.news_aggregator.dto.request.NewsSourceStatusesRequest;
 import dev.j3rrryy.news_aggregator.dto.response.AutoParsingStatus;
+import dev.j3rrryy.news_aggregator.dto.response.BackfillStatus;
+import dev.j3rrryy.news_aggregator.dto.response.HostConcurrencyStatus;
 import dev.j3rrryy.news_aggregator.dto.response.NewsSourceStatusesResponse;
 import dev.j3rrryy.news_aggregator.dto.response.ParsingStatus;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.scheduler.HeadPoller;
 import dev.j3rrryy.news_aggregator.parser.scheduler.ParsingScheduler;
 import dev.j3rrryy.news_aggregator.serializers.DurationSerializer;
 import dev.j3rrryy.news_aggregator.service.v1.ParserService;
@@ -19,9 +25,12 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
 
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -37,6 +46,9 @@ public class ParserControllerMvcTest {
     @MockitoBean
     private ParserService parserService;
 
+    @MockitoBean
+    private HeadPoller headPoller;
+
     @MockitoBean
     private ParsingScheduler parsingScheduler;
 
@@ -63,6 +75,57 @@ public class ParserControllerMvcTest {
         verify(parserService).stopParsing();
     }
 
+    @Test
+    void startReparse() throws Exception {
+        mockMvc.perform(post("/v1/parser/archive/reparse")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted());
+        verify(parserService).startReparse();
+    }
+
+    @Test
+    void startBackfill() throws Exception {
+        mockMvc.perform(post("/v1/parser/backfill/start")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetDate\": \"2020-01-01\"}")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted());
+        verify(parserService).startBackfill(new BackfillRequest(LocalDate.of(2020, 1, 1)));
+    }
+
+    @Test
+    void startBackfill_invalidBody_targetDateInFuture() throws Exception {
+        mockMvc.perform(post("/v1/parser/backfill/start")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetDate\": \"" + LocalDate.now().plusDays(1) + "\"}")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(parserService);
+    }
+
+    @Test
+    void stopBackfill() throws Exception {
+        mockMvc.perform(post("/v1/parser/backfill/stop")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted());
+        verify(parserService).stopBackfill();
+    }
+
+    @Test
+    void getBackfillStatus() throws Exception {
+        BackfillStatus response = new BackfillStatus(true, LocalDate.of(2020, 1, 1), 10, 4, 120, 2400);
+        given(parserService.getBackfillStatus()).willReturn(response);
+
+        mockMvc.perform(get("/v1/parser/backfill/status")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.inProgress").value(true))
+                .andExpect(jsonPath("$.targetDate").value("2020-01-01"))
+                .andExpect(jsonPath("$.pathsCompleted").value(4))
+                .andExpect(jsonPath("$.articlesSaved").value(2400));
+    }
+
     @Test
     void getParsingStatus() throws Exception {
         ParsingStatus response = new ParsingStatus(true);
@@ -100,6 +163,43 @@ public class ParserControllerMvcTest {
         verify(parserService).patchSourceStatuses(request);
     }
 
+    @Test
+    void getHostConcurrency() throws Exception {
+        HostConcurrencyStatus response = new HostConcurrencyStatus(Source.SVPRESSA_RU, 8, 8, 3, 120, 2, 15.0, 400, 0.5);
+        given(parserService.getHostConcurrency()).willReturn(List.of(response));
+
+        mockMvc.perform(get("/v1/parser/sources/concurrency")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].source").value("SVPRESSA_RU"))
+                .andExpect(jsonPath("$[0].maxConcurrentRequests").value(8))
+                .andExpect(jsonPath("$[0].averageWaitMillis").value(15.0))
+                .andExpect(jsonPath("$[0].saturation").value(0.5));
+    }
+
+    @Test
+    void setHostConcurrency() throws Exception {
+        mockMvc.perform(patch("/v1/parser/sources/concurrency")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"source\": \"RT_RU\", \"maxConcurrentRequests\": 12}")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        verify(parserService).setHostConcurrency(new HostConcurrencyLimit(Source.RT_RU, 12));
+    }
+
+    @Test
+    void setHostConcurrency_invalidBody_negativeLimit() throws Exception {
+        mockMvc.perform(patch("/v1/parser/sources/concurrency")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"source\": \"RT_RU\", \"maxConcurrentRequests\": -1}")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.maxConcurrentRequests").value("Max concurrent requests must be 0 or greater"));
+        verifyNoInteractions(parserService);
+    }
+
     @Test
     void getAutoParsingStatus() throws Exception {
         AutoParsingStatus response = new AutoParsingStatus(false, Duration.ofSeconds(150412));
@@ -177,4 +277,20 @@ public class ParserControllerMvcTest {
                         .value("Interval must be provided"));
     }
 
+    @Test
+    void enableHeadPolling() throws Exception {
+        mockMvc.perform(patch("/v1/parser/head-polling/enable")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        verify(headPoller).enableHeadPolling();
+    }
+
+    @Test
+    void disableHeadPolling() throws Exception {
+        mockMvc.perform(patch("/v1/parser/head-polling/disable")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        verify(headPoller).disableHeadPolling();
+    }
+
 }
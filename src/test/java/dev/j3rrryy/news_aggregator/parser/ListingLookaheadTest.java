@@ -0,0 +1,107 @@
+package dev.j3rrryy.news_aggregator.parser;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ListingLookaheadTest {
+
+    private ExecutorService executor;
+    private List<Integer> requestedPages;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        requestedPages = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fetch_shouldLoadOnlyRequestedPage_whenDepthIsZero() {
+        try (ListingLookahead lookahead = new ListingLookahead(0, executor, this::loadPage)) {
+            Optional<Document> result = lookahead.fetch(1);
+
+            assertThat(result).isPresent();
+            assertThat(result.get().body().text()).isEqualTo("page 1");
+            assertThat(requestedPages).containsExactly(1);
+            assertThat(lookahead.pendingCount()).isZero();
+        }
+    }
+
+    @Test
+    void fetch_shouldPrefetchNextPages_withinWindow() {
+        try (ListingLookahead lookahead = new ListingLookahead(2, executor, this::loadPage)) {
+            lookahead.fetch(1);
+            assertThat(lookahead.pendingCount()).isEqualTo(2);
+
+            Optional<Document> next = lookahead.fetch(2);
+            assertThat(next).isPresent();
+            assertThat(next.get().body().text()).isEqualTo("page 2");
+            assertThat(lookahead.pendingCount()).isEqualTo(2);
+        }
+        assertThat(requestedPages).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void fetch_shouldDropPagesBehindRequestedOne() {
+        try (ListingLookahead lookahead = new ListingLookahead(3, executor, this::loadPage)) {
+            lookahead.fetch(1);
+            lookahead.fetch(3);
+
+            assertThat(lookahead.pendingCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void close_shouldCancelOutstandingLookahead() {
+        ListingLookahead lookahead = new ListingLookahead(2, executor, this::loadPage);
+        lookahead.fetch(0);
+
+        lookahead.close();
+        assertThat(lookahead.pendingCount()).isZero();
+    }
+
+    @Test
+    void close_shouldInterruptLookaheadThatAlreadyStarted() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ListingLookahead lookahead = new ListingLookahead(1, executor, page -> {
+            if (page == 0) return loadPage(page);
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Optional.empty();
+        });
+        lookahead.fetch(0);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        lookahead.close();
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private Optional<Document> loadPage(int page) {
+        requestedPages.add(page);
+        return Optional.of(Jsoup.parse("<html><body>page " + page + "</body></html>"));
+    }
+
+}
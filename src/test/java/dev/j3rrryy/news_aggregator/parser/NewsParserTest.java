@@ -16,12 +16,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -34,12 +41,18 @@ public class NewsParserTest {
     @Mock
     ParsingService parsingService;
 
+    @Mock
+    IngestBuffer ingestBuffer;
+
     @Mock
     ParserProperties parserProperties;
 
     @Mock
     ParsingStateStore parsingStateStore;
 
+    @Mock
+    CrawlLeaseManager crawlLeaseManager;
+
     @Mock
     ParsingStatusManager parsingStatusManager;
 
@@ -58,13 +71,10 @@ public class NewsParserTest {
         parserConfig.getCategoryUrls().put(Category.SCIENCE_TECH, Set.of("test url 1", "test url 2"));
         when(parserProperties.getConfigs()).thenReturn(Map.of(Source.RT_RU, parserConfig));
         mockDocument = Jsoup.parse("<html><body>test</body></html>");
+        lenient().when(parsingService.filterUnknownUrls(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(crawlLeaseManager.tryAcquire(any(), any(), any())).thenReturn(Optional.of(CrawlLease.LOCAL));
 
-        NewsArticle article = new NewsArticle(
-                UUID.randomUUID(), "test title", "test summary",
-                "test content", Category.SCIENCE_TECH, Set.of("java"), Set.of("test media url"),
-                "test url", Status.NEW, LocalDateTime.now(), Source.RT_RU);
-
-        newsParser = buildParser(Set.of("test url"), article);
+        newsParser = buildParser(Set.of("test url"), newsArticle());
     }
 
     @AfterEach
@@ -78,10 +88,12 @@ public class NewsParserTest {
         when(parsingStatusManager.isStopRequested()).thenReturn(false);
         when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.of(1));
         when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), any(), any())).thenReturn(Optional.of(mockDocument));
-        when(parsingService.saveArticles(any())).thenReturn(1).thenReturn(0);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(ingestBuffer.save(any())).thenReturn(1).thenReturn(0);
+        when(parsingService.getWatermark(any(), any(), any()))
+                .thenReturn(Optional.of(new CrawlWatermark(LocalDateTime.now().minusHours(1), Set.of())));
 
-        newsParser.parse(Map.of(Category.SCIENCE_TECH, LocalDateTime.now().minusHours(1)));
+        newsParser.parse();
 
         verify(parsingService, atLeastOnce()).saveArticles(any());
         verify(parsingStateStore, atLeastOnce()).clearState(
@@ -101,7 +113,7 @@ public class NewsParserTest {
     void parse_shouldStopBeforeAnyProcessing_whenStopRequestedInitially() {
         when(parsingStatusManager.isStopRequested()).thenReturn(true);
 
-        newsParser.parse(Map.of(Category.SCIENCE_TECH, LocalDateTime.now()));
+        newsParser.parse();
 
         verify(parsingService, never()).saveArticles(any());
         verify(parsingStateStore, never()).clearState(any(), any(), any());
@@ -113,7 +125,7 @@ public class NewsParserTest {
         when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
         when(parsingStatusManager.isStopRequested()).thenReturn(false, true);
 
-        newsParser.parse(Map.of(Category.SCIENCE_TECH, LocalDateTime.now()));
+        newsParser.parse();
 
         verify(parsingService, never()).saveArticles(any());
         verify(parsingStateStore, never()).clearState(any(), any(), any());
@@ -123,9 +135,9 @@ public class NewsParserTest {
     void processTail_shouldNotInvokeDownload_whenStopImmediately() {
         when(parsingStatusManager.isStopRequested()).thenReturn(true);
 
-        newsParser.parse(Map.of(Category.SCIENCE_TECH, LocalDateTime.now()));
+        newsParser.parse();
 
-        verify(pageFetcher, never()).downloadPage(any(), any(), any());
+        verify(pageFetcher, never()).downloadPage(any(), any(), any(), any(), any());
         verify(parsingService, never()).saveArticles(any());
     }
 
@@ -134,11 +146,9 @@ public class NewsParserTest {
         when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.of(5));
         when(parsingStatusManager.isStopRequested()).thenReturn(false, true);
         when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
 
-        Map<Category, LocalDateTime> latestPublishedAtByCategory = new EnumMap<>(Category.class);
-        latestPublishedAtByCategory.put(Category.SCIENCE_TECH, null);
-        newsParser.parse(latestPublishedAtByCategory);
+        newsParser.parse();
 
         verify(parsingService, never()).saveArticles(any());
         verify(parsingStateStore).updateCurrentPage(
@@ -154,13 +164,11 @@ public class NewsParserTest {
         when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.of(3));
         when(parsingStatusManager.isStopRequested()).thenReturn(false);
         when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
 
         NewsParser parser = buildParser(Set.of(), null);
 
-        Map<Category, LocalDateTime> latestPublishedAtByCategory = new EnumMap<>(Category.class);
-        latestPublishedAtByCategory.put(Category.SCIENCE_TECH, null);
-        parser.parse(latestPublishedAtByCategory);
+        parser.parse();
 
         verify(parsingService, never()).saveArticles(any());
         verify(parsingStateStore, never()).updateCurrentPage(any(), any(), any(), anyInt());
@@ -171,12 +179,10 @@ public class NewsParserTest {
         when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.of(2));
         when(parsingStatusManager.isStopRequested()).thenReturn(false);
         when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), any(), any())).thenReturn(Optional.of(mockDocument));
-        when(parsingService.saveArticles(any())).thenReturn(0);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(ingestBuffer.save(any())).thenReturn(0);
 
-        Map<Category, LocalDateTime> latestPublishedAtByCategory = new EnumMap<>(Category.class);
-        latestPublishedAtByCategory.put(Category.SCIENCE_TECH, null);
-        newsParser.parse(latestPublishedAtByCategory);
+        newsParser.parse();
 
         verify(parsingService, times(4)).saveArticles(any());
         verify(parsingStateStore, never()).updateCurrentPage(any(), any(), any(), anyInt());
@@ -186,12 +192,10 @@ public class NewsParserTest {
     void processHead_optDocEmpty_shouldUpdatePageAndBreak() {
         when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
         when(parsingStatusManager.isStopRequested()).thenReturn(false);
-        when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(pageFetcher.fetchConditionalGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
 
-        Map<Category, LocalDateTime> latestPublishedAtByCategory = new EnumMap<>(Category.class);
-        latestPublishedAtByCategory.put(Category.SCIENCE_TECH, null);
-        newsParser.parse(latestPublishedAtByCategory);
+        newsParser.parse();
 
         verify(parsingService, never()).saveArticles(any());
         verify(parsingStateStore, times(2)).updateCurrentPage(
@@ -206,14 +210,12 @@ public class NewsParserTest {
     void processHead_urlsEmptyAndNotStopped_shouldBreakWithoutUpdate() {
         when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
         when(parsingStatusManager.isStopRequested()).thenReturn(false);
-        when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(pageFetcher.fetchConditionalGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
 
         NewsParser parser = buildParser(Set.of(), null);
 
-        Map<Category, LocalDateTime> latestPublishedAtByCategory = new EnumMap<>(Category.class);
-        latestPublishedAtByCategory.put(Category.SCIENCE_TECH, null);
-        parser.parse(latestPublishedAtByCategory);
+        parser.parse();
 
         verify(parsingService, never()).saveArticles(any());
         verify(parsingStateStore, never()).updateCurrentPage(any(), any(), any(), anyInt());
@@ -221,16 +223,14 @@ public class NewsParserTest {
 
     @Test
     void processHead_urlsEmptyAndStopRequested_shouldUpdatePageAndBreak() {
-        when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(pageFetcher.fetchConditionalGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
         when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
         when(parsingStatusManager.isStopRequested()).thenReturn(false, false, true);
 
         NewsParser parser = buildParser(Set.of(), null);
 
-        Map<Category, LocalDateTime> latestPublishedAtByCategory = new EnumMap<>(Category.class);
-        latestPublishedAtByCategory.put(Category.SCIENCE_TECH, null);
-        parser.parse(latestPublishedAtByCategory);
+        parser.parse();
 
         verify(parsingService, never()).saveArticles(any());
         verify(parsingStateStore, times(1)).updateCurrentPage(
@@ -245,13 +245,11 @@ public class NewsParserTest {
     void processHead_savedZero_shouldBreakWithoutUpdate() {
         when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
         when(parsingStatusManager.isStopRequested()).thenReturn(false);
-        when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), any(), any())).thenReturn(Optional.of(mockDocument));
-        when(parsingService.saveArticles(any())).thenReturn(0);
+        when(pageFetcher.fetchGet(anyString(), any())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(ingestBuffer.save(any())).thenReturn(0);
 
-        Map<Category, LocalDateTime> latestPublishedAtByCategory = new EnumMap<>(Category.class);
-        latestPublishedAtByCategory.put(Category.SCIENCE_TECH, null);
-        newsParser.parse(latestPublishedAtByCategory);
+        newsParser.parse();
 
         verify(parsingService, times(2)).saveArticles(any());
         verify(parsingStateStore, never()).updateCurrentPage(any(), any(), any(), anyInt());
@@ -262,12 +260,10 @@ public class NewsParserTest {
         when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
         when(parsingStatusManager.isStopRequested()).thenReturn(false);
         when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), any(), any())).thenReturn(Optional.of(mockDocument));
-        when(parsingService.saveArticles(any())).thenReturn(2).thenReturn(0);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(ingestBuffer.save(any())).thenReturn(2).thenReturn(0);
 
-        Map<Category, LocalDateTime> latestPublishedAtByCategory = new EnumMap<>(Category.class);
-        latestPublishedAtByCategory.put(Category.SCIENCE_TECH, null);
-        newsParser.parse(latestPublishedAtByCategory);
+        newsParser.parse();
 
         verify(parsingStateStore).updateCurrentPage(
                 eq(Source.RT_RU),
@@ -277,10 +273,291 @@ public class NewsParserTest {
         );
     }
 
+    @Test
+    void processHead_shouldStopWithoutDownloads_whenPageOnlyListsWatermarkUrls() {
+        when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        when(pageFetcher.fetchConditionalGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(parsingService.getWatermark(eq(Source.RT_RU), eq(Category.SCIENCE_TECH), anyString()))
+                .thenReturn(Optional.of(new CrawlWatermark(LocalDateTime.now(), Set.of("test url"))));
+
+        newsParser.parse();
+
+        verify(parsingStateStore, never()).addPendingUrls(any(), any(), any(), any());
+        verify(pageFetcher, never()).fetchGet(anyString());
+        verify(parsingService, never()).saveArticles(any());
+    }
+
+    @Test
+    void pollHead_shouldIngestUnknownArticles_andHintTail_whenPageHasNoKnownUrls() {
+        when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(pageFetcher.fetchConditionalGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.fetchGet(eq("test url"), any())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(ingestBuffer.save(any())).thenReturn(1);
+
+        int saved = newsParser.pollHead();
+
+        assertEquals(2, saved);
+        verify(ingestBuffer, times(2)).save(argThat(articles -> articles.getFirst().getCrawlPath() == null));
+        verify(parsingStatusManager, times(2)).recordSaved(Source.RT_RU, 1);
+        verify(parsingStateStore, times(2)).updateCurrentPage(
+                eq(Source.RT_RU),
+                eq(Category.SCIENCE_TECH),
+                anyString(),
+                eq(2)
+        );
+        verify(pageFetcher, times(2)).confirmValidators(anyString());
+        verify(parsingService, never()).getWatermark(any(), any(), any());
+    }
+
+    @Test
+    void pollHead_shouldNotDownloadKnownArticles() {
+        when(parsingService.filterUnknownUrls(any())).thenReturn(Set.of());
+        when(pageFetcher.fetchConditionalGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+
+        assertEquals(0, newsParser.pollHead());
+
+        verify(pageFetcher, never()).fetchGet(anyString());
+        verify(parsingStateStore, never()).updateCurrentPage(any(), any(), any(), anyInt());
+        verifyNoInteractions(ingestBuffer);
+    }
+
+    @Test
+    void pollHead_shouldSkipPaths_polledByAnotherNode() {
+        when(crawlLeaseManager.tryAcquire(eq(Source.RT_RU), eq(Category.SCIENCE_TECH), startsWith("head-poll:")))
+                .thenReturn(Optional.empty());
+
+        assertEquals(0, newsParser.pollHead());
+
+        verify(pageFetcher, never()).downloadPage(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void backfillPage_shouldSaveArticles_andContinue_whenPageIsNewerThanTarget() {
+        when(parserProperties.getBackfillRateFraction()).thenReturn(100.0);
+        NewsParser parser = buildParser(Set.of("test url"), newsArticle());
+        when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(ingestBuffer.save(any())).thenReturn(1);
+
+        BackfillResult result = parser.backfillPage("test path", Category.SCIENCE_TECH, 7, LocalDateTime.now());
+
+        assertEquals(new BackfillResult(true, 1, false), result);
+        verify(pageFetcher).fetchGet("test url template".formatted("test path", 7));
+        verify(ingestBuffer).save(argThat(articles -> articles.size() == 1));
+    }
+
+    @Test
+    void backfillPage_shouldReachTarget_whenPageListsNoArticles() {
+        when(parserProperties.getBackfillRateFraction()).thenReturn(100.0);
+        NewsParser parser = buildParser(Set.of(), null);
+        when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+
+        BackfillResult result = parser.backfillPage("test path", Category.SCIENCE_TECH, 7, LocalDateTime.now());
+
+        assertEquals(new BackfillResult(true, 0, true), result);
+        verifyNoInteractions(ingestBuffer);
+    }
+
+    @Test
+    void backfillPage_shouldFail_whenDownloadFails() {
+        when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+
+        BackfillResult result = newsParser.backfillPage("test path", Category.SCIENCE_TECH, 7, LocalDateTime.now());
+
+        assertEquals(BackfillResult.FAILED, result);
+        verifyNoInteractions(ingestBuffer);
+    }
+
+    @Test
+    void processHead_shouldConfirmValidators_whenHeadCompleted() {
+        when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        when(pageFetcher.fetchConditionalGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+
+        NewsParser parser = buildParser(Set.of(), null);
+
+        parser.parse();
+
+        verify(pageFetcher, times(2)).fetchConditionalGet("test url template");
+        verify(pageFetcher, times(2)).confirmValidators("test url template");
+        verify(pageFetcher, never()).fetchGet(anyString());
+    }
+
+    @Test
+    void processHead_shouldNotPrefetch_whenHeadPageIsNotModified() {
+        parserConfig.setListingLookahead(2);
+        Document notModified = Document.createShell("test url template");
+        when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(pageFetcher.fetchConditionalGet(anyString())).thenReturn(() -> notModified);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(notModified));
+
+        NewsParser parser = buildParser(Set.of(), null);
+
+        parser.parse();
+
+        verify(pageFetcher, times(2)).fetchConditionalGet("test url template");
+        verify(pageFetcher, times(2)).downloadPage(any(), any(), any(), any(), any());
+        verify(pageFetcher, never()).fetchGet(anyString());
+    }
+
+    @Test
+    void processHead_shouldNotConfirmValidators_whenStopRequested() {
+        when(pageFetcher.fetchConditionalGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(parsingStatusManager.isStopRequested()).thenReturn(false, false, true);
+
+        NewsParser parser = buildParser(Set.of(), null);
+
+        parser.parse();
+
+        verify(pageFetcher, never()).confirmValidators(anyString());
+    }
+
+    @Test
+    void parse_shouldResumePendingArticlesFromFrontier() {
+        parserConfig.getCategoryUrls().put(Category.SCIENCE_TECH, Set.of("test url 1"));
+        when(parsingStateStore.getPendingUrls(Source.RT_RU, Category.SCIENCE_TECH, "test url 1"))
+                .thenReturn(Set.of("test url"));
+        when(parsingStatusManager.isStopRequested()).thenReturn(false, false, true);
+        mockFetcherSuccess("test url");
+        when(ingestBuffer.save(any())).thenReturn(1);
+
+        newsParser.parse();
+
+        verify(parsingService).saveArticles(argThat(articles -> articles.size() == 1));
+        verify(parsingStateStore).acknowledgeUrls(Source.RT_RU, Category.SCIENCE_TECH, "test url 1", Set.of("test url"));
+    }
+
+    @Test
+    void saveAndAcknowledge_shouldKeepUrlsPending_whenStopRequestedDuringFetch() {
+        when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.of(2));
+        when(parsingStatusManager.isStopRequested()).thenReturn(false, true);
+        when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+
+        newsParser.parse();
+
+        verify(parsingStateStore).addPendingUrls(eq(Source.RT_RU), eq(Category.SCIENCE_TECH), anyString(), eq(Set.of("test url")));
+        verify(parsingStateStore, never()).acknowledgeUrls(any(), any(), any(), any());
+    }
+
+    @Test
+    void parse_shouldKeepFailedFrontierUrlsPending() {
+        parserConfig.getCategoryUrls().put(Category.SCIENCE_TECH, Set.of("test url 1"));
+        when(parsingStateStore.getPendingUrls(Source.RT_RU, Category.SCIENCE_TECH, "test url 1"))
+                .thenReturn(Set.of("test url", "failed url"));
+        when(parsingStatusManager.isStopRequested()).thenReturn(false, false, true);
+        mockFetcherSuccess("test url");
+        when(pageFetcher.fetchGet(eq("failed url"), any())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), eq("failed url"), any(), any(), any())).thenReturn(Optional.empty());
+        when(ingestBuffer.save(any())).thenReturn(1);
+
+        newsParser.parse();
+
+        verify(parsingStateStore).recordFailedAttempts(
+                Source.RT_RU, Category.SCIENCE_TECH, "test url 1", Set.of("failed url"), 0
+        );
+        verify(parsingStateStore).acknowledgeUrls(Source.RT_RU, Category.SCIENCE_TECH, "test url 1", Set.of("test url"));
+    }
+
+    @Test
+    void parse_shouldAcknowledgeFrontierUrls_whenAttemptsAreExhausted() {
+        parserConfig.getCategoryUrls().put(Category.SCIENCE_TECH, Set.of("test url 1"));
+        when(parsingStateStore.getPendingUrls(Source.RT_RU, Category.SCIENCE_TECH, "test url 1"))
+                .thenReturn(Set.of("failed url"));
+        when(parsingStateStore.recordFailedAttempts(any(), any(), any(), any(), anyInt()))
+                .thenReturn(Set.of("failed url"));
+        when(parsingStatusManager.isStopRequested()).thenReturn(false, false, true);
+        when(pageFetcher.fetchGet(eq("failed url"), any())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), eq("failed url"), any(), any(), any())).thenReturn(Optional.empty());
+
+        newsParser.parse();
+
+        verify(parsingStateStore).acknowledgeUrls(Source.RT_RU, Category.SCIENCE_TECH, "test url 1", Set.of("failed url"));
+    }
+
+    @Test
+    void parse_shouldSkipPathsLeasedByAnotherNode() {
+        when(crawlLeaseManager.tryAcquire(any(), any(), any())).thenReturn(Optional.empty());
+
+        newsParser.parse();
+
+        verify(crawlLeaseManager, times(2)).tryAcquire(eq(Source.RT_RU), eq(Category.SCIENCE_TECH), anyString());
+        verifyNoInteractions(pageFetcher, parsingStateStore);
+    }
+
+    @Test
+    void parse_shouldNotClearState_whenLeaseWasLost() {
+        CrawlLease lostLease = mock(CrawlLease.class);
+        when(lostLease.isHeld()).thenReturn(false);
+        when(crawlLeaseManager.tryAcquire(any(), any(), any())).thenReturn(Optional.of(lostLease));
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+
+        newsParser.parse();
+
+        verify(parsingStateStore, never()).clearState(any(), any(), any());
+        verify(pageFetcher, never()).downloadPage(any(), any(), any(), any(), any());
+        verify(lostLease, times(2)).close();
+    }
+
+    @Test
+    void parse_shouldStopHeadCrawl_whenLeaseIsLostMidway() {
+        parserConfig.getCategoryUrls().put(Category.SCIENCE_TECH, Set.of("test url 1"));
+        CrawlLease lease = mock(CrawlLease.class);
+        when(lease.isHeld()).thenReturn(true, true, false);
+        when(crawlLeaseManager.tryAcquire(any(), any(), any())).thenReturn(Optional.of(lease));
+        when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        when(pageFetcher.fetchGet(anyString(), any())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(ingestBuffer.save(any())).thenReturn(2);
+
+        newsParser.parse();
+
+        verify(ingestBuffer, times(1)).save(any());
+        verify(parsingStateStore, never()).clearState(any(), any(), any());
+        verify(pageFetcher, never()).confirmValidators(anyString());
+    }
+
+    @Test
+    void parse_shouldCrawlAllPathsConcurrently_whenPathParallelismAboveOne() {
+        parserConfig.setPathParallelism(2);
+        when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        when(pageFetcher.fetchGet(anyString(), any())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+        when(ingestBuffer.save(any())).thenReturn(0);
+
+        newsParser.parse();
+
+        verify(parsingService, times(2)).saveArticles(any());
+        verify(parsingStateStore).clearState(Source.RT_RU, Category.SCIENCE_TECH, "test url 1");
+        verify(parsingStateStore).clearState(Source.RT_RU, Category.SCIENCE_TECH, "test url 2");
+    }
+
+    @Test
+    void parse_shouldNotClearState_whenStopRequestedInConcurrentMode() {
+        parserConfig.setPathParallelism(2);
+        when(parsingStatusManager.isStopRequested()).thenReturn(true);
+
+        newsParser.parse();
+
+        verify(parsingService, never()).saveArticles(any());
+        verify(parsingStateStore, never()).clearState(any(), any(), any());
+    }
+
     @Test
     void fetchPage_shouldReturnEmptyIfDownloadFails() {
         when(pageFetcher.fetchGet(any())).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(pageFetcher.downloadPage(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
 
         Optional<Document> result = newsParser.fetchPage("test path", 42);
         assertTrue(result.isEmpty());
@@ -292,7 +569,7 @@ public class NewsParserTest {
         NewsArticle oldArticle = new NewsArticle(
                 UUID.randomUUID(), "old article", "test summary", "test content",
                 Category.SCIENCE_TECH, Set.of("spring"), Set.of("test media url"), "test url",
-                Status.NEW, published, Source.RT_RU
+                Status.NEW, published, Source.RT_RU, null, null
         );
 
         String url = "test url";
@@ -301,13 +578,118 @@ public class NewsParserTest {
         NewsParser parser = buildParser(Set.of(), oldArticle);
         List<NewsArticle> result = parser.fetchAndParseArticles(
                 Set.of(url),
+                "test path",
                 Category.SCIENCE_TECH,
-                null);
+                CrawlWatermark.NONE);
 
         assertEquals(1, result.size());
         assertEquals("old article", result.getFirst().getTitle());
     }
 
+    @Test
+    void fetchAndParseArticles_shouldNotDownloadAlreadyStoredArticles() {
+        NewsArticle article = new NewsArticle(
+                UUID.randomUUID(), "new article", "test summary", "test content",
+                Category.SCIENCE_TECH, Set.of("spring"), Set.of("test media url"), "new url",
+                Status.NEW, LocalDateTime.now(), Source.RT_RU, null, null
+        );
+        when(parsingService.filterUnknownUrls(Set.of("known url", "new url"))).thenReturn(Set.of("new url"));
+        mockFetcherSuccess("new url");
+
+        NewsParser parser = buildParser(Set.of(), article);
+        List<NewsArticle> result = parser.fetchAndParseArticles(
+                Set.of("known url", "new url"),
+                "test path",
+                Category.SCIENCE_TECH,
+                CrawlWatermark.NONE);
+
+        assertEquals(1, result.size());
+        verify(pageFetcher, never()).fetchGet(eq("known url"), any());
+    }
+
+    @Test
+    void fetchAndParseArticles_shouldUseStreamingFetch_whenEnabled() {
+        parserConfig.setStreamingExtraction(true);
+        parserConfig.setArticleEndSelector("footer");
+        when(pageFetcher.fetchStreamed(eq("test url"), eq("footer"), any())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), eq("test url"), any(), any(), any())).thenReturn(Optional.of(mockDocument));
+
+        List<NewsArticle> result = newsParser.fetchAndParseArticles(Set.of("test url"), "test path", Category.SCIENCE_TECH, CrawlWatermark.NONE);
+
+        assertEquals(1, result.size());
+        verify(pageFetcher, never()).fetchGet(anyString(), any());
+    }
+
+    @Test
+    void streamArticles_shouldSubmitEachParsedArticleSeparately() {
+        mockFetcherSuccess("test url");
+        when(ingestBuffer.submit(any())).thenReturn(CompletableFuture.completedFuture(1));
+
+        IngestResult result = newsParser.streamArticles(Set.of("test url"), "test path", Category.SCIENCE_TECH, CrawlWatermark.NONE);
+
+        assertEquals(1, result.saved());
+        assertEquals(Set.of("test url"), result.settledUrls());
+        verify(ingestBuffer).submit(argThat(articles -> articles.size() == 1));
+        verify(ingestBuffer, never()).save(any());
+    }
+
+    @Test
+    void streamArticles_shouldSubmitFromIoExecutor_soFullQueueDoesNotBlockParsing() throws Exception {
+        mockFetcherSuccess("test url");
+        Thread cpuThread = cpuExecutor.submit(Thread::currentThread).get();
+        Thread ioThread = ioExecutor.submit(Thread::currentThread).get();
+        AtomicReference<Thread> submittingThread = new AtomicReference<>();
+        when(ingestBuffer.submit(any())).thenAnswer(invocation -> {
+            submittingThread.set(Thread.currentThread());
+            return CompletableFuture.completedFuture(1);
+        });
+
+        newsParser.streamArticles(Set.of("test url"), "test path", Category.SCIENCE_TECH, CrawlWatermark.NONE);
+
+        assertNotSame(cpuThread, submittingThread.get());
+        assertSame(ioThread, submittingThread.get());
+    }
+
+    @Test
+    void streamArticles_shouldDropArticle_whenDownloadMissesDeadline() throws InterruptedException {
+        parserConfig.setArticleTimeout(Duration.ofMillis(50));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(pageFetcher.fetchGet(eq("test url"), any())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), eq("test url"), any(), any(), any())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Optional.empty();
+        });
+
+        IngestResult result = newsParser.streamArticles(Set.of("test url"), "test path", Category.SCIENCE_TECH, CrawlWatermark.NONE);
+
+        assertEquals(0, result.saved());
+        assertTrue(result.settledUrls().isEmpty());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        verify(ingestBuffer, never()).submit(any());
+    }
+
+    @Test
+    void parse_shouldKeepCrawlingHead_whenArticlesMissTheirDeadline() {
+        parserConfig.getCategoryUrls().put(Category.SCIENCE_TECH, Set.of("test url 1"));
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        when(parsingStateStore.getCurrentPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(parsingService.getWatermark(any(), any(), any())).thenReturn(Optional.empty());
+        when(pageFetcher.fetchConditionalGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.fetchGet(anyString())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), eq("test url template"), any(), any(), any()))
+                .thenReturn(Optional.of(mockDocument), Optional.empty());
+        when(pageFetcher.downloadPage(any(), eq("test url"), any(), any(), any())).thenReturn(Optional.empty());
+
+        newsParser.parse();
+
+        verify(parsingStateStore).updateCurrentPage(Source.RT_RU, Category.SCIENCE_TECH, "test url 1", 2);
+        verify(parsingStateStore, never()).acknowledgeUrls(any(), any(), any(), argThat(urls -> !urls.isEmpty()));
+    }
+
     @Test
     void fetchAndParseArticles_shouldFilterBasedOnLatestPublishedAt() {
         LocalDateTime now = LocalDateTime.now();
@@ -316,12 +698,12 @@ public class NewsParserTest {
         NewsArticle fresh = new NewsArticle(
                 UUID.randomUUID(), "fresh title", "test summary", "test content",
                 Category.SCIENCE_TECH, Set.of("spring"), Set.of("test media url"), "fresh url",
-                Status.NEW, now, Source.RT_RU
+                Status.NEW, now, Source.RT_RU, null, null
         );
         NewsArticle old = new NewsArticle(
                 UUID.randomUUID(), "old title", "test summary", "test content",
                 Category.SCIENCE_TECH, Set.of("java"), Set.of("test media url"), "old url",
-                Status.NEW, now.minusHours(1), Source.RT_RU
+                Status.NEW, now.minusHours(1), Source.RT_RU, null, null
         );
 
         mockFetcherSuccess("fresh url");
@@ -330,8 +712,9 @@ public class NewsParserTest {
         NewsParser parser = buildParser(Set.of(), fresh);
         List<NewsArticle> onlyFresh = parser.fetchAndParseArticles(
                 Set.of("fresh url"),
+                "test path",
                 Category.SCIENCE_TECH,
-                latestPublishedAt
+                new CrawlWatermark(latestPublishedAt, Set.of())
         );
 
         assertEquals(1, onlyFresh.size());
@@ -340,28 +723,59 @@ public class NewsParserTest {
         parser = buildParser(Set.of(), old);
         List<NewsArticle> onlyOld = parser.fetchAndParseArticles(
                 Set.of("old url"),
+                "test path",
                 Category.SCIENCE_TECH,
-                latestPublishedAt
+                new CrawlWatermark(latestPublishedAt, Set.of())
         );
 
         assertTrue(onlyOld.isEmpty());
     }
 
+    @Test
+    void fetchAndParseArticles_shouldKeepUnseenArticles_publishedAtWatermark() {
+        LocalDateTime latestPublishedAt = LocalDateTime.now();
+        NewsArticle article = NewsArticle.builder()
+                .title("same time")
+                .url("test url")
+                .publishedAt(latestPublishedAt)
+                .build();
+        mockFetcherSuccess("test url");
+        NewsParser parser = buildParser(Set.of(), article);
+
+        List<NewsArticle> unseen = parser.fetchAndParseArticles(
+                Set.of("test url"),
+                "test path",
+                Category.SCIENCE_TECH,
+                new CrawlWatermark(latestPublishedAt, Set.of("other url"))
+        );
+        List<NewsArticle> seen = parser.fetchAndParseArticles(
+                Set.of("test url"),
+                "test path",
+                Category.SCIENCE_TECH,
+                new CrawlWatermark(latestPublishedAt, Set.of("test url"))
+        );
+
+        assertEquals(1, unseen.size());
+        assertEquals("test path", unseen.getFirst().getCrawlPath());
+        assertTrue(seen.isEmpty());
+    }
+
     @Test
     void fetchAndParseArticles_shouldSkipIfDownloadOrParseFails() {
         String url1 = "test url 1";
         String url2 = "test url 2";
 
-        when(pageFetcher.fetchGet(url1)).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), eq(url1), any())).thenReturn(Optional.empty());
-        when(pageFetcher.fetchGet(url2)).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), eq(url2), any())).thenReturn(Optional.of(mockDocument));
+        when(pageFetcher.fetchGet(eq(url1), any())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), eq(url1), any(), any(), any())).thenReturn(Optional.empty());
+        when(pageFetcher.fetchGet(eq(url2), any())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), eq(url2), any(), any(), any())).thenReturn(Optional.of(mockDocument));
 
         NewsParser parser = buildParser(Set.of(), null);
         List<NewsArticle> result = parser.fetchAndParseArticles(
                 Set.of(url1, url2),
+                "test path",
                 Category.SCIENCE_TECH,
-                null
+                CrawlWatermark.NONE
         );
 
         assertTrue(result.isEmpty());
@@ -378,8 +792,10 @@ public class NewsParserTest {
                 ioExecutor,
                 cpuExecutor,
                 parsingService,
+                ingestBuffer,
                 parserProperties,
                 parsingStateStore,
+                crawlLeaseManager,
                 parsingStatusManager
         ) {
             @Override
@@ -395,9 +811,16 @@ public class NewsParserTest {
         };
     }
 
+    private NewsArticle newsArticle() {
+        return new NewsArticle(
+                UUID.randomUUID(), "test title", "test summary",
+                "test content", Category.SCIENCE_TECH, Set.of("java"), Set.of("test media url"),
+                "test url", Status.NEW, LocalDateTime.now(), Source.RT_RU, null, null);
+    }
+
     private void mockFetcherSuccess(String url) {
-        when(pageFetcher.fetchGet(url)).thenReturn(() -> mockDocument);
-        when(pageFetcher.downloadPage(any(), eq(url), any())).thenReturn(Optional.of(mockDocument));
+        when(pageFetcher.fetchGet(eq(url), any())).thenReturn(() -> mockDocument);
+        when(pageFetcher.downloadPage(any(), eq(url), any(), any(), any())).thenReturn(Optional.of(mockDocument));
     }
 
 }
@@ -0,0 +1,106 @@
+package dev.j3rrryy.news_aggregator.parser.archive;
+
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.fetch.FetchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageArchiveTest {
+
+    @TempDir
+    Path archiveDir;
+
+    private ParserProperties parserProperties;
+    private PageArchive pageArchive;
+
+    @BeforeEach
+    void setUp() {
+        parserProperties = new ParserProperties();
+        parserProperties.setArchiveEnabled(true);
+        parserProperties.setArchiveDir(archiveDir.toString());
+        pageArchive = new PageArchive(parserProperties);
+    }
+
+    @Test
+    void append_shouldDoNothing_whenArchiveDisabled() throws Exception {
+        parserProperties.setArchiveEnabled(false);
+
+        pageArchive.append(response("https://example.com/a", "<p>a</p>"), null);
+
+        assertTrue(pageArchive.latestEntries().isEmpty());
+        try (var files = Files.list(archiveDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void read_shouldRestoreArchivedResponse() throws Exception {
+        FetchResponse original = new FetchResponse(
+                200, "https://example.com/a", Map.of("Content-Type", "text/html; charset=UTF-8"),
+                "<html><body>Привет</body></html>".getBytes(StandardCharsets.UTF_8)
+        );
+        ArchiveEntry entry = pageArchive.write(original, null, Instant.parse("2025-05-01T10:00:00Z"));
+
+        FetchResponse restored = pageArchive.read(entry);
+
+        assertEquals(200, restored.statusCode());
+        assertEquals("https://example.com/a", restored.url());
+        assertEquals("text/html; charset=UTF-8", restored.header("content-type"));
+        assertEquals("Привет", restored.parse().body().text());
+    }
+
+    @Test
+    void latestEntries_shouldKeepMostRecentFetchPerUrl() throws Exception {
+        pageArchive.write(response("https://example.com/a", "old"), null, Instant.parse("2025-05-01T10:00:00Z"));
+        pageArchive.write(response("https://example.com/b", "b"), null, Instant.parse("2025-05-01T11:00:00Z"));
+        pageArchive.write(response("https://example.com/a", "new"), null, Instant.parse("2025-05-02T10:00:00Z"));
+
+        Map<String, ArchiveEntry> entries = pageArchive.latestEntries();
+
+        assertEquals(2, entries.size());
+        ArchiveEntry latest = entries.get("https://example.com/a");
+        assertEquals(Instant.parse("2025-05-02T10:00:00Z"), latest.fetchedAt());
+        assertEquals("new", pageArchive.read(latest).parse().body().text());
+    }
+
+    @Test
+    void write_shouldRotateSegment_whenSizeLimitReached() throws Exception {
+        parserProperties.setArchiveSegmentSize(DataSize.ofBytes(1));
+
+        ArchiveEntry first = pageArchive.write(response("https://example.com/a", "a"), null, Instant.now());
+        ArchiveEntry second = pageArchive.write(response("https://example.com/b", "b"), null, Instant.now());
+
+        assertNotEquals(first.segment(), second.segment());
+        assertEquals(0, second.offset());
+        assertEquals("b", pageArchive.read(second).parse().body().text());
+    }
+
+    @Test
+    void latestEntries_shouldRestoreArchivedOrigin() throws Exception {
+        ArchiveOrigin origin = new ArchiveOrigin(Source.RT_RU, Category.SPORT, "/sport");
+        pageArchive.write(response("https://example.com/a", "a"), origin, Instant.parse("2025-05-01T10:00:00Z"));
+        pageArchive.write(response("https://example.com/b", "b"), null, Instant.parse("2025-05-01T11:00:00Z"));
+
+        Map<String, ArchiveEntry> entries = pageArchive.latestEntries();
+
+        assertEquals(origin, entries.get("https://example.com/a").origin());
+        assertNull(entries.get("https://example.com/b").origin());
+    }
+
+    private FetchResponse response(String url, String body) {
+        return new FetchResponse(200, url, Map.of(), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
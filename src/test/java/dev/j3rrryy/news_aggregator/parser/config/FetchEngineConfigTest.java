@@ -0,0 +1,57 @@
+package dev.j3rrryy.news_aggregator.parser.config;
+
+import dev.j3rrryy.news_aggregator.enums.FetchEngineType;
+import dev.j3rrryy.news_aggregator.enums.FetchMode;
+import dev.j3rrryy.news_aggregator.parser.fetch.HttpClientFetchEngine;
+import dev.j3rrryy.news_aggregator.parser.fetch.JsoupFetchEngine;
+import dev.j3rrryy.news_aggregator.parser.fetch.RecordingFetchEngine;
+import dev.j3rrryy.news_aggregator.parser.fetch.ReplayFetchEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FetchEngineConfigTest {
+
+    private final FetchEngineConfig config = new FetchEngineConfig();
+
+    @Test
+    void fetchEngine_shouldDefaultToHttpClient() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertThat(config.fetchEngine(new ParserProperties(), executor)).isInstanceOf(HttpClientFetchEngine.class);
+        }
+    }
+
+    @Test
+    void fetchEngine_shouldCreateJsoupEngine_whenConfigured() {
+        ParserProperties properties = new ParserProperties();
+        properties.setFetchEngine(FetchEngineType.JSOUP);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertThat(config.fetchEngine(properties, executor)).isInstanceOf(JsoupFetchEngine.class);
+        }
+    }
+
+    @Test
+    void fetchEngine_shouldWrapLiveEngine_whenRecording() {
+        ParserProperties properties = new ParserProperties();
+        properties.setFetchMode(FetchMode.RECORD);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertThat(config.fetchEngine(properties, executor)).isInstanceOf(RecordingFetchEngine.class);
+        }
+    }
+
+    @Test
+    void fetchEngine_shouldCreateReplayEngine_whenReplaying() {
+        ParserProperties properties = new ParserProperties();
+        properties.setFetchMode(FetchMode.REPLAY);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertThat(config.fetchEngine(properties, executor)).isInstanceOf(ReplayFetchEngine.class);
+        }
+    }
+
+}
@@ -27,6 +27,31 @@ public class ParserConfigTest {
         assertThat(config.getRateLimitPerSecond()).isEqualTo(2.5);
     }
 
+    @Test
+    void listingLookahead_shouldDefaultToZeroAndBeSettable() {
+        ParserConfig config = new ParserConfig();
+        assertThat(config.getListingLookahead()).isZero();
+
+        config.setListingLookahead(3);
+        assertThat(config.getListingLookahead()).isEqualTo(3);
+    }
+
+    @Test
+    void pathParallelism_shouldDefaultToSequentialCrawl() {
+        ParserConfig config = new ParserConfig();
+        assertThat(config.getPathParallelism()).isEqualTo(1);
+
+        config.setPathParallelism(4);
+        assertThat(config.getPathParallelism()).isEqualTo(4);
+    }
+
+    @Test
+    void streamingExtraction_shouldBeDisabledByDefault() {
+        ParserConfig config = new ParserConfig();
+        assertThat(config.isStreamingExtraction()).isFalse();
+        assertThat(config.getArticleEndSelector()).isEqualTo("footer:not(article footer)");
+    }
+
     @Test
     void shouldModifyCategoryUrlsMap() {
         ParserConfig config = new ParserConfig();
@@ -2,9 +2,18 @@ package dev.j3rrryy.news_aggregator.parser.config;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 public class SchedulerConfigTest {
@@ -12,7 +21,7 @@ public class SchedulerConfigTest {
     @Test
     void taskSchedulerBeanIsConfiguredCorrectly() {
         try (var context = new AnnotationConfigApplicationContext(SchedulerConfig.class)) {
-            TaskScheduler taskScheduler = context.getBean(TaskScheduler.class);
+            TaskScheduler taskScheduler = context.getBean("taskScheduler", TaskScheduler.class);
 
             assertThat(taskScheduler).isInstanceOf(ThreadPoolTaskScheduler.class);
             ThreadPoolTaskScheduler scheduler = (ThreadPoolTaskScheduler) taskScheduler;
@@ -21,4 +30,59 @@ public class SchedulerConfigTest {
         }
     }
 
+    @Test
+    void autoParsingSchedulerShouldBeSeparateFromTaskScheduler() {
+        try (var context = new AnnotationConfigApplicationContext(SchedulerConfig.class)) {
+            TaskScheduler taskScheduler = context.getBean("taskScheduler", TaskScheduler.class);
+            TaskScheduler autoParsingScheduler = context.getBean("autoParsingScheduler", TaskScheduler.class);
+
+            assertThat(autoParsingScheduler).isNotSameAs(taskScheduler);
+            assertThat(autoParsingScheduler).isInstanceOf(ThreadPoolTaskScheduler.class);
+        }
+    }
+
+    @Test
+    void scheduledTasksShouldFire_whileAsyncCrawlIsRunning() throws InterruptedException {
+        try (var context = new AnnotationConfigApplicationContext(SchedulerConfig.class, AsyncTestConfig.class)) {
+            TaskScheduler taskScheduler = context.getBean("taskScheduler", TaskScheduler.class);
+            BlockingCrawl crawl = context.getBean(BlockingCrawl.class);
+            CountDownLatch polled = new CountDownLatch(2);
+
+            crawl.run();
+            assertThat(crawl.started.await(5, TimeUnit.SECONDS)).isTrue();
+            ScheduledFuture<?> poll = taskScheduler.scheduleWithFixedDelay(polled::countDown, Duration.ofMillis(10));
+
+            try {
+                assertThat(polled.await(5, TimeUnit.SECONDS)).isTrue();
+            } finally {
+                poll.cancel(false);
+                crawl.finished.countDown();
+            }
+        }
+    }
+
+    @Configuration
+    @EnableAsync
+    static class AsyncTestConfig {
+
+        @Bean
+        BlockingCrawl blockingCrawl() {
+            return new BlockingCrawl();
+        }
+
+    }
+
+    static class BlockingCrawl {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+
+        @Async
+        public void run() throws InterruptedException {
+            started.countDown();
+            finished.await();
+        }
+
+    }
+
 }
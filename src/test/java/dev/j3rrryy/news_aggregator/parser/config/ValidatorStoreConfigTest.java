@@ -0,0 +1,34 @@
+package dev.j3rrryy.news_aggregator.parser.config;
+
+import dev.j3rrryy.news_aggregator.enums.ValidatorStoreType;
+import dev.j3rrryy.news_aggregator.parser.fetch.InMemoryValidatorStore;
+import dev.j3rrryy.news_aggregator.parser.fetch.NoOpValidatorStore;
+import dev.j3rrryy.news_aggregator.parser.fetch.RedisValidatorStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ValidatorStoreConfigTest {
+
+    private final ValidatorStoreConfig config = new ValidatorStoreConfig();
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    @Test
+    void validatorStore_shouldBeDisabledByDefault() {
+        assertThat(config.validatorStore(new ParserProperties(), redisTemplate)).isInstanceOf(NoOpValidatorStore.class);
+    }
+
+    @Test
+    void validatorStore_shouldCreateConfiguredStore() {
+        ParserProperties properties = new ParserProperties();
+
+        properties.setValidatorStore(ValidatorStoreType.MEMORY);
+        assertThat(config.validatorStore(properties, redisTemplate)).isInstanceOf(InMemoryValidatorStore.class);
+
+        properties.setValidatorStore(ValidatorStoreType.REDIS);
+        assertThat(config.validatorStore(properties, redisTemplate)).isInstanceOf(RedisValidatorStore.class);
+    }
+
+}
@@ -0,0 +1,199 @@
+package dev.j3rrryy.news_aggregator.parser.dedup;
+
+import dev.j3rrryy.news_aggregator.entity.NewsArticle;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.repository.NewsArticleBatchRepository;
+import dev.j3rrryy.news_aggregator.repository.NewsArticleBatchRepository.StoredSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class DuplicateDetectorTest {
+
+    private static final String STORY = """
+            Центральный банк России сохранил ключевую ставку на прежнем уровне по итогам заседания
+            совета директоров, сообщили в пресс-службе регулятора. Решение совпало с ожиданиями
+            аналитиков, которые указывали на замедление инфляции и устойчивый рост кредитования.
+            """;
+
+    private ExecutorService ioExecutor;
+    private NewsArticleBatchRepository repository;
+    private ParserProperties parserProperties;
+    private DuplicateDetector duplicateDetector;
+
+    @BeforeEach
+    void setUp() {
+        ioExecutor = mock(ExecutorService.class);
+        repository = mock(NewsArticleBatchRepository.class);
+        parserProperties = new ParserProperties();
+        parserProperties.setDuplicateDetectionEnabled(true);
+        duplicateDetector = new DuplicateDetector(ioExecutor, parserProperties, repository);
+    }
+
+    @Test
+    void init_shouldWarmUpInBackground_onlyWhenEnabled() {
+        duplicateDetector.init();
+        verify(ioExecutor).execute(any());
+
+        parserProperties.setDuplicateDetectionEnabled(false);
+        duplicateDetector.init();
+        verifyNoMoreInteractions(ioExecutor);
+    }
+
+    @Test
+    void linkDuplicates_shouldDoNothing_whenDisabled() {
+        parserProperties.setDuplicateDetectionEnabled(false);
+        NewsArticle copy = article("b", STORY);
+
+        assertTrue(duplicateDetector.linkDuplicates(List.of(article("a", STORY), copy)).isEmpty());
+        assertNull(copy.getCanonicalId());
+    }
+
+    @Test
+    void linkDuplicates_shouldLinkCopyWithinBatch_toFirstArticleByUrl() {
+        NewsArticle original = article("a", STORY);
+        NewsArticle copy = article("b", STORY + " Подробности позже.");
+        NewsArticle unrelated = article("c", "Сборная по футболу обыграла соперников в товарищеском матче");
+
+        DuplicateLinks links = duplicateDetector.linkDuplicates(List.of(original, copy, unrelated));
+
+        assertEquals(Set.of("a", "c"), links.canonicalSignatures().keySet());
+        assertEquals(Map.of("b", "a"), links.batchCanonicalUrls());
+        assertNotNull(original.getId());
+        assertNull(copy.getCanonicalId());
+        assertEquals(STORY + " Подробности позже.", copy.getContent());
+    }
+
+    @Test
+    void register_shouldLinkDuplicateToStoredCanonicalId_afterInsert() {
+        NewsArticle original = article("a", STORY);
+        NewsArticle copy = article("b", STORY);
+        DuplicateLinks links = duplicateDetector.linkDuplicates(List.of(original, copy));
+        copy.setId(UUID.randomUUID());
+        UUID storedId = UUID.randomUUID();
+        when(repository.findIdsByUrls(List.of("a"))).thenReturn(Map.of("a", storedId));
+
+        duplicateDetector.register(List.of(original, copy), links, Set.of("b"));
+
+        assertEquals(storedId, copy.getCanonicalId());
+        verify(repository).linkCanonicals(Map.of(copy.getId(), storedId));
+    }
+
+    @Test
+    void register_shouldNotLinkDuplicate_whenCanonicalWasNotStored() {
+        NewsArticle original = article("a", STORY);
+        NewsArticle copy = article("b", STORY);
+        DuplicateLinks links = duplicateDetector.linkDuplicates(List.of(original, copy));
+        copy.setId(UUID.randomUUID());
+        when(repository.findIdsByUrls(List.of("a"))).thenReturn(Map.of());
+
+        duplicateDetector.register(List.of(original, copy), links, Set.of("b"));
+
+        assertNull(copy.getCanonicalId());
+        verify(repository).linkCanonicals(Map.of());
+    }
+
+    @Test
+    void linkDuplicates_shouldDropDuplicateContent_whenNotStored() {
+        parserProperties.setDuplicateContentStored(false);
+        NewsArticle copy = article("b", STORY);
+
+        duplicateDetector.linkDuplicates(List.of(article("a", STORY), copy));
+
+        assertEquals("", copy.getContent());
+    }
+
+    @Test
+    void register_shouldPersistAndIndexSavedCanonicals_forLaterBatches() {
+        NewsArticle original = article("a", STORY);
+        DuplicateLinks links = duplicateDetector.linkDuplicates(List.of(original));
+
+        duplicateDetector.register(List.of(original), links, Set.of("a"));
+
+        verify(repository).saveSignatures(argThat(signatures -> signatures.containsKey(original.getId())));
+        NewsArticle copy = article("b", STORY);
+        DuplicateLinks copyLinks = duplicateDetector.linkDuplicates(List.of(copy));
+        assertEquals(Map.of(), copyLinks.canonicalSignatures());
+        assertEquals(Map.of("b", original.getId()), copyLinks.indexedCanonicalIds());
+    }
+
+    @Test
+    void register_shouldSkipArticlesThatWereNotSaved() {
+        NewsArticle original = article("a", STORY);
+        DuplicateLinks links = duplicateDetector.linkDuplicates(List.of(original));
+
+        duplicateDetector.register(List.of(original), links, Set.of("other"));
+
+        verifyNoInteractions(repository);
+        assertEquals(0, duplicateDetector.indexedCount());
+    }
+
+    @Test
+    void register_shouldIndexOnlyAfterCommit_whenTransactionIsActive() {
+        NewsArticle original = article("a", STORY);
+        DuplicateLinks links = duplicateDetector.linkDuplicates(List.of(original));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            duplicateDetector.register(List.of(original), links, Set.of("a"));
+            assertEquals(0, duplicateDetector.indexedCount());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, duplicateDetector.indexedCount());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void register_shouldNotIndexArticlesOutsideTheWindow() {
+        NewsArticle old = article("a", STORY);
+        old.setPublishedAt(LocalDateTime.now().minusDays(30));
+        DuplicateLinks links = duplicateDetector.linkDuplicates(List.of(old));
+
+        duplicateDetector.register(List.of(old), links, Set.of("a"));
+
+        verify(repository).saveSignatures(any());
+        assertEquals(0, duplicateDetector.indexedCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void warmUp_shouldLoadStoredSignatures() {
+        UUID id = UUID.randomUUID();
+        byte[] signature = MinHash.toBytes(MinHash.signature("title " + STORY));
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Consumer.class)
+                    .accept(new StoredSignature(id, signature, LocalDateTime.now()));
+            return null;
+        }).when(repository).forEachSignatureSince(any(), any());
+
+        duplicateDetector.warmUp();
+
+        NewsArticle copy = article("b", STORY);
+        assertEquals(Map.of("b", id), duplicateDetector.linkDuplicates(List.of(copy)).indexedCanonicalIds());
+    }
+
+    private NewsArticle article(String url, String content) {
+        return NewsArticle.builder()
+                .url(url)
+                .title("title")
+                .content(content)
+                .publishedAt(LocalDateTime.now())
+                .build();
+    }
+
+}
@@ -0,0 +1,31 @@
+package dev.j3rrryy.news_aggregator.parser.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LshIndexTest {
+
+    @Test
+    void evictOlderThan_shouldEvictByPublishedAt_regardlessOfInsertionOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        int[] fresh = MinHash.signature("Сборная по футболу обыграла соперников в товарищеском матче");
+        int[] stale = MinHash.signature("Центральный банк сохранил ключевую ставку на прежнем уровне");
+        UUID freshId = UUID.randomUUID();
+        UUID staleId = UUID.randomUUID();
+        LshIndex index = new LshIndex();
+        index.add(freshId, fresh, now);
+        index.add(staleId, stale, now.minusDays(10));
+
+        index.evictOlderThan(now.minusDays(7));
+
+        assertEquals(1, index.size());
+        assertEquals(Optional.of(freshId), index.findSimilar(fresh, 0.8));
+        assertEquals(Optional.empty(), index.findSimilar(stale, 0.8));
+    }
+
+}
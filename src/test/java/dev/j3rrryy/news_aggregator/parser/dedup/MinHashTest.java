@@ -0,0 +1,54 @@
+package dev.j3rrryy.news_aggregator.parser.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MinHashTest {
+
+    private static final String STORY = """
+            Центральный банк России сохранил ключевую ставку на прежнем уровне по итогам заседания
+            совета директоров, сообщили в пресс-службе регулятора. Решение совпало с ожиданиями
+            аналитиков, которые указывали на замедление инфляции и устойчивый рост кредитования.
+            """;
+
+    @Test
+    void signature_shouldBeStable_forSameText() {
+        assertThat(MinHash.signature(STORY)).isEqualTo(MinHash.signature(STORY));
+    }
+
+    @Test
+    void signature_shouldIgnoreCaseAndPunctuation() {
+        String rewritten = STORY.toUpperCase().replace(",", " ;");
+
+        assertThat(MinHash.similarity(MinHash.signature(STORY), MinHash.signature(rewritten))).isEqualTo(1.0);
+    }
+
+    @Test
+    void similarity_shouldBeHigh_forLightlyEditedCopy() {
+        String edited = STORY + " Следующее заседание запланировано на июль.";
+
+        assertThat(MinHash.similarity(MinHash.signature(STORY), MinHash.signature(edited))).isGreaterThan(0.7);
+    }
+
+    @Test
+    void similarity_shouldBeLow_forUnrelatedText() {
+        String other = "Сборная по футболу обыграла соперников в товарищеском матче благодаря голу на последней минуте";
+
+        assertThat(MinHash.similarity(MinHash.signature(STORY), MinHash.signature(other))).isLessThan(0.2);
+    }
+
+    @Test
+    void signature_shouldBeNull_whenTextHasNoTokens() {
+        assertThat(MinHash.signature(" ... ")).isNull();
+    }
+
+    @Test
+    void toBytes_shouldRoundTrip() {
+        int[] signature = MinHash.signature(STORY);
+
+        assertThat(MinHash.toBytes(signature)).hasSize(MinHash.SIZE * Integer.BYTES);
+        assertThat(MinHash.fromBytes(MinHash.toBytes(signature))).isEqualTo(signature);
+    }
+
+}
@@ -0,0 +1,57 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FetchResponseTest {
+
+    @Test
+    void header_shouldBeCaseInsensitive() {
+        FetchResponse response = new FetchResponse(200, "https://example.com", Map.of("ETag", "\"v1\""), new byte[0]);
+
+        assertThat(response.header("etag")).isEqualTo("\"v1\"");
+        assertThat(response.header("ETAG")).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void parse_shouldUseCharsetFromContentType() throws Exception {
+        byte[] body = "<html><body>новости</body></html>".getBytes(Charset.forName("windows-1251"));
+        FetchResponse response = new FetchResponse(
+                200, "https://example.com/news", Map.of("Content-Type", "text/html; charset=windows-1251"), body
+        );
+
+        Document doc = response.parse();
+
+        assertThat(doc.body().text()).isEqualTo("новости");
+        assertThat(doc.location()).isEqualTo("https://example.com/news");
+        assertThat(response.bodyAsString()).contains("новости");
+    }
+
+    @Test
+    void parse_shouldIgnoreUnsupportedCharset() throws Exception {
+        FetchResponse response = new FetchResponse(
+                200, "https://example.com", Map.of("Content-Type", "text/html; charset=unknown"),
+                "<html><body>test</body></html>".getBytes()
+        );
+
+        assertThat(response.parse().body().text()).isEqualTo("test");
+    }
+
+    @Test
+    void parse_shouldIgnoreIllegalCharsetName() throws Exception {
+        FetchResponse response = new FetchResponse(
+                200, "https://example.com", Map.of("Content-Type", "text/html; charset=\"utf 8\""),
+                "<html><body>test</body></html>".getBytes(StandardCharsets.UTF_8)
+        );
+
+        assertThat(response.parse().body().text()).isEqualTo("test");
+        assertThat(response.bodyAsString()).contains("test");
+    }
+
+}
@@ -0,0 +1,124 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import com.sun.net.httpserver.HttpServer;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpClientFetchEngineTest {
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private HttpClientFetchEngine engine;
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+    private final AtomicReference<String> receivedContentType = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/plain", exchange -> {
+            byte[] body = "<html><body>plain</body></html>".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/gzip", exchange -> {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write("<html><body>compressed</body></html>".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, compressed.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                compressed.writeTo(out);
+            }
+        });
+        server.createContext("/post", exchange -> {
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            receivedContentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+            exchange.getResponseHeaders().add("Retry-After", "5");
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+        });
+        server.start();
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        engine = new HttpClientFetchEngine(Duration.ofSeconds(5), Duration.ofSeconds(5), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_shouldReturnBodyStatusAndHeaders() throws Exception {
+        FetchResponse response = engine.execute(FetchRequest.get(url("/plain"), Map.of(
+                "Connection", "keep-alive",
+                "Accept-Language", "ru-RU"
+        )));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.header("content-type")).isEqualTo("text/html; charset=UTF-8");
+
+        Document doc = response.parse();
+        assertThat(doc.body().text()).isEqualTo("plain");
+        assertThat(doc.location()).isEqualTo(url("/plain"));
+    }
+
+    @Test
+    void execute_shouldDecodeGzipBody() throws Exception {
+        FetchResponse response = engine.execute(FetchRequest.get(url("/gzip"), Map.of()));
+
+        assertThat(response.bodyAsString()).isEqualTo("<html><body>compressed</body></html>");
+    }
+
+    @Test
+    void open_shouldStreamDecodedGzipBody() throws Exception {
+        try (StreamedResponse response = engine.open(FetchRequest.get(url("/gzip"), Map.of()))) {
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.parseStreaming(null).body().text()).isEqualTo("compressed");
+        }
+    }
+
+    @Test
+    void open_shouldExposeErrorStatusWithoutBody() throws Exception {
+        try (StreamedResponse response = engine.open(FetchRequest.post(url("/post"), "page=2", Map.of()))) {
+            assertThat(response.statusCode()).isEqualTo(429);
+            assertThat(response.header("retry-after")).isEqualTo("5");
+        }
+    }
+
+    @Test
+    void execute_shouldSendFormPostAndExposeErrorStatus() throws Exception {
+        FetchResponse response = engine.execute(FetchRequest.post(url("/post"), "page=2", Map.of()));
+
+        assertThat(response.statusCode()).isEqualTo(429);
+        assertThat(response.header("Retry-After")).isEqualTo("5");
+        assertThat(receivedBody.get()).isEqualTo("page=2");
+        assertThat(receivedContentType.get()).startsWith("application/x-www-form-urlencoded");
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+}
@@ -0,0 +1,73 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class JsoupFetchEngineTest {
+
+    private final JsoupFetchEngine engine = new JsoupFetchEngine(Duration.ofSeconds(45));
+
+    @Test
+    void execute_shouldIssueGetAndWrapResponse() throws Exception {
+        String url = "https://example.com";
+        Connection connection = mock();
+        Connection.Response response = mock();
+
+        try (var mockedStatic = mockStatic(Jsoup.class)) {
+            mockedStatic.when(() -> Jsoup.connect(url)).thenReturn(connection);
+            when(connection.timeout(45_000)).thenReturn(connection);
+            when(connection.headers(anyMap())).thenReturn(connection);
+            when(connection.ignoreContentType(true)).thenReturn(connection);
+            when(connection.ignoreHttpErrors(true)).thenReturn(connection);
+            when(connection.execute()).thenReturn(response);
+            when(response.statusCode()).thenReturn(200);
+            when(response.url()).thenReturn(URI.create(url).toURL());
+            when(response.headers()).thenReturn(Map.of("Content-Type", "text/html"));
+            when(response.bodyAsBytes()).thenReturn("test".getBytes(StandardCharsets.UTF_8));
+
+            FetchResponse result = engine.execute(FetchRequest.get(url, Map.of("User-Agent", "test user agent")));
+
+            assertThat(result.statusCode()).isEqualTo(200);
+            assertThat(result.url()).isEqualTo(url);
+            assertThat(result.header("content-type")).isEqualTo("text/html");
+            assertThat(result.bodyAsString()).isEqualTo("test");
+            verify(connection).headers(Map.of("User-Agent", "test user agent"));
+            verify(connection, never()).method(any());
+        }
+    }
+
+    @Test
+    void execute_shouldSendPostBody() throws Exception {
+        String url = "https://example.com";
+        Connection connection = mock();
+        Connection.Response response = mock();
+
+        try (var mockedStatic = mockStatic(Jsoup.class)) {
+            mockedStatic.when(() -> Jsoup.connect(url)).thenReturn(connection);
+            when(connection.timeout(45_000)).thenReturn(connection);
+            when(connection.headers(anyMap())).thenReturn(connection);
+            when(connection.ignoreContentType(true)).thenReturn(connection);
+            when(connection.ignoreHttpErrors(true)).thenReturn(connection);
+            when(connection.method(Connection.Method.POST)).thenReturn(connection);
+            when(connection.execute()).thenReturn(response);
+            when(response.url()).thenReturn(URI.create(url).toURL());
+            when(response.headers()).thenReturn(Map.of());
+            when(response.bodyAsBytes()).thenReturn(new byte[0]);
+
+            engine.execute(FetchRequest.post(url, "page=1", Map.of()));
+
+            verify(connection).method(Connection.Method.POST);
+            verify(connection).requestBody("page=1");
+        }
+    }
+
+}
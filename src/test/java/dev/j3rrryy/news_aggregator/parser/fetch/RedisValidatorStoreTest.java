@@ -0,0 +1,71 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+public class RedisValidatorStoreTest {
+
+    private static final String URL = "https://example.com/news";
+    private static final String KEY = "validators:https%3A%2F%2Fexample.com%2Fnews";
+
+    private RedisValidatorStore validatorStore;
+    private StringRedisTemplate redisTemplate;
+    private HashOperations<String, Object, Object> hashOps;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        hashOps = mock();
+
+        when(redisTemplate.opsForHash()).thenReturn(hashOps);
+        validatorStore = new RedisValidatorStore(redisTemplate);
+    }
+
+    @Test
+    void get_shouldReturnStoredValidators() {
+        when(hashOps.entries(KEY)).thenReturn(Map.of("etag", "\"v1\"", "lastModified", "Wed, 21 Oct 2015 07:28:00 GMT"));
+
+        Optional<PageValidators> result = validatorStore.get(URL);
+
+        assertTrue(result.isPresent());
+        assertEquals(new PageValidators("\"v1\"", "Wed, 21 Oct 2015 07:28:00 GMT"), result.get());
+    }
+
+    @Test
+    void get_shouldReturnEmpty_whenNothingStored() {
+        when(hashOps.entries(KEY)).thenReturn(Map.of());
+
+        assertTrue(validatorStore.get(URL).isEmpty());
+    }
+
+    @Test
+    void put_shouldReplaceValidatorsAndSetTtl() {
+        validatorStore.put(URL, new PageValidators("\"v2\"", null));
+
+        verify(redisTemplate).delete(KEY);
+        verify(hashOps).putAll(KEY, Map.of("etag", "\"v2\""));
+        verify(redisTemplate).expire(KEY, Duration.ofDays(7));
+    }
+
+    @Test
+    void put_shouldOnlyDelete_whenValidatorsAreEmpty() {
+        validatorStore.put(URL, new PageValidators(null, null));
+
+        verify(redisTemplate).delete(KEY);
+        verify(hashOps, never()).putAll(any(), anyMap());
+        verify(redisTemplate, never()).expire(any(), any(Duration.class));
+    }
+
+}
@@ -0,0 +1,114 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ReplayFetchEngineTest {
+
+    @TempDir
+    Path fixtureDir;
+
+    @Test
+    void execute_shouldReplayRecordedGetAndPost() throws Exception {
+        FetchEngine live = mock();
+        FetchRequest get = FetchRequest.get("https://example.com/a", Map.of("User-Agent", "first"));
+        FetchRequest post = FetchRequest.post("https://example.com/list", "page=2", Map.of());
+        when(live.execute(get)).thenReturn(response(get.url(), "<p>a</p>"));
+        when(live.execute(post)).thenReturn(response(post.url(), "{\"data\":\"<p>list</p>\"}"));
+
+        FixtureStore fixtureStore = new FixtureStore(fixtureDir);
+        RecordingFetchEngine recording = new RecordingFetchEngine(live, fixtureStore);
+        recording.execute(get);
+        recording.execute(post);
+
+        ReplayFetchEngine replay = new ReplayFetchEngine(fixtureStore, Duration.ZERO, 0, 0);
+        FetchResponse replayedGet = replay.execute(FetchRequest.get(get.url(), Map.of("User-Agent", "second")));
+        FetchResponse replayedPost = replay.execute(FetchRequest.post(post.url(), "page=2", Map.of()));
+
+        assertThat(replayedGet.statusCode()).isEqualTo(200);
+        assertThat(replayedGet.header("content-type")).isEqualTo("text/html");
+        assertThat(replayedGet.bodyAsString()).isEqualTo("<p>a</p>");
+        assertThat(replayedPost.bodyAsString()).isEqualTo("{\"data\":\"<p>list</p>\"}");
+    }
+
+    @Test
+    void execute_shouldKeepFullPage_whenRecordingConditionalGet() throws Exception {
+        FetchEngine live = mock();
+        FetchRequest get = FetchRequest.get("https://example.com/head", Map.of());
+        FetchRequest conditional = FetchRequest.get(get.url(), Map.of("If-None-Match", "\"v1\""));
+        when(live.execute(get)).thenReturn(response(get.url(), "<p>head</p>"));
+
+        FixtureStore fixtureStore = new FixtureStore(fixtureDir);
+        RecordingFetchEngine recording = new RecordingFetchEngine(live, fixtureStore);
+        recording.execute(get);
+        recording.execute(conditional);
+
+        ReplayFetchEngine replay = new ReplayFetchEngine(fixtureStore, Duration.ZERO, 0, 0);
+        FetchResponse replayed = replay.execute(conditional);
+
+        verify(live, times(2)).execute(get);
+        assertThat(replayed.statusCode()).isEqualTo(200);
+        assertThat(replayed.bodyAsString()).isEqualTo("<p>head</p>");
+    }
+
+    @Test
+    void execute_shouldNotRecordNotModifiedResponses() throws Exception {
+        FetchEngine live = mock();
+        FetchRequest get = FetchRequest.get("https://example.com/head", Map.of());
+        when(live.execute(get))
+                .thenReturn(response(get.url(), "<p>head</p>"))
+                .thenReturn(new FetchResponse(304, get.url(), Map.of(), new byte[0]));
+
+        FixtureStore fixtureStore = new FixtureStore(fixtureDir);
+        RecordingFetchEngine recording = new RecordingFetchEngine(live, fixtureStore);
+        recording.execute(get);
+        recording.execute(get);
+
+        assertThat(fixtureStore.load(get)).get().extracting(FetchResponse::statusCode).isEqualTo(200);
+    }
+
+    @Test
+    void execute_shouldReturnNotFound_whenNoFixtureRecorded() throws Exception {
+        ReplayFetchEngine replay = new ReplayFetchEngine(new FixtureStore(fixtureDir), Duration.ZERO, 0, 0);
+
+        FetchResponse result = replay.execute(FetchRequest.post("https://example.com/list", "page=3", Map.of()));
+
+        assertThat(result.statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void execute_shouldSimulateErrorsDeterministically() throws Exception {
+        FixtureStore fixtureStore = new FixtureStore(fixtureDir);
+        FetchRequest request = FetchRequest.get("https://example.com/a", Map.of());
+        fixtureStore.save(request, response(request.url(), "a"));
+
+        ReplayFetchEngine alwaysFailing = new ReplayFetchEngine(fixtureStore, Duration.ZERO, 1, 42);
+        ReplayFetchEngine seeded = new ReplayFetchEngine(fixtureStore, Duration.ZERO, 0.5, 42);
+
+        assertThat(alwaysFailing.execute(request).statusCode()).isEqualTo(503);
+        assertThat(seeded.execute(request).statusCode()).isEqualTo(seeded.execute(request).statusCode());
+    }
+
+    @Test
+    void execute_shouldApplySimulatedLatency() throws Exception {
+        ReplayFetchEngine replay = new ReplayFetchEngine(new FixtureStore(fixtureDir), Duration.ofMillis(50), 0, 0);
+
+        long start = System.nanoTime();
+        replay.execute(FetchRequest.get("https://example.com/a", Map.of()));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+    }
+
+    private FetchResponse response(String url, String body) {
+        return new FetchResponse(200, url, Map.of("Content-Type", "text/html"), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,119 @@
+package dev.j3rrryy.news_aggregator.parser.fetch;
+
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamedResponseTest {
+
+    @Test
+    void parseStreaming_shouldDropScriptsStylesAndComments() throws Exception {
+        StreamedResponse response = response(Map.of(), """
+                <html><head><style>p { color: red; }</style><script>var a = 1;</script></head>
+                <body><!-- ad slot --><div class="text"><p>first</p><script>track()</script><p>second</p></div></body></html>
+                """.getBytes(StandardCharsets.UTF_8));
+
+        Document doc = response.parseStreaming(null);
+
+        assertThat(doc.select("div.text > p").eachText()).containsExactly("first", "second");
+        assertThat(doc.select("script, style")).isEmpty();
+        assertThat(doc.body().html()).doesNotContain("ad slot");
+        assertThat(doc.location()).isEqualTo("https://example.com/article");
+    }
+
+    @Test
+    void parseStreaming_shouldStopAfterEndSelector() throws Exception {
+        StreamedResponse response = response(Map.of(), """
+                <html><body>
+                <article><p>text</p><footer>tags</footer></article>
+                <footer>site footer</footer>
+                <div class="comments"><p>comment</p></div>
+                </body></html>
+                """.getBytes(StandardCharsets.UTF_8));
+
+        Document doc = response.parseStreaming("footer:not(article footer)");
+
+        assertThat(doc.select("article p").text()).isEqualTo("text");
+        assertThat(doc.select("article footer").text()).isEqualTo("tags");
+        assertThat(doc.select("div.comments")).isEmpty();
+    }
+
+    @Test
+    void parseStreaming_shouldStopReadingBodyAfterEndSelector() throws Exception {
+        byte[] head = "<html><body><article><p>text</p></article><footer>end</footer>"
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] tail = "<div class=\"comments\"><p>comment</p></div>".repeat(50_000)
+                .getBytes(StandardCharsets.UTF_8);
+        AtomicLong bytesRead = new AtomicLong();
+        InputStream body = new SequenceInputStream(new ByteArrayInputStream(head), new ByteArrayInputStream(tail)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) bytesRead.addAndGet(n);
+                return n;
+            }
+        };
+
+        try (StreamedResponse response = new StreamedResponse(200, "https://example.com/article", Map.of(), body)) {
+            Document doc = response.parseStreaming("footer");
+
+            assertThat(doc.select("article p").text()).isEqualTo("text");
+            assertThat(bytesRead.get()).isLessThan(head.length + tail.length / 4);
+            assertThat(response.toFetchResponse().body()).hasSize((int) bytesRead.get());
+        }
+    }
+
+    @Test
+    void parseStreaming_shouldUseCharsetFromContentType() throws Exception {
+        byte[] body = "<html><body>новости</body></html>".getBytes(Charset.forName("windows-1251"));
+        StreamedResponse response = response(Map.of("content-type", "text/html; charset=windows-1251"), body);
+
+        assertThat(response.parseStreaming(null).body().text()).isEqualTo("новости");
+    }
+
+    @Test
+    void parseStreaming_shouldDetectCharsetFromMeta_whenContentTypeHasNone() throws Exception {
+        byte[] body = """
+                <html><head><meta http-equiv="Content-Type" content="text/html; charset=windows-1251"></head>
+                <body>новости</body></html>
+                """.getBytes(Charset.forName("windows-1251"));
+        StreamedResponse response = response(Map.of("Content-Type", "text/html"), body);
+
+        assertThat(response.parseStreaming(null).body().text()).isEqualTo("новости");
+    }
+
+    @Test
+    void parseStreaming_shouldDetectCharsetFromMetaCharset() throws Exception {
+        byte[] body = "<html><head><meta charset=\"windows-1251\"></head><body>новости</body></html>"
+                .getBytes(Charset.forName("windows-1251"));
+
+        assertThat(response(Map.of(), body).parseStreaming(null).body().text()).isEqualTo("новости");
+    }
+
+    @Test
+    void parseStreaming_shouldSkipByteOrderMark() throws Exception {
+        byte[] html = "<html><body>новости</body></html>".getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[html.length + 3];
+        body[0] = (byte) 0xEF;
+        body[1] = (byte) 0xBB;
+        body[2] = (byte) 0xBF;
+        System.arraycopy(html, 0, body, 3, html.length);
+
+        assertThat(response(Map.of(), body).parseStreaming(null).body().text()).isEqualTo("новости");
+    }
+
+    private static StreamedResponse response(Map<String, String> headers, byte[] body) {
+        return new StreamedResponse(200, "https://example.com/article", headers, new ByteArrayInputStream(body));
+    }
+
+}
@@ -1,8 +1,8 @@
 package dev.j3rrryy.news_aggregator.parser.impl;
 
-import com.google.common.util.concurrent.RateLimiter;
 import dev.j3rrryy.news_aggregator.entity.NewsArticle;
 import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.CrawlPriority;
 import dev.j3rrryy.news_aggregator.enums.Source;
 import dev.j3rrryy.news_aggregator.enums.Status;
 import dev.j3rrryy.news_aggregator.parser.config.ParserConfig;
@@ -28,8 +28,9 @@ import java.util.concurrent.ExecutorService;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class AifRuParserTest {
@@ -46,12 +47,18 @@ public class AifRuParserTest {
     @Mock
     ParsingService parsingService;
 
+    @Mock
+    IngestBuffer ingestBuffer;
+
     @Mock
     ParserProperties parserProperties;
 
     @Mock
     ParsingStateStore parsingStateStore;
 
+    @Mock
+    CrawlLeaseManager crawlLeaseManager;
+
     @Mock
     ParsingStatusManager parsingStatusManager;
 
@@ -68,8 +75,10 @@ public class AifRuParserTest {
                 ioExecutor,
                 cpuExecutor,
                 parsingService,
+                ingestBuffer,
                 parserProperties,
                 parsingStateStore,
+                crawlLeaseManager,
                 parsingStatusManager
         );
     }
@@ -83,15 +92,31 @@ public class AifRuParserTest {
         Document expectedDoc = Jsoup.parse("", expectedUrl);
 
         when(pageFetcher.fetchPost(expectedUrl, expectedBody)).thenReturn(callable);
-        when(pageFetcher.downloadPage(any(), anyString(), any(RateLimiter.class)))
-                .thenReturn(Optional.of(expectedDoc));
+        when(pageFetcher.downloadPage(
+                any(), anyString(), any(AdaptiveRateLimiter.class), eq(CrawlPriority.TAIL_LISTING), isNull()
+        )).thenReturn(Optional.of(expectedDoc));
 
-        Optional<Document> result = parser.fetchPage("test-path", 52);
+        Optional<Document> result = parser.fetchPage("test-path", 52, CrawlPriority.TAIL_LISTING);
 
         assertThat(result).isPresent();
         assertThat(result.orElseThrow()).isSameAs(expectedDoc);
     }
 
+    @Test
+    void backfillPage_shouldPageThroughPostBody() {
+        Callable<Document> callable = () -> new Document("test url");
+        when(pageFetcher.fetchPost("https://aif.ru/test-path", "page=7")).thenReturn(callable);
+        when(pageFetcher.downloadPage(
+                eq(callable), eq("https://aif.ru/test-path"), any(AdaptiveRateLimiter.class),
+                eq(CrawlPriority.BACKFILL), isNull()
+        )).thenReturn(Optional.of(Jsoup.parse("", "https://aif.ru/test-path")));
+
+        BackfillResult result = parser.backfillPage("test-path", Category.POLITICS, 7, LocalDateTime.now());
+
+        assertThat(result).isEqualTo(new BackfillResult(true, 0, true));
+        verify(pageFetcher, never()).fetchGet(anyString());
+    }
+
     @Test
     void getPageUrls_includesOnlyNewerThanLatest() {
         String html = """
@@ -40,12 +40,18 @@ public class RtRuParserTest {
     @Mock
     ParsingService parsingService;
 
+    @Mock
+    IngestBuffer ingestBuffer;
+
     @Mock
     ParserProperties parserProperties;
 
     @Mock
     ParsingStateStore parsingStateStore;
 
+    @Mock
+    CrawlLeaseManager crawlLeaseManager;
+
     @Mock
     ParsingStatusManager parsingStatusManager;
 
@@ -62,12 +68,21 @@ public class RtRuParserTest {
                 ioExecutor,
                 cpuExecutor,
                 parsingService,
+                ingestBuffer,
                 parserProperties,
                 parsingStateStore,
+                crawlLeaseManager,
                 parsingStatusManager
         );
     }
 
+    @Test
+    void handlesUrl_matchesOnlySourceHost() {
+        assertThat(parser.handlesUrl("https://russian.rt.com/world/news/1234-test")).isTrue();
+        assertThat(parser.handlesUrl("https://aif.ru/politics/russia/test")).isFalse();
+        assertThat(parser.handlesUrl("not a url")).isFalse();
+    }
+
     @Test
     void getPageUrls_includesOnlyNewerThanLatest() {
         String html = """
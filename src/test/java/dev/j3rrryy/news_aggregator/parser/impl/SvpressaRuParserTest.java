@@ -42,12 +42,18 @@ public class SvpressaRuParserTest {
     @Mock
     ParsingService parsingService;
 
+    @Mock
+    IngestBuffer ingestBuffer;
+
     @Mock
     ParserProperties parserProperties;
 
     @Mock
     ParsingStateStore parsingStateStore;
 
+    @Mock
+    CrawlLeaseManager crawlLeaseManager;
+
     @Mock
     ParsingStatusManager parsingStatusManager;
 
@@ -64,8 +70,10 @@ public class SvpressaRuParserTest {
                 ioExecutor,
                 cpuExecutor,
                 parsingService,
+                ingestBuffer,
                 parserProperties,
                 parsingStateStore,
+                crawlLeaseManager,
                 parsingStatusManager
         );
     }
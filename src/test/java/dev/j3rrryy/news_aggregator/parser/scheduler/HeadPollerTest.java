@@ -0,0 +1,186 @@
+package dev.j3rrryy.news_aggregator.parser.scheduler;
+
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.NewsParser;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.service.HeadPollingChangedEvent;
+import dev.j3rrryy.news_aggregator.parser.service.ParserControlPlane;
+import dev.j3rrryy.news_aggregator.service.v1.CacheManagerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HeadPollerTest {
+
+    @Mock
+    NewsParser parser;
+
+    @Mock
+    ExecutorService ioExecutor;
+
+    @Mock
+    TaskScheduler taskScheduler;
+
+    @Mock
+    ScheduledFuture<?> scheduledFuture;
+
+    @Mock
+    CacheManagerService cacheManagerService;
+
+    @Mock
+    ParserControlPlane parserControlPlane;
+
+    private ParserProperties parserProperties;
+    private HeadPoller headPoller;
+
+    @BeforeEach
+    void setUp() {
+        parserProperties = new ParserProperties();
+        parserProperties.setSourceStatuses(Map.of(Source.RT_RU, true));
+        headPoller = new HeadPoller(
+                List.of(parser), ioExecutor, taskScheduler, parserProperties, cacheManagerService, parserControlPlane
+        );
+    }
+
+    @Test
+    void init_shouldSchedulePollingPerSource_whenEnabled() {
+        parserProperties.setHeadPollingEnabled(true);
+        parserProperties.setHeadPollingInterval(Duration.ofSeconds(5));
+        doReturn(scheduledFuture).when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Duration.class));
+
+        headPoller.init();
+        headPoller.shutdown();
+
+        verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(Duration.ofSeconds(5)));
+        verify(scheduledFuture).cancel(false);
+    }
+
+    @Test
+    void init_shouldNotSchedule_whenDisabled() {
+        headPoller.init();
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    void init_shouldNotSchedule_whenIntervalIsNotPositive() {
+        parserProperties.setHeadPollingEnabled(true);
+        parserProperties.setHeadPollingInterval(Duration.ZERO);
+
+        headPoller.init();
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    void enableHeadPolling_shouldScheduleAndPublish() {
+        parserProperties.setHeadPollingInterval(Duration.ofSeconds(5));
+        doReturn(scheduledFuture).when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Duration.class));
+
+        headPoller.enableHeadPolling();
+        headPoller.enableHeadPolling();
+
+        assertTrue(parserProperties.isHeadPollingEnabled());
+        verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(Duration.ofSeconds(5)));
+        verify(parserControlPlane, times(2)).publishHeadPolling();
+    }
+
+    @Test
+    void disableHeadPolling_shouldCancelAndPublish() {
+        parserProperties.setHeadPollingEnabled(true);
+        parserProperties.setHeadPollingInterval(Duration.ofSeconds(5));
+        doReturn(scheduledFuture).when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Duration.class));
+        headPoller.init();
+
+        headPoller.disableHeadPolling();
+
+        assertFalse(parserProperties.isHeadPollingEnabled());
+        assertTrue(headPoller.scheduledFutures.isEmpty());
+        verify(scheduledFuture).cancel(false);
+        verify(parserControlPlane).publishHeadPolling();
+    }
+
+    @Test
+    void onHeadPollingChanged_shouldFollowClusterState() {
+        parserProperties.setHeadPollingInterval(Duration.ofSeconds(5));
+        doReturn(scheduledFuture).when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Duration.class));
+
+        headPoller.onHeadPollingChanged(new HeadPollingChangedEvent(true));
+        assertTrue(parserProperties.isHeadPollingEnabled());
+
+        headPoller.onHeadPollingChanged(new HeadPollingChangedEvent(false));
+        assertFalse(parserProperties.isHeadPollingEnabled());
+        verify(scheduledFuture).cancel(false);
+        verifyNoInteractions(parserControlPlane);
+    }
+
+    @Test
+    void dispatch_shouldSkipPoll_whenPreviousPollStillRunning() {
+        when(parser.getSource()).thenReturn(Source.RT_RU);
+        AtomicBoolean polling = new AtomicBoolean(true);
+
+        headPoller.dispatch(parser, polling);
+
+        verifyNoInteractions(ioExecutor);
+    }
+
+    @Test
+    void dispatch_shouldSkipPoll_whenSourceDisabled() {
+        when(parser.getSource()).thenReturn(Source.AIF_RU);
+
+        headPoller.dispatch(parser, new AtomicBoolean(false));
+
+        verifyNoInteractions(ioExecutor);
+    }
+
+    @Test
+    void dispatch_shouldReleaseFlag_afterPoll() {
+        when(parser.getSource()).thenReturn(Source.RT_RU);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(ioExecutor).execute(any());
+        AtomicBoolean polling = new AtomicBoolean(false);
+
+        headPoller.dispatch(parser, polling);
+
+        verify(parser).pollHead();
+        assertFalse(polling.get());
+    }
+
+    @Test
+    void poll_shouldClearCaches_onlyWhenArticlesSaved() {
+        when(parser.pollHead()).thenReturn(0).thenReturn(3);
+
+        headPoller.poll(parser);
+        verifyNoInteractions(cacheManagerService);
+
+        headPoller.poll(parser);
+        verify(cacheManagerService).clearAllCaches();
+    }
+
+    @Test
+    void poll_shouldSwallowFailures() {
+        when(parser.pollHead()).thenThrow(new IllegalStateException("test"));
+        when(parser.getSource()).thenReturn(Source.RT_RU);
+
+        headPoller.poll(parser);
+
+        assertTrue(headPoller.scheduledFutures.isEmpty());
+        verifyNoInteractions(cacheManagerService);
+    }
+
+}
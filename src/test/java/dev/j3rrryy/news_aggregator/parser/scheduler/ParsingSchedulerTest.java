@@ -1,10 +1,17 @@
 package dev.j3rrryy.news_aggregator.parser.scheduler;
 
+import dev.j3rrryy.news_aggregator.enums.ParsingOutcome;
+import dev.j3rrryy.news_aggregator.enums.Source;
 import dev.j3rrryy.news_aggregator.exceptions.ParsingInProgressException;
 import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.service.AutoParsingChangedEvent;
+import dev.j3rrryy.news_aggregator.parser.service.ParserControlPlane;
+import dev.j3rrryy.news_aggregator.parser.service.ParsingService;
+import dev.j3rrryy.news_aggregator.parser.service.SourceParsedEvent;
 import dev.j3rrryy.news_aggregator.service.v1.ParserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -12,10 +19,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.scheduling.TaskScheduler;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
 import java.util.concurrent.ScheduledFuture;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -28,9 +36,15 @@ public class ParsingSchedulerTest {
     @Mock
     TaskScheduler taskScheduler;
 
+    @Mock
+    ParsingService parsingService;
+
     @Mock
     ScheduledFuture<?> scheduledFuture;
 
+    @Mock
+    ParserControlPlane parserControlPlane;
+
     @Spy
     ParserProperties parserProperties = new ParserProperties();
 
@@ -38,15 +52,15 @@ public class ParsingSchedulerTest {
     ParsingScheduler parsingScheduler;
 
     @Test
-    void init_shouldEnableAutoParsing_whenEnabledInProperties() {
+    void init_shouldScheduleEverySource_whenEnabledInProperties() {
         parserProperties.setAutoParsingEnabled(true);
         parserProperties.setAutoParsingInterval(Duration.ofSeconds(10));
-
-        doReturn(scheduledFuture)
-                .when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Duration.class));
+        doReturn(scheduledFuture).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
 
         parsingScheduler.init();
-        verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(Duration.ofSeconds(10)));
+
+        verify(taskScheduler, times(Source.values().length)).schedule(any(Runnable.class), any(Instant.class));
+        assertEquals(EnumSet.allOf(Source.class), parsingScheduler.scheduledFutures.keySet());
     }
 
     @Test
@@ -58,36 +72,53 @@ public class ParsingSchedulerTest {
 
     @Test
     void shutdown_shouldDisableAutoParsing() {
-        parsingScheduler.scheduledFuture = scheduledFuture;
+        enable();
 
         parsingScheduler.shutdown();
-        verify(scheduledFuture).cancel(false);
+        verify(scheduledFuture, times(Source.values().length)).cancel(false);
         assertFalse(parserProperties.isAutoParsingEnabled());
+        assertTrue(parsingScheduler.scheduledFutures.isEmpty());
+        verifyNoInteractions(parserControlPlane);
     }
 
     @Test
-    void enableAutoParsing_shouldDoNothing_whenAlreadyScheduled() {
-        when(scheduledFuture.isCancelled()).thenReturn(false);
-        parserProperties.setAutoParsingInterval(Duration.ofSeconds(10));
-        parsingScheduler.scheduledFuture = scheduledFuture;
+    void enableAndDisableAutoParsing_shouldPublishToCluster() {
+        parserProperties.setAutoParsingInterval(null);
 
         parsingScheduler.enableAutoParsing();
-        verify(taskScheduler, never()).scheduleWithFixedDelay(any(), any());
+        parsingScheduler.disableAutoParsing();
+
+        verify(parserControlPlane, times(2)).publishAutoParsing();
     }
 
     @Test
-    void enableAutoParsing_shouldSchedule_whenScheduledFutureCancelled() {
-        parserProperties.setAutoParsingInterval(Duration.ofSeconds(10));
-        parserProperties.setAutoParsingEnabled(false);
-        parsingScheduler.scheduledFuture = scheduledFuture;
+    void onAutoParsingChanged_shouldRescheduleWithoutPublishing() {
+        enable();
 
-        when(scheduledFuture.isCancelled()).thenReturn(true);
-        doReturn(scheduledFuture)
-                .when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Duration.class));
+        parsingScheduler.onAutoParsingChanged(new AutoParsingChangedEvent(true));
 
-        parsingScheduler.enableAutoParsing();
-        verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(Duration.ofSeconds(10)));
+        verify(scheduledFuture, times(Source.values().length)).cancel(false);
+        verify(taskScheduler, times(2 * Source.values().length)).schedule(any(Runnable.class), any(Instant.class));
         assertTrue(parserProperties.isAutoParsingEnabled());
+        verifyNoInteractions(parserControlPlane);
+    }
+
+    @Test
+    void onAutoParsingChanged_shouldCancel_whenDisabledRemotely() {
+        enable();
+
+        parsingScheduler.onAutoParsingChanged(new AutoParsingChangedEvent(false));
+
+        verify(scheduledFuture, times(Source.values().length)).cancel(false);
+        assertFalse(parserProperties.isAutoParsingEnabled());
+    }
+
+    @Test
+    void enableAutoParsing_shouldDoNothing_whenAlreadyScheduled() {
+        enable();
+
+        parsingScheduler.enableAutoParsing();
+        verify(taskScheduler, times(Source.values().length)).schedule(any(Runnable.class), any(Instant.class));
     }
 
     @Test
@@ -96,16 +127,16 @@ public class ParsingSchedulerTest {
         parserProperties.setAutoParsingInterval(null);
 
         parsingScheduler.enableAutoParsing();
-        verify(taskScheduler, never()).scheduleWithFixedDelay(any(), any());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
     }
 
     @Test
-    void enableAutoParsing_shouldLogWarning_whenIntervalIsZero() {
+    void enableAutoParsing_shouldNotSchedule_whenIntervalIsZero() {
         parserProperties.setAutoParsingEnabled(true);
         parserProperties.setAutoParsingInterval(Duration.ZERO);
 
         parsingScheduler.enableAutoParsing();
-        verify(taskScheduler, never()).scheduleWithFixedDelay(any(), any());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
     }
 
     @Test
@@ -114,50 +145,114 @@ public class ParsingSchedulerTest {
         parserProperties.setAutoParsingEnabled(true);
 
         parsingScheduler.enableAutoParsing();
-        verify(taskScheduler, never()).scheduleWithFixedDelay(any(), any());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
     }
 
     @Test
-    void disableAutoParsing_shouldCancelTask() {
-        parsingScheduler.scheduledFuture = scheduledFuture;
+    void enableAutoParsing_shouldSeedRatesFromRecentArticles() {
+        enable();
 
-        parsingScheduler.disableAutoParsing();
-        verify(scheduledFuture).cancel(false);
-        assertFalse(parserProperties.isAutoParsingEnabled());
+        for (Source source : Source.values()) {
+            verify(parsingService).countPublishedSince(eq(source), any());
+        }
+        assertTrue(parserProperties.isAutoParsingEnabled());
     }
 
     @Test
-    void disableAutoParsing_shouldDoNothing_whenScheduledFutureIsNull() {
-        parsingScheduler.scheduledFuture = null;
+    void disableAutoParsing_shouldDoNothing_whenNotScheduled() {
         parsingScheduler.disableAutoParsing();
         verifyNoInteractions(taskScheduler);
+        assertFalse(parserProperties.isAutoParsingEnabled());
     }
 
     @Test
-    void autoParsing_shouldCallStartParsing() {
-        parsingScheduler = new ParsingScheduler(parserService, taskScheduler, parserProperties);
+    void autoParsing_shouldStartEachDueSource_separately() {
+        enable();
+
+        parsingScheduler.autoParsing();
         parsingScheduler.autoParsing();
-        verify(parserService).startParsing();
+
+        for (Source source : Source.values()) {
+            verify(parserService).startParsing(EnumSet.of(source));
+        }
     }
 
     @Test
-    void autoParsing_shouldLogWarning_whenParsingInProgress() {
-        doThrow(new ParsingInProgressException()).when(parserService).startParsing();
+    void autoParsing_shouldOnlyDelaySourceThatIsStillRunning() {
+        enable();
+        doThrow(new ParsingInProgressException()).when(parserService).startParsing(EnumSet.of(Source.RT_RU));
+
         parsingScheduler.autoParsing();
-        verify(parserService).startParsing();
+
+        verify(parserService).startParsing(EnumSet.of(Source.AIF_RU));
+        verify(parserService).startParsing(EnumSet.of(Source.SVPRESSA_RU));
     }
 
     @Test
-    void enableAutoParsing_shouldScheduleParsing_whenValid() {
-        parserProperties.setAutoParsingEnabled(false);
-        parserProperties.setAutoParsingInterval(Duration.ofMinutes(1));
+    void autoParsing_shouldRetryAfterMinInterval_whenParsingInProgress() {
+        enable();
+        doThrow(new ParsingInProgressException()).when(parserService).startParsing(anySet());
 
-        doReturn(scheduledFuture)
-                .when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Duration.class));
+        Instant before = Instant.now();
+        parsingScheduler.autoParsing();
 
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, times(2 * Source.values().length)).schedule(any(Runnable.class), at.capture());
+        Instant retry = at.getAllValues().getLast();
+        assertFalse(retry.isBefore(before.plus(parserProperties.getAutoParsingMinInterval())));
+    }
+
+    @Test
+    void autoParsing_shouldDoNothing_whenDisabled() {
+        parsingScheduler.autoParsing();
+        verifyNoInteractions(parserService);
+    }
+
+    @Test
+    void onSourceParsed_shouldPollBusySourcesMoreOften() {
+        parserProperties.setAutoParsingMinInterval(Duration.ofMinutes(1));
+        parserProperties.setAutoParsingMaxInterval(Duration.ofDays(1));
+        parserProperties.setAutoParsingTargetArticles(10);
+        when(parsingService.countPublishedSince(eq(Source.RT_RU), any())).thenReturn(240L);
+        when(parsingService.countPublishedSince(eq(Source.AIF_RU), any())).thenReturn(24L);
+        when(parsingService.countPublishedSince(eq(Source.SVPRESSA_RU), any())).thenReturn(0L);
+        enable();
+
+        Duration busy = nextDelay(new SourceParsedEvent(Source.RT_RU, ParsingOutcome.FAILED, 0));
+        Duration quiet = nextDelay(new SourceParsedEvent(Source.AIF_RU, ParsingOutcome.FAILED, 0));
+
+        assertTrue(busy.compareTo(quiet) < 0);
+        assertTrue(busy.compareTo(Duration.ofHours(1)) >= 0 && busy.compareTo(Duration.ofMinutes(61)) < 0);
+    }
+
+    @Test
+    void onSourceParsed_shouldUseMaxInterval_whenSourceSkipped() {
+        enable();
+
+        Duration delay = nextDelay(new SourceParsedEvent(Source.RT_RU, ParsingOutcome.SKIPPED, 0));
+
+        assertTrue(delay.compareTo(parserProperties.getAutoParsingMaxInterval().minusSeconds(1)) > 0);
+    }
+
+    @Test
+    void onSourceParsed_shouldNotSchedule_whenAutoParsingDisabled() {
+        parsingScheduler.onSourceParsed(new SourceParsedEvent(Source.RT_RU, ParsingOutcome.COMPLETED, 5));
+        verifyNoInteractions(taskScheduler);
+    }
+
+    private void enable() {
+        parserProperties.setAutoParsingInterval(Duration.ofHours(5));
+        doReturn(scheduledFuture).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
         parsingScheduler.enableAutoParsing();
-        verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(Duration.ofMinutes(1)));
-        assertTrue(parserProperties.isAutoParsingEnabled());
+    }
+
+    private Duration nextDelay(SourceParsedEvent event) {
+        Instant before = Instant.now();
+        parsingScheduler.onSourceParsed(event);
+
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, atLeastOnce()).schedule(any(Runnable.class), at.capture());
+        return Duration.between(before, at.getAllValues().getLast());
     }
 
 }
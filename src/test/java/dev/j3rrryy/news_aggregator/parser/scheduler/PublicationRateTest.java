@@ -0,0 +1,67 @@
+package dev.j3rrryy.news_aggregator.parser.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PublicationRateTest {
+
+    private static final Duration FALLBACK = Duration.ofHours(5);
+    private static final Duration MIN = Duration.ofMinutes(5);
+    private static final Duration MAX = Duration.ofHours(12);
+
+    @Test
+    void nextInterval_shouldUseFallback_whenRateUnknown() {
+        assertEquals(FALLBACK, new PublicationRate().nextInterval(FALLBACK, MIN, MAX, 20));
+    }
+
+    @Test
+    void nextInterval_shouldTargetArticlesPerRun() {
+        PublicationRate rate = new PublicationRate();
+        rate.seed(480, Duration.ofDays(1));
+
+        assertEquals(Duration.ofHours(1), rate.nextInterval(FALLBACK, MIN, MAX, 20));
+    }
+
+    @Test
+    void nextInterval_shouldClampToBounds() {
+        PublicationRate busy = new PublicationRate();
+        busy.seed(100_000, Duration.ofDays(1));
+        PublicationRate quiet = new PublicationRate();
+        quiet.seed(0, Duration.ofDays(1));
+
+        assertEquals(MIN, busy.nextInterval(FALLBACK, MIN, MAX, 20));
+        assertEquals(MAX, quiet.nextInterval(FALLBACK, MIN, MAX, 20));
+    }
+
+    @Test
+    void record_shouldBlendObservedRateIntoEstimate() {
+        PublicationRate rate = new PublicationRate();
+        rate.seed(240, Duration.ofDays(1));
+        Instant start = Instant.parse("2025-05-01T00:00:00Z");
+
+        rate.record(start, 100, 0.5);
+        assertEquals(10.0, rate.articlesPerHour(), 1e-9);
+
+        rate.record(start.plus(Duration.ofHours(1)), 30, 0.5);
+        assertEquals(20.0, rate.articlesPerHour(), 1e-9);
+    }
+
+    @Test
+    void record_shouldLowerRate_whenRunFindsNothing() {
+        PublicationRate rate = new PublicationRate();
+        rate.seed(240, Duration.ofDays(1));
+        Instant start = Instant.parse("2025-05-01T00:00:00Z");
+
+        rate.record(start, 0, 0.3);
+        rate.record(start.plus(Duration.ofHours(2)), 0, 0.3);
+
+        assertTrue(rate.articlesPerHour() < 10.0);
+        assertTrue(rate.nextInterval(FALLBACK, MIN, MAX, 20).compareTo(Duration.ofHours(2)) > 0);
+    }
+
+}
@@ -0,0 +1,225 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class AdaptiveRateLimiterTest {
+
+    @Test
+    void create_shouldUseConfiguredBounds() {
+        ParserConfig config = new ParserConfig();
+        config.setRateLimitPerSecond(10);
+        config.setMinRateLimitPerSecond(2);
+        config.setMaxRateLimitPerSecond(20);
+
+        AdaptiveRateLimiter limiter = AdaptiveRateLimiter.create(Source.RT_RU, config);
+
+        assertThat(limiter.getSource()).isEqualTo(Source.RT_RU);
+        assertThat(limiter.getRate()).isCloseTo(10, within(0.001));
+        assertThat(limiter.getMinRate()).isEqualTo(2);
+        assertThat(limiter.getMaxRate()).isEqualTo(20);
+    }
+
+    @Test
+    void create_shouldDefaultBounds_whenNotConfigured() {
+        ParserConfig config = new ParserConfig();
+        config.setRateLimitPerSecond(10);
+
+        AdaptiveRateLimiter limiter = AdaptiveRateLimiter.create(Source.AIF_RU, config);
+
+        assertThat(limiter.getMinRate()).isEqualTo(1);
+        assertThat(limiter.getMaxRate()).isEqualTo(10);
+    }
+
+    @Test
+    void onSuccess_shouldIncreaseRate_afterHealthyStreak() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 10, 1, 20);
+
+        for (int i = 0; i < AdaptiveRateLimiter.HEALTHY_RESPONSES_TO_INCREASE; i++) {
+            limiter.onSuccess(Duration.ofMillis(100));
+        }
+
+        assertThat(limiter.getRate()).isCloseTo(10.5, within(0.001));
+    }
+
+    @Test
+    void onSuccess_shouldNotExceedMaxRate() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 10, 1, 10);
+
+        for (int i = 0; i < AdaptiveRateLimiter.HEALTHY_RESPONSES_TO_INCREASE * 3; i++) {
+            limiter.onSuccess(Duration.ofMillis(100));
+        }
+
+        assertThat(limiter.getRate()).isCloseTo(10, within(0.001));
+    }
+
+    @Test
+    void onSuccess_shouldDecreaseRate_whenP95LatencyRises() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 10, 1, 10);
+
+        for (int i = 0; i < AdaptiveRateLimiter.LATENCY_WINDOW; i++) {
+            limiter.onSuccess(Duration.ofMillis(100));
+        }
+        for (int i = 0; i < AdaptiveRateLimiter.LATENCY_WINDOW; i++) {
+            limiter.onSuccess(Duration.ofMillis(1000));
+        }
+
+        assertThat(limiter.getRate()).isLessThan(10);
+    }
+
+    @Test
+    void onSuccess_shouldAdaptBaseline_toSustainedLatencyShift() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 10, 1, 20);
+
+        for (int i = 0; i < AdaptiveRateLimiter.LATENCY_WINDOW; i++) {
+            limiter.onSuccess(Duration.ofMillis(50));
+        }
+        for (int i = 0; i < AdaptiveRateLimiter.LATENCY_WINDOW * 2; i++) {
+            limiter.onSuccess(Duration.ofMillis(300));
+        }
+        double adapted = limiter.getRate();
+        for (int i = 0; i < AdaptiveRateLimiter.LATENCY_WINDOW; i++) {
+            limiter.onSuccess(Duration.ofMillis(300));
+        }
+
+        assertThat(limiter.getRate()).isGreaterThan(adapted);
+    }
+
+    @Test
+    void onThrottle_shouldHalveRateButRespectMinimum() {
+        AtomicLong clock = new AtomicLong();
+        AdaptiveRateLimiter limiter = limiterWithClock(clock, 10, 4);
+
+        limiter.onThrottle(null);
+        assertThat(limiter.getRate()).isCloseTo(5, within(0.001));
+
+        clock.addAndGet(AdaptiveRateLimiter.MIN_DECREASE_INTERVAL.toNanos());
+        limiter.onThrottle(null);
+        assertThat(limiter.getRate()).isCloseTo(4, within(0.001));
+    }
+
+    @Test
+    void onThrottle_shouldDecreaseOnlyOnce_perOverloadEpisode() {
+        AtomicLong clock = new AtomicLong();
+        AdaptiveRateLimiter limiter = limiterWithClock(clock, 16, 1);
+
+        limiter.onThrottle(null);
+        limiter.onTimeout();
+        clock.addAndGet(AdaptiveRateLimiter.MIN_DECREASE_INTERVAL.toNanos() / 2);
+        limiter.onThrottle(null);
+        assertThat(limiter.getRate()).isCloseTo(8, within(0.001));
+
+        clock.addAndGet(AdaptiveRateLimiter.MIN_DECREASE_INTERVAL.toNanos());
+        limiter.onThrottle(null);
+        assertThat(limiter.getRate()).isCloseTo(4, within(0.001));
+    }
+
+    @Test
+    void onThrottle_shouldStretchEpisode_toObservedP95Latency() {
+        AtomicLong clock = new AtomicLong();
+        AdaptiveRateLimiter limiter = limiterWithClock(clock, 16, 1);
+        for (int i = 0; i < 10; i++) {
+            limiter.onSuccess(Duration.ofSeconds(3));
+        }
+
+        limiter.onThrottle(null);
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        limiter.onThrottle(null);
+        assertThat(limiter.getRate()).isCloseTo(8, within(0.001));
+
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        limiter.onThrottle(null);
+        assertThat(limiter.getRate()).isCloseTo(4, within(0.001));
+    }
+
+    @Test
+    void onThrottle_shouldDecreaseOnce_whenBurstOfThrottlesArrivesConcurrently() throws Exception {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 16, 1, 16);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 10; j++) {
+                        limiter.onThrottle(null);
+                        limiter.onTimeout();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(limiter.getRate()).isCloseTo(8, within(0.001));
+    }
+
+    @Test
+    void onThrottle_shouldPauseAcquire_forRetryAfter() throws InterruptedException {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 1000, 1, 1000);
+        limiter.onThrottle(Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        limiter.acquire();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(150));
+    }
+
+    @Test
+    void onThrottle_shouldClampRetryAfter_toConfiguredMaximum() throws InterruptedException {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 1000, 1, 1000, Duration.ofMillis(100));
+        limiter.onThrottle(Duration.ofDays(1));
+
+        long start = System.nanoTime();
+        limiter.acquire();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void tryAcquire_shouldFail_whilePausedByThrottling() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 1000, 1, 1000);
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        limiter.onThrottle(Duration.ofMinutes(1));
+
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void onTimeout_shouldDecreaseRate() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.SVPRESSA_RU, 10, 1, 10);
+
+        limiter.onTimeout();
+
+        assertThat(limiter.getRate()).isCloseTo(5, within(0.001));
+    }
+
+    private static AdaptiveRateLimiter limiterWithClock(AtomicLong clock, double rate, double minRate) {
+        return new AdaptiveRateLimiter(Source.RT_RU, rate, minRate, rate) {
+            @Override
+            long nanoTime() {
+                return clock.get();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,133 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.entity.NewsArticle;
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.NewsParser;
+import dev.j3rrryy.news_aggregator.parser.archive.ArchiveOrigin;
+import dev.j3rrryy.news_aggregator.parser.archive.PageArchive;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.fetch.FetchResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArchiveReparseServiceTest {
+
+    @TempDir
+    Path archiveDir;
+
+    @Mock
+    private NewsParser parser;
+
+    @Mock
+    private ParsingService parsingService;
+
+    @Mock
+    private ParsingStatusManager parsingStatusManager;
+
+    private PageArchive pageArchive;
+    private ArchiveReparseService archiveReparseService;
+    private final ExecutorService cpuExecutor = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        ParserProperties parserProperties = new ParserProperties();
+        parserProperties.setArchiveEnabled(true);
+        parserProperties.setArchiveDir(archiveDir.toString());
+        pageArchive = new PageArchive(parserProperties);
+
+        archiveReparseService = new ArchiveReparseService(
+                List.of(parser), pageArchive, cpuExecutor, parsingService, parsingStatusManager
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        cpuExecutor.shutdownNow();
+    }
+
+    @Test
+    void runAsyncReparse_shouldUpdateStoredArticlesOnly() {
+        String storedUrl = "https://example.com/stored";
+        String listingUrl = "https://example.com/listing";
+        pageArchive.append(response(storedUrl), null);
+        pageArchive.append(response(listingUrl), null);
+
+        NewsArticle article = NewsArticle.builder().url(storedUrl).build();
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        when(parsingService.findCategoriesByUrls(List.of(storedUrl, listingUrl)))
+                .thenReturn(Map.of(storedUrl, Category.SPORT));
+        when(parser.handlesUrl(storedUrl)).thenReturn(true);
+        when(parser.parseArchivedArticle(any(), eq(Category.SPORT))).thenReturn(Optional.of(article));
+        when(parsingService.upsertArticles(List.of(article))).thenReturn(1);
+
+        archiveReparseService.runAsyncReparse();
+
+        verify(parser, never()).handlesUrl(listingUrl);
+        verify(parsingService).upsertArticles(List.of(article));
+        verify(parsingStatusManager).stopParsing();
+        verify(parsingStatusManager).resetStopRequest();
+    }
+
+    @Test
+    void reparse_shouldStop_whenStopRequested() throws Exception {
+        pageArchive.append(response("https://example.com/a"), null);
+        when(parsingStatusManager.isStopRequested()).thenReturn(true);
+
+        assertEquals(0, archiveReparseService.reparse());
+        verifyNoInteractions(parsingService, parser);
+    }
+
+    @Test
+    void reparse_shouldSkipUrls_whenNoParserHandlesThem() throws Exception {
+        String url = "https://unknown.com/a";
+        pageArchive.append(response(url), null);
+
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        when(parsingService.findCategoriesByUrls(List.of(url))).thenReturn(Map.of(url, Category.POLITICS));
+        when(parser.handlesUrl(url)).thenReturn(false);
+
+        archiveReparseService.reparse();
+
+        verify(parser, never()).parseArchivedArticle(any(), any());
+        verify(parsingService).upsertArticles(List.of());
+    }
+
+    @Test
+    void reparse_shouldInsertMissingArticles_usingArchivedOrigin() throws Exception {
+        String url = "https://example.com/missing";
+        pageArchive.append(response(url), new ArchiveOrigin(Source.RT_RU, Category.SPORT, "/sport"));
+
+        NewsArticle article = NewsArticle.builder().url(url).build();
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        when(parsingService.findCategoriesByUrls(List.of(url))).thenReturn(Map.of());
+        when(parser.handlesUrl(url)).thenReturn(true);
+        when(parser.parseArchivedArticle(any(), eq(Category.SPORT))).thenReturn(Optional.of(article));
+        when(parsingService.upsertArticles(List.of(article))).thenReturn(1);
+
+        assertEquals(1, archiveReparseService.reparse());
+        assertEquals("/sport", article.getCrawlPath());
+    }
+
+    private FetchResponse response(String url) {
+        return new FetchResponse(200, url, Map.of(), "<html><body>text</body></html>".getBytes(StandardCharsets.UTF_8));
+    }
+
+}
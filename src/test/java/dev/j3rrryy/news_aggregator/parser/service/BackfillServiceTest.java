@@ -0,0 +1,186 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.NewsParser;
+import dev.j3rrryy.news_aggregator.parser.config.ParserConfig;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BackfillServiceTest {
+
+    private static final LocalDate TARGET_DATE = LocalDate.of(2020, 1, 1);
+    private static final LocalDateTime TARGET = TARGET_DATE.atStartOfDay();
+
+    @Mock
+    private NewsParser parser;
+
+    @Mock
+    private CrawlLeaseManager crawlLeaseManager;
+
+    @Mock
+    private ParserControlPlane parserControlPlane;
+
+    @Mock
+    private BackfillStateStore backfillStateStore;
+
+    @Mock
+    private ParsingStatusManager parsingStatusManager;
+
+    private final ExecutorService ioExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private ParserProperties parserProperties;
+    private BackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        ParserConfig config = new ParserConfig();
+        config.getCategoryUrls().put(Category.SPORT, Set.of("sport"));
+        parserProperties = new ParserProperties();
+        parserProperties.setConfigs(Map.of(Source.RT_RU, config));
+        parserProperties.setSourceStatuses(Map.of(Source.RT_RU, true));
+        parserProperties.setBackfillYieldPause(Duration.ofMillis(10));
+
+        lenient().when(parser.getSource()).thenReturn(Source.RT_RU);
+        lenient().when(parser.getInitialPage()).thenReturn(1);
+        lenient().when(crawlLeaseManager.tryAcquire(any(), any(), any())).thenReturn(Optional.of(CrawlLease.LOCAL));
+
+        backfillService = new BackfillService(
+                List.of(parser), ioExecutor, parserProperties, crawlLeaseManager,
+                parserControlPlane, backfillStateStore, parsingStatusManager
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioExecutor.shutdownNow();
+    }
+
+    @Test
+    void run_shouldCrawlPagesUntilTargetDate_andFinish() {
+        when(backfillStateStore.getPage(Source.RT_RU, Category.SPORT, "sport"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(2));
+        when(parser.backfillPage("sport", Category.SPORT, 1, TARGET)).thenReturn(new BackfillResult(true, 5, false));
+        when(parser.backfillPage("sport", Category.SPORT, 2, TARGET)).thenReturn(new BackfillResult(true, 3, true));
+
+        backfillService.start(TARGET_DATE);
+        waitUntilFinished();
+
+        verify(backfillStateStore).activate(TARGET_DATE);
+        verify(backfillStateStore).updatePage(Source.RT_RU, Category.SPORT, "sport", 2);
+        verify(backfillStateStore).markDone(Source.RT_RU, Category.SPORT, "sport");
+        verify(backfillStateStore).deactivate();
+        BackfillService.BackfillProgress progress = backfillService.getProgress();
+        assertEquals(2, progress.pagesCrawled());
+        assertEquals(8, progress.articlesSaved());
+    }
+
+    @Test
+    void run_shouldSkipCompletedPaths() {
+        when(backfillStateStore.isDone(Source.RT_RU, Category.SPORT, "sport")).thenReturn(true);
+
+        backfillService.run(TARGET_DATE);
+
+        verify(parser, never()).backfillPage(any(), any(), anyInt(), any());
+        verify(backfillStateStore).deactivate();
+    }
+
+    @Test
+    void run_shouldSkipPage_afterRepeatedFetchFailures() {
+        parserProperties.setBackfillPageAttempts(2);
+        when(backfillStateStore.getPage(Source.RT_RU, Category.SPORT, "sport"))
+                .thenReturn(Optional.of(4), Optional.of(4), Optional.of(5));
+        when(parser.backfillPage("sport", Category.SPORT, 4, TARGET)).thenReturn(BackfillResult.FAILED);
+        when(parser.backfillPage("sport", Category.SPORT, 5, TARGET)).thenReturn(new BackfillResult(true, 0, true));
+
+        backfillService.run(TARGET_DATE);
+
+        verify(parser, times(2)).backfillPage("sport", Category.SPORT, 4, TARGET);
+        verify(backfillStateStore).updatePage(Source.RT_RU, Category.SPORT, "sport", 5);
+        verify(backfillStateStore).markDone(Source.RT_RU, Category.SPORT, "sport");
+    }
+
+    @Test
+    void run_shouldYield_whileHeadCrawlIsRunning() {
+        when(parsingStatusManager.isParsingInProgress()).thenReturn(true, true, false);
+        when(backfillStateStore.getPage(any(), any(), any())).thenReturn(Optional.empty());
+        when(parser.backfillPage("sport", Category.SPORT, 1, TARGET)).thenReturn(new BackfillResult(true, 1, true));
+
+        backfillService.run(TARGET_DATE);
+
+        verify(parsingStatusManager, times(3)).isParsingInProgress();
+        verify(parser).backfillPage("sport", Category.SPORT, 1, TARGET);
+    }
+
+    @Test
+    void run_shouldSkipDisabledSources() {
+        parserProperties.setSourceStatuses(Map.of(Source.RT_RU, false));
+
+        backfillService.run(TARGET_DATE);
+
+        verify(parser, never()).backfillPage(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void start_shouldReturnFalse_whenAlreadyRunning() {
+        when(parsingStatusManager.isParsingInProgress()).thenReturn(true);
+
+        assertTrue(backfillService.start(TARGET_DATE));
+        assertFalse(backfillService.start(TARGET_DATE));
+        assertTrue(backfillService.stop());
+
+        waitUntilFinished();
+        verify(backfillStateStore).deactivate();
+        assertFalse(backfillService.stop());
+    }
+
+    @Test
+    void init_shouldResumeActiveBackfill() {
+        when(backfillStateStore.isActive()).thenReturn(true);
+        when(backfillStateStore.getTargetDate()).thenReturn(Optional.of(TARGET_DATE));
+        when(backfillStateStore.isDone(any(), any(), any())).thenReturn(true);
+
+        backfillService.init();
+        waitUntilFinished();
+
+        verify(backfillStateStore).activate(TARGET_DATE);
+    }
+
+    @Test
+    void getProgress_shouldCountCompletedPaths() {
+        when(backfillStateStore.isDone(Source.RT_RU, Category.SPORT, "sport")).thenReturn(true);
+
+        BackfillService.BackfillProgress progress = backfillService.getProgress();
+
+        assertEquals(1, progress.pathsTotal());
+        assertEquals(1, progress.pathsCompleted());
+    }
+
+    private void waitUntilFinished() {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (backfillService.isRunning() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertFalse(backfillService.isRunning());
+    }
+
+}
@@ -0,0 +1,79 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class BackfillStateStoreTest {
+
+    private BackfillStateStore stateStore;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private HashOperations<String, Object, Object> hashOps;
+    private SetOperations<String, String> setOps;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOps = mock();
+        hashOps = mock();
+        setOps = mock();
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        doReturn(hashOps).when(redisTemplate).opsForHash();
+        when(redisTemplate.opsForSet()).thenReturn(setOps);
+        stateStore = new BackfillStateStore(redisTemplate);
+    }
+
+    @Test
+    void activate_shouldResetCursors_whenTargetDateChanges() {
+        when(valueOps.get("backfill:target")).thenReturn("2020-01-01");
+
+        stateStore.activate(LocalDate.of(2019, 1, 1));
+
+        verify(redisTemplate).delete(List.of("backfill:pages", "backfill:done"));
+        verify(valueOps).set("backfill:target", "2019-01-01");
+        verify(valueOps).set("backfill:active", "1");
+    }
+
+    @Test
+    void activate_shouldKeepCursors_whenResumingSameTargetDate() {
+        when(valueOps.get("backfill:target")).thenReturn("2020-01-01");
+
+        stateStore.activate(LocalDate.of(2020, 1, 1));
+
+        verify(redisTemplate, never()).delete(anyCollection());
+        verify(valueOps).set("backfill:active", "1");
+    }
+
+    @Test
+    void getPage_shouldReadCursorOfPath() {
+        when(hashOps.get("backfill:pages", "RT_RU:SPORT:%2Fnews")).thenReturn("17");
+
+        assertEquals(Optional.of(17), stateStore.getPage(Source.RT_RU, Category.SPORT, "/news"));
+        assertTrue(stateStore.getPage(Source.AIF_RU, Category.SPORT, "/news").isEmpty());
+    }
+
+    @Test
+    void markDone_shouldRecordPathAndDropCursor() {
+        stateStore.markDone(Source.RT_RU, Category.SPORT, "/news");
+
+        verify(setOps).add("backfill:done", "RT_RU:SPORT:%2Fnews");
+        verify(hashOps).delete("backfill:pages", "RT_RU:SPORT:%2Fnews");
+    }
+
+}
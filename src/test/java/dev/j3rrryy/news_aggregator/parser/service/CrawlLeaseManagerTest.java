@@ -0,0 +1,129 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CrawlLeaseManagerTest {
+
+    private static final String KEY = "lease:RT_RU:SPORT:%2Fnews";
+
+    private CrawlLeaseManager leaseManager;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private ScheduledExecutorService heartbeatScheduler;
+    private ParserProperties parserProperties;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOps = mock();
+        heartbeatScheduler = mock(ScheduledExecutorService.class);
+        parserProperties = new ParserProperties();
+        parserProperties.setClusterEnabled(true);
+        parserProperties.setLeaseTtl(Duration.ofSeconds(30));
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        doReturn(mock(ScheduledFuture.class)).when(heartbeatScheduler)
+                .scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+        leaseManager = new CrawlLeaseManager(redisTemplate, parserProperties, heartbeatScheduler);
+    }
+
+    @Test
+    void tryAcquire_shouldReturnLocalLease_whenClusterModeDisabled() {
+        parserProperties.setClusterEnabled(false);
+
+        Optional<CrawlLease> lease = leaseManager.tryAcquire(Source.RT_RU, Category.SPORT, "/news");
+
+        assertSame(CrawlLease.LOCAL, lease.orElseThrow());
+        verifyNoInteractions(redisTemplate, heartbeatScheduler);
+    }
+
+    @Test
+    void tryAcquire_shouldReturnEmpty_whenLeaseHeldByAnotherNode() {
+        when(valueOps.setIfAbsent(eq(KEY), anyString(), eq(Duration.ofSeconds(30)))).thenReturn(false);
+
+        assertTrue(leaseManager.tryAcquire(Source.RT_RU, Category.SPORT, "/news").isEmpty());
+        verifyNoInteractions(heartbeatScheduler);
+    }
+
+    @Test
+    void tryAcquire_shouldScheduleHeartbeatAndReleaseOnClose() {
+        when(valueOps.setIfAbsent(eq(KEY), startsWith(leaseManager.getNodeId()), eq(Duration.ofSeconds(30))))
+                .thenReturn(true);
+
+        CrawlLease lease = leaseManager.tryAcquire(Source.RT_RU, Category.SPORT, "/news").orElseThrow();
+        assertTrue(lease.isHeld());
+        verify(heartbeatScheduler).scheduleAtFixedRate(any(), eq(10_000L), eq(10_000L), eq(TimeUnit.MILLISECONDS));
+
+        lease.close();
+        assertFalse(lease.isHeld());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), startsWith(leaseManager.getNodeId()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void renew_shouldReportLostLease() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(KEY)), eq("token"), eq("30000")))
+                .thenReturn(1L, 0L);
+
+        assertTrue(leaseManager.renew(KEY, "token", Duration.ofSeconds(30)));
+        assertFalse(leaseManager.renew(KEY, "token", Duration.ofSeconds(30)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void isHeld_shouldTurnFalse_whenRenewalFailsLongerThanTtl() throws InterruptedException {
+        parserProperties.setLeaseTtl(Duration.ofMillis(100));
+        when(valueOps.setIfAbsent(eq(KEY), anyString(), eq(Duration.ofMillis(100)))).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(KEY)), anyString(), eq("100")))
+                .thenThrow(new IllegalStateException("redis is down"));
+
+        CrawlLease lease = leaseManager.tryAcquire(Source.RT_RU, Category.SPORT, "/news").orElseThrow();
+        ArgumentCaptor<Runnable> heartbeat = ArgumentCaptor.forClass(Runnable.class);
+        verify(heartbeatScheduler).scheduleAtFixedRate(heartbeat.capture(), anyLong(), anyLong(), any());
+
+        heartbeat.getValue().run();
+        assertTrue(lease.isHeld());
+
+        Thread.sleep(120);
+        heartbeat.getValue().run();
+        assertFalse(lease.isHeld());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void isHeld_shouldStayTrue_whileRenewalsSucceed() throws InterruptedException {
+        parserProperties.setLeaseTtl(Duration.ofMillis(100));
+        when(valueOps.setIfAbsent(eq(KEY), anyString(), eq(Duration.ofMillis(100)))).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(KEY)), anyString(), eq("100"))).thenReturn(1L);
+
+        CrawlLease lease = leaseManager.tryAcquire(Source.RT_RU, Category.SPORT, "/news").orElseThrow();
+        ArgumentCaptor<Runnable> heartbeat = ArgumentCaptor.forClass(Runnable.class);
+        verify(heartbeatScheduler).scheduleAtFixedRate(heartbeat.capture(), anyLong(), anyLong(), any());
+
+        for (int i = 0; i < 4; i++) {
+            Thread.sleep(40);
+            heartbeat.getValue().run();
+        }
+
+        assertTrue(lease.isHeld());
+    }
+
+}
@@ -0,0 +1,199 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.enums.CrawlPriority;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserConfig;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CrawlSchedulerTest {
+
+    private final AdaptiveRateLimiter rtLimiter = new AdaptiveRateLimiter(Source.RT_RU, 1_000_000, 1_000_000, 1_000_000);
+    private final AdaptiveRateLimiter aifLimiter = new AdaptiveRateLimiter(Source.AIF_RU, 1_000_000, 1_000_000, 1_000_000);
+    private final List<String> grants = Collections.synchronizedList(new ArrayList<>());
+
+    private ParserProperties parserProperties;
+    private CrawlScheduler crawlScheduler;
+
+    @BeforeEach
+    void setUp() {
+        parserProperties = new ParserProperties();
+        parserProperties.setCrawlMaxConcurrentRequests(1);
+        crawlScheduler = new CrawlScheduler(parserProperties);
+    }
+
+    @Test
+    void acquire_shouldGrantImmediately_whenCapacityIsFree() throws InterruptedException {
+        assertThat(crawlScheduler.acquire(rtLimiter, CrawlPriority.ARTICLE, null)).isTrue();
+        assertThat(crawlScheduler.getInFlight()).isEqualTo(1);
+
+        crawlScheduler.release(rtLimiter.getSource());
+        assertThat(crawlScheduler.getInFlight()).isZero();
+    }
+
+    @Test
+    void acquire_shouldNotGrant_whenDeadlineAlreadyPassed() throws InterruptedException {
+        assertThat(crawlScheduler.acquire(rtLimiter, CrawlPriority.ARTICLE, Instant.now().minusSeconds(1))).isFalse();
+        assertThat(crawlScheduler.getInFlight()).isZero();
+        assertThat(crawlScheduler.getQueued()).isZero();
+    }
+
+    @Test
+    void acquire_shouldGiveUp_afterConfiguredQueueTimeout() throws InterruptedException {
+        parserProperties.getCrawlQueueTimeouts().put(CrawlPriority.TAIL_LISTING, Duration.ofMillis(50));
+        crawlScheduler.acquire(rtLimiter, CrawlPriority.ARTICLE, null);
+
+        long start = System.nanoTime();
+        boolean granted = crawlScheduler.acquire(aifLimiter, CrawlPriority.TAIL_LISTING, null);
+
+        assertThat(granted).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(40));
+        assertThat(crawlScheduler.getQueued()).isZero();
+    }
+
+    @Test
+    void release_shouldGrantHigherPriorityFirst() throws InterruptedException {
+        crawlScheduler.acquire(rtLimiter, CrawlPriority.ARTICLE, null);
+
+        List<Thread> waiters = List.of(
+                waitFor(rtLimiter, CrawlPriority.BACKFILL, "backfill", 1),
+                waitFor(rtLimiter, CrawlPriority.TAIL_LISTING, "tail", 2),
+                waitFor(rtLimiter, CrawlPriority.HEAD_LISTING, "head", 3)
+        );
+        crawlScheduler.release(rtLimiter.getSource());
+        for (Thread waiter : waiters) waiter.join();
+
+        assertThat(grants).containsExactly("head", "tail", "backfill");
+    }
+
+    @Test
+    void release_shouldRotateBetweenHosts() throws InterruptedException {
+        crawlScheduler.acquire(rtLimiter, CrawlPriority.ARTICLE, null);
+
+        List<Thread> waiters = List.of(
+                waitFor(rtLimiter, CrawlPriority.ARTICLE, "rt", 1),
+                waitFor(rtLimiter, CrawlPriority.ARTICLE, "rt", 2),
+                waitFor(aifLimiter, CrawlPriority.ARTICLE, "aif", 3)
+        );
+        crawlScheduler.release(rtLimiter.getSource());
+        for (Thread waiter : waiters) waiter.join();
+
+        assertThat(grants).containsExactly("rt", "aif", "rt");
+    }
+
+    @Test
+    void release_shouldServeEarlierDeadlineFirst_withinPriority() throws InterruptedException {
+        crawlScheduler.acquire(rtLimiter, CrawlPriority.ARTICLE, null);
+
+        List<Thread> waiters = List.of(
+                waitFor(rtLimiter, CrawlPriority.ARTICLE, Instant.now().plusSeconds(60), "late", 1),
+                waitFor(rtLimiter, CrawlPriority.ARTICLE, Instant.now().plusSeconds(30), "early", 2)
+        );
+        crawlScheduler.release(rtLimiter.getSource());
+        for (Thread waiter : waiters) waiter.join();
+
+        assertThat(grants).containsExactly("early", "late");
+    }
+
+    @Test
+    void acquire_shouldWakeAtNextPermit_whenRateLimited() throws InterruptedException {
+        parserProperties.setCrawlMaxConcurrentRequests(10);
+        AdaptiveRateLimiter slowLimiter = new AdaptiveRateLimiter(Source.SVPRESSA_RU, 20, 20, 20);
+
+        long start = System.nanoTime();
+        List<Thread> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(Thread.ofVirtual().start(() -> {
+                try {
+                    if (crawlScheduler.acquire(slowLimiter, CrawlPriority.ARTICLE, null)) grants.add("svpressa");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread waiter : waiters) waiter.join(Duration.ofSeconds(2));
+
+        assertThat(grants).hasSize(3);
+        assertThat(crawlScheduler.getInFlight()).isEqualTo(3);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(80));
+    }
+
+    @Test
+    void acquire_shouldIsolateHosts_whenHostBulkheadIsFull() throws InterruptedException {
+        parserProperties.setCrawlMaxConcurrentRequests(10);
+        configure(Source.RT_RU, 1);
+        configure(Source.AIF_RU, 0);
+
+        assertThat(crawlScheduler.acquire(rtLimiter, CrawlPriority.ARTICLE, null)).isTrue();
+        Instant deadline = Instant.now().plusMillis(50);
+        assertThat(crawlScheduler.acquire(rtLimiter, CrawlPriority.HEAD_LISTING, deadline)).isFalse();
+        assertThat(crawlScheduler.acquire(aifLimiter, CrawlPriority.ARTICLE, null)).isTrue();
+
+        CrawlScheduler.HostStats rtStats = stats(Source.RT_RU);
+        assertThat(rtStats.maxConcurrentRequests()).isEqualTo(1);
+        assertThat(rtStats.inFlight()).isEqualTo(1);
+        assertThat(rtStats.granted()).isEqualTo(1);
+        assertThat(rtStats.expired()).isEqualTo(1);
+        assertThat(rtStats.saturation()).isPositive();
+        assertThat(stats(Source.AIF_RU).saturation()).isZero();
+    }
+
+    @Test
+    void setMaxConcurrentRequests_shouldAdmitQueuedRequests_whenRaised() throws InterruptedException {
+        parserProperties.setCrawlMaxConcurrentRequests(10);
+        configure(Source.RT_RU, 1);
+        crawlScheduler.acquire(rtLimiter, CrawlPriority.ARTICLE, null);
+
+        Thread waiter = waitFor(rtLimiter, CrawlPriority.ARTICLE, "rt", 1);
+        crawlScheduler.setMaxConcurrentRequests(Source.RT_RU, 2);
+        waiter.join();
+
+        assertThat(grants).containsExactly("rt");
+        assertThat(parserProperties.getConfigs().get(Source.RT_RU).getMaxConcurrentRequests()).isEqualTo(2);
+        assertThat(stats(Source.RT_RU).maxWait()).isPositive();
+    }
+
+    private void configure(Source source, int maxConcurrentRequests) {
+        ParserConfig config = new ParserConfig();
+        config.setMaxConcurrentRequests(maxConcurrentRequests);
+        parserProperties.getConfigs().put(source, config);
+    }
+
+    private CrawlScheduler.HostStats stats(Source source) {
+        return crawlScheduler.getHostStats().stream()
+                .filter(stats -> stats.source() == source)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Thread waitFor(AdaptiveRateLimiter limiter, CrawlPriority priority, String label, int queued) {
+        return waitFor(limiter, priority, null, label, queued);
+    }
+
+    private Thread waitFor(
+            AdaptiveRateLimiter limiter, CrawlPriority priority, Instant deadline, String label, int queued
+    ) {
+        Thread thread = Thread.ofVirtual().start(() -> {
+            try {
+                if (crawlScheduler.acquire(limiter, priority, deadline)) {
+                    grants.add(label);
+                    crawlScheduler.release(limiter.getSource());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        while (crawlScheduler.getQueued() < queued) Thread.onSpinWait();
+        return thread;
+    }
+
+}
@@ -0,0 +1,182 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.entity.NewsArticle;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IngestBufferTest {
+
+    @Mock
+    private ParsingService parsingService;
+
+    private ParserProperties parserProperties;
+    private IngestBuffer ingestBuffer;
+
+    @BeforeEach
+    void setUp() {
+        parserProperties = new ParserProperties();
+        ingestBuffer = new IngestBuffer(parsingService, parserProperties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ingestBuffer.shutdown();
+    }
+
+    @Test
+    void save_shouldReturnSavedCountOfCallerArticlesOnly() {
+        ingestBuffer.start();
+        NewsArticle stored = article("stored");
+        NewsArticle fresh = article("fresh");
+        when(parsingService.saveArticles(List.of(stored, fresh))).thenReturn(Set.of("fresh"));
+
+        assertEquals(1, ingestBuffer.save(List.of(stored, fresh)));
+    }
+
+    @Test
+    void save_shouldMergeConcurrentSubmissionsIntoOneBatch() throws Exception {
+        parserProperties.setIngestBatchSize(2);
+        parserProperties.setIngestFlushInterval(Duration.ofSeconds(5));
+        ingestBuffer.start();
+        when(parsingService.saveArticles(anyList())).thenAnswer(invocation -> {
+            List<NewsArticle> articles = invocation.getArgument(0);
+            Set<String> urls = new HashSet<>();
+            articles.forEach(article -> urls.add(article.getUrl()));
+            return urls;
+        });
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> ingestBuffer.save(List.of(article("a"))));
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> ingestBuffer.save(List.of(article("b"))));
+
+        assertEquals(1, first.get(2, TimeUnit.SECONDS));
+        assertEquals(1, second.get(2, TimeUnit.SECONDS));
+        verify(parsingService).saveArticles(argThat(articles -> articles.size() == 2));
+    }
+
+    @Test
+    void save_shouldFlushPartialBatch_afterFlushInterval() {
+        parserProperties.setIngestBatchSize(100);
+        parserProperties.setIngestFlushInterval(Duration.ofMillis(50));
+        ingestBuffer.start();
+        when(parsingService.saveArticles(anyList())).thenReturn(Set.of("a"));
+
+        assertEquals(1, ingestBuffer.save(List.of(article("a"))));
+    }
+
+    @Test
+    void save_shouldPropagateFailure_toCaller() {
+        ingestBuffer.start();
+        when(parsingService.saveArticles(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(RuntimeException.class, () -> ingestBuffer.save(List.of(article("a"))));
+    }
+
+    @Test
+    void write_shouldRetryPagesSeparately_whenMergedBatchFails() throws Exception {
+        parserProperties.setIngestBatchSize(2);
+        parserProperties.setIngestFlushInterval(Duration.ofSeconds(5));
+        ingestBuffer.start();
+        NewsArticle good = article("good");
+        NewsArticle bad = article("bad");
+        when(parsingService.saveArticles(anyList())).thenAnswer(invocation -> {
+            List<NewsArticle> articles = invocation.getArgument(0);
+            if (articles.contains(bad)) throw new IllegalStateException("constraint violation");
+            return Set.of("good");
+        });
+
+        CompletableFuture<Integer> first = ingestBuffer.submit(List.of(good));
+        CompletableFuture<Integer> second = ingestBuffer.submit(List.of(bad));
+
+        assertEquals(1, first.get(2, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> second.get(2, TimeUnit.SECONDS));
+        verify(parsingService, times(3)).saveArticles(anyList());
+    }
+
+    @Test
+    void submit_shouldFail_whenInterruptedWhileEnqueueing() {
+        ingestBuffer.start();
+
+        Thread.currentThread().interrupt();
+        CompletableFuture<Integer> result = ingestBuffer.submit(List.of(article("c")));
+
+        assertTrue(Thread.interrupted());
+        assertTrue(result.isCompletedExceptionally());
+        verifyNoInteractions(parsingService);
+    }
+
+    @Test
+    void save_shouldWriteDirectly_afterShutdown() throws InterruptedException {
+        ingestBuffer.start();
+        ingestBuffer.shutdown();
+        when(parsingService.saveArticles(anyList())).thenReturn(Set.of("a"));
+
+        assertEquals(1, ingestBuffer.save(List.of(article("a"))));
+    }
+
+    @Test
+    void shutdown_shouldFlushBufferedArticles() throws Exception {
+        parserProperties.setIngestBatchSize(100);
+        parserProperties.setIngestFlushInterval(Duration.ofMinutes(1));
+        ingestBuffer.start();
+        CountDownLatch saved = new CountDownLatch(1);
+        when(parsingService.saveArticles(anyList())).thenAnswer(invocation -> {
+            saved.countDown();
+            return Set.of("a");
+        });
+
+        CompletableFuture<Integer> pending = CompletableFuture.supplyAsync(() -> ingestBuffer.save(List.of(article("a"))));
+        Thread.sleep(100);
+        assertFalse(pending.isDone());
+
+        ingestBuffer.shutdown();
+
+        assertTrue(saved.await(2, TimeUnit.SECONDS));
+        assertEquals(1, pending.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_shouldNotBlockCaller_untilBatchIsWritten() throws Exception {
+        parserProperties.setIngestBatchSize(2);
+        parserProperties.setIngestFlushInterval(Duration.ofSeconds(5));
+        ingestBuffer.start();
+        when(parsingService.saveArticles(anyList())).thenReturn(Set.of("a", "b"));
+
+        CompletableFuture<Integer> first = ingestBuffer.submit(List.of(article("a")));
+        assertFalse(first.isDone());
+
+        CompletableFuture<Integer> second = ingestBuffer.submit(List.of(article("b")));
+        assertEquals(1, first.get(2, TimeUnit.SECONDS));
+        assertEquals(1, second.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void save_shouldReturnZero_whenNothingToSave() {
+        ingestBuffer.start();
+
+        assertEquals(0, ingestBuffer.save(List.of()));
+        verifyNoInteractions(parsingService);
+    }
+
+    private NewsArticle article(String url) {
+        return NewsArticle.builder().url(url).build();
+    }
+
+}
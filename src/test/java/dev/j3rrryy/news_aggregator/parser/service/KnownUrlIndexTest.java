@@ -0,0 +1,95 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.repository.NewsArticleBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class KnownUrlIndexTest {
+
+    private KnownUrlIndex knownUrlIndex;
+    private ExecutorService ioExecutor;
+    private NewsArticleBatchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        ioExecutor = mock(ExecutorService.class);
+        repository = mock(NewsArticleBatchRepository.class);
+
+        ParserProperties parserProperties = new ParserProperties();
+        parserProperties.setKnownUrlsExpectedInsertions(1000);
+        knownUrlIndex = new KnownUrlIndex(ioExecutor, parserProperties, repository);
+    }
+
+    @Test
+    void init_shouldWarmUpInBackground() {
+        knownUrlIndex.init();
+
+        verify(ioExecutor).execute(any());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void filterUnknown_shouldUseExactLookup_whenNotWarmedUp() {
+        when(repository.findExistingUrls(Set.of("a", "b"))).thenReturn(Set.of("a"));
+
+        assertEquals(Set.of("b"), knownUrlIndex.filterUnknown(Set.of("a", "b")));
+    }
+
+    @Test
+    void filterUnknown_shouldSkipDatabase_whenNoUrlMightBeKnown() {
+        warmUpWith("stored");
+
+        assertEquals(Set.of("new"), knownUrlIndex.filterUnknown(Set.of("new")));
+        verify(repository, never()).findExistingUrls(anyCollection());
+    }
+
+    @Test
+    void filterUnknown_shouldConfirmCandidatesAgainstDatabase() {
+        warmUpWith("stored", "deleted");
+        when(repository.findExistingUrls(Set.of("stored", "deleted"))).thenReturn(Set.of("stored"));
+
+        assertEquals(Set.of("deleted", "new"), knownUrlIndex.filterUnknown(Set.of("stored", "deleted", "new")));
+    }
+
+    @Test
+    void addAll_shouldMakeSavedUrlsKnown() {
+        warmUpWith();
+        knownUrlIndex.addAll(List.of("saved"));
+        when(repository.findExistingUrls(Set.of("saved"))).thenReturn(Set.of("saved"));
+
+        assertEquals(Set.of(), knownUrlIndex.filterUnknown(Set.of("saved")));
+    }
+
+    @Test
+    void addAll_shouldRebuild_whenExpectedSizeExceeded() {
+        warmUpWith();
+
+        knownUrlIndex.addAll(IntStream.range(0, 1500).mapToObj(i -> "url " + i).toList());
+
+        verify(ioExecutor).execute(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void warmUpWith(String... urls) {
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            for (String url : urls) consumer.accept(url);
+            return null;
+        }).when(repository).forEachUrl(any(Consumer.class));
+
+        knownUrlIndex.rebuild();
+    }
+
+}
@@ -1,7 +1,18 @@
 package dev.j3rrryy.news_aggregator.parser.service;
 
-import com.google.common.util.concurrent.RateLimiter;
-import org.jsoup.Connection;
+import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.CrawlPriority;
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.exceptions.PageThrottledException;
+import dev.j3rrryy.news_aggregator.parser.archive.ArchiveOrigin;
+import dev.j3rrryy.news_aggregator.parser.archive.PageArchive;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.fetch.FetchEngine;
+import dev.j3rrryy.news_aggregator.parser.fetch.FetchResponse;
+import dev.j3rrryy.news_aggregator.parser.fetch.PageValidators;
+import dev.j3rrryy.news_aggregator.parser.fetch.StreamedResponse;
+import dev.j3rrryy.news_aggregator.parser.fetch.ValidatorStore;
+import org.jsoup.HttpStatusException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,7 +21,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 
@@ -22,6 +39,17 @@ public class PageFetcherTest {
 
     private PageFetcher pageFetcher;
 
+    private final CrawlScheduler crawlScheduler = new CrawlScheduler(new ParserProperties());
+
+    @Mock
+    private PageArchive pageArchive;
+
+    @Mock
+    private FetchEngine fetchEngine;
+
+    @Mock
+    private ValidatorStore validatorStore;
+
     @Mock
     private UserAgentProvider userAgentProvider;
 
@@ -30,12 +58,14 @@ public class PageFetcherTest {
 
     @BeforeEach
     void setUp() {
-        pageFetcher = spy(new PageFetcher(userAgentProvider, parsingStatusManager));
+        pageFetcher = spy(new PageFetcher(
+                pageArchive, fetchEngine, validatorStore, crawlScheduler, userAgentProvider, parsingStatusManager
+        ));
     }
 
     @Test
     void downloadPage_shouldReturnDocumentWhenSuccessful() throws Exception {
-        RateLimiter limiter = RateLimiter.create(1000);
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 1000, 1000, 1000);
         String url = "https://example.com";
 
         Callable<Document> loader = mock();
@@ -45,7 +75,7 @@ public class PageFetcherTest {
         doReturn(false).when(pageFetcher).isThreadInterrupted();
         when(loader.call()).thenReturn(mockDoc);
 
-        Optional<Document> result = pageFetcher.downloadPage(loader, url, limiter);
+        Optional<Document> result = pageFetcher.downloadPage(loader, url, limiter, CrawlPriority.ARTICLE, null);
 
         assertTrue(result.isPresent());
         assertEquals("test", result.get().body().text());
@@ -53,7 +83,7 @@ public class PageFetcherTest {
 
     @Test
     void downloadPage_shouldReturnEmpty_whenThreadIsInterrupted() throws Exception {
-        RateLimiter limiter = RateLimiter.create(1000);
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 1000, 1000, 1000);
         String url = "https://example.com";
 
         Callable<Document> loader = mock();
@@ -61,7 +91,7 @@ public class PageFetcherTest {
         when(parsingStatusManager.isStopRequested()).thenReturn(false);
         doReturn(true).when(pageFetcher).isThreadInterrupted();
 
-        Optional<Document> result = pageFetcher.downloadPage(loader, url, limiter);
+        Optional<Document> result = pageFetcher.downloadPage(loader, url, limiter, CrawlPriority.ARTICLE, null);
 
         assertTrue(result.isEmpty());
         verify(loader, never()).call();
@@ -69,14 +99,14 @@ public class PageFetcherTest {
 
     @Test
     void downloadPage_shouldReturnEmpty_whenStopRequestedAndThreadInterrupted() throws Exception {
-        RateLimiter limiter = RateLimiter.create(1000);
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 1000, 1000, 1000);
         String url = "https://example.com";
 
         Callable<Document> loader = mock();
 
         when(parsingStatusManager.isStopRequested()).thenReturn(true);
 
-        Optional<Document> result = pageFetcher.downloadPage(loader, url, limiter);
+        Optional<Document> result = pageFetcher.downloadPage(loader, url, limiter, CrawlPriority.ARTICLE, null);
 
         assertTrue(result.isEmpty());
         verify(loader, never()).call();
@@ -84,7 +114,7 @@ public class PageFetcherTest {
 
     @Test
     void downloadPage_shouldReturnEmptyOnInterruptedException() throws Exception {
-        RateLimiter limiter = RateLimiter.create(1000);
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 1000, 1000, 1000);
         String url = "https://example.com";
 
         Callable<Document> loader = mock();
@@ -93,7 +123,7 @@ public class PageFetcherTest {
         doReturn(false).when(pageFetcher).isThreadInterrupted();
         when(loader.call()).thenThrow(new InterruptedException());
 
-        Optional<Document> result = pageFetcher.downloadPage(loader, url, limiter);
+        Optional<Document> result = pageFetcher.downloadPage(loader, url, limiter, CrawlPriority.ARTICLE, null);
 
         assertTrue(result.isEmpty());
         assertTrue(Thread.currentThread().isInterrupted());
@@ -101,7 +131,7 @@ public class PageFetcherTest {
 
     @Test
     void downloadPage_shouldReturnEmptyOnException() throws Exception {
-        RateLimiter limiter = RateLimiter.create(1000);
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(Source.RT_RU, 1000, 1000, 1000);
         String url = "https://example.com";
 
         Callable<Document> loader = mock();
@@ -110,7 +140,7 @@ public class PageFetcherTest {
         doReturn(false).when(pageFetcher).isThreadInterrupted();
         when(loader.call()).thenThrow(new IOException());
 
-        Optional<Document> result = pageFetcher.downloadPage(loader, url, limiter);
+        Optional<Document> result = pageFetcher.downloadPage(loader, url, limiter, CrawlPriority.ARTICLE, null);
 
         assertTrue(result.isEmpty());
     }
@@ -118,70 +148,189 @@ public class PageFetcherTest {
     @Test
     void fetchGet_shouldReturnCallableThatFetchesDocument() throws Exception {
         String url = "https://example.com";
-        Connection connection = mock();
-        Document mockDoc = Jsoup.parse("<html><body>test</body></html>");
+        byte[] body = "<html><body>test</body></html>".getBytes(StandardCharsets.UTF_8);
+
+        when(userAgentProvider.getNextUserAgent()).thenReturn("test user agent");
+        when(fetchEngine.execute(any())).thenReturn(new FetchResponse(200, url, Map.of(), body));
+
+        Callable<Document> callable = pageFetcher.fetchGet(url);
+        Document result = callable.call();
+
+        assertNotNull(result);
+        assertEquals("test", result.body().text());
+        assertEquals(url, result.location());
+        verify(fetchEngine).execute(argThat(request -> !request.isPost()
+                && request.url().equals(url)
+                && "test user agent".equals(request.headers().get("User-Agent"))
+        ));
+        verify(pageArchive).append(argThat(response -> response.url().equals(url)), isNull());
+    }
+
+    @Test
+    void fetchStreamed_shouldParseUpToEndSelector() throws Exception {
+        String url = "https://example.com";
+        byte[] body = "<html><body><p>test</p><footer>end</footer><p>tail</p></body></html>"
+                .getBytes(StandardCharsets.UTF_8);
+
+        when(userAgentProvider.getNextUserAgent()).thenReturn("test user agent");
+        when(fetchEngine.open(any())).thenReturn(
+                new StreamedResponse(200, url, Map.of(), new ByteArrayInputStream(body))
+        );
+
+        ArchiveOrigin origin = new ArchiveOrigin(Source.RT_RU, Category.SPORT, "/sport");
+        Document result = pageFetcher.fetchStreamed(url, "footer", origin).call();
+
+        assertEquals("test end", result.body().text());
+        assertEquals(url, result.location());
+        verify(fetchEngine, never()).execute(any());
+        verify(pageArchive).append(argThat(response -> response.url().equals(url)), eq(origin));
+    }
+
+    @Test
+    void fetchStreamed_shouldThrowThrottled_beforeReadingBody() throws Exception {
+        String url = "https://example.com";
+        InputStream body = mock(InputStream.class);
+
+        when(userAgentProvider.getNextUserAgent()).thenReturn("test user agent");
+        when(fetchEngine.open(any())).thenReturn(new StreamedResponse(503, url, Map.of("Retry-After", "3"), body));
+
+        PageThrottledException e = assertThrows(
+                PageThrottledException.class, () -> pageFetcher.fetchStreamed(url, "footer", null).call()
+        );
+
+        assertEquals(Duration.ofSeconds(3), e.getRetryAfter());
+        verify(body).close();
+        verify(body, never()).read(any(), anyInt(), anyInt());
+        verifyNoInteractions(pageArchive);
+    }
+
+    @Test
+    void fetchGet_shouldThrowThrottled_whenSourceRespondsWith429() throws Exception {
+        String url = "https://example.com";
+
+        when(userAgentProvider.getNextUserAgent()).thenReturn("test user agent");
+        when(fetchEngine.execute(any())).thenReturn(
+                new FetchResponse(429, url, Map.of("Retry-After", "7"), new byte[0])
+        );
 
-        try (var mockedStatic = mockStatic(org.jsoup.Jsoup.class)) {
-            mockedStatic.when(() -> org.jsoup.Jsoup.connect(url)).thenReturn(connection);
-            when(userAgentProvider.getNextUserAgent()).thenReturn("test user agent");
-            when(connection.userAgent("test user agent")).thenReturn(connection);
-            when(connection.timeout(45_000)).thenReturn(connection);
-            when(connection.headers(anyMap())).thenReturn(connection);
-            when(connection.get()).thenReturn(mockDoc);
+        PageThrottledException e = assertThrows(PageThrottledException.class, () -> pageFetcher.fetchGet(url).call());
 
-            Callable<Document> callable = pageFetcher.fetchGet(url);
-            Document result = callable.call();
+        assertEquals(429, e.getStatusCode());
+        assertEquals(Duration.ofSeconds(7), e.getRetryAfter());
+    }
+
+    @Test
+    void fetchGet_shouldThrowHttpStatus_whenSourceRespondsWithError() throws Exception {
+        String url = "https://example.com";
+
+        when(userAgentProvider.getNextUserAgent()).thenReturn("test user agent");
+        when(fetchEngine.execute(any())).thenReturn(new FetchResponse(404, url, Map.of(), new byte[0]));
 
-            assertNotNull(result);
-            assertEquals("test", result.body().text());
-            verify(connection).userAgent("test user agent");
-            verify(connection).timeout(45_000);
-            verify(connection).headers(anyMap());
-            verify(connection).get();
-        }
+        HttpStatusException e = assertThrows(HttpStatusException.class, () -> pageFetcher.fetchGet(url).call());
+        assertEquals(404, e.getStatusCode());
+        verifyNoInteractions(pageArchive);
+    }
+
+    @Test
+    void fetchConditionalGet_shouldSendStoredValidators_andReturnEmptyShellOnNotModified() throws Exception {
+        String url = "https://example.com";
+
+        when(userAgentProvider.getNextUserAgent()).thenReturn("test user agent");
+        when(validatorStore.get(url)).thenReturn(Optional.of(new PageValidators("\"v1\"", null)));
+        when(fetchEngine.execute(any())).thenReturn(new FetchResponse(304, url, Map.of(), new byte[0]));
+
+        Document result = pageFetcher.fetchConditionalGet(url).call();
+
+        assertEquals("", result.body().text());
+        verify(fetchEngine).execute(argThat(request -> "\"v1\"".equals(request.headers().get("If-None-Match"))));
+
+        pageFetcher.confirmValidators(url);
+        verify(validatorStore, never()).put(any(), any());
+        verifyNoInteractions(pageArchive);
+    }
+
+    @Test
+    void fetchConditionalGet_shouldStoreValidatorsOnlyAfterConfirmation() throws Exception {
+        String url = "https://example.com";
+        byte[] body = "<html><body>test</body></html>".getBytes(StandardCharsets.UTF_8);
+        Map<String, String> headers = Map.of("ETag", "\"v2\"", "Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT");
+
+        when(userAgentProvider.getNextUserAgent()).thenReturn("test user agent");
+        when(validatorStore.get(url)).thenReturn(Optional.empty());
+        when(fetchEngine.execute(any())).thenReturn(new FetchResponse(200, url, headers, body));
+
+        Document result = pageFetcher.fetchConditionalGet(url).call();
+
+        assertEquals("test", result.body().text());
+        verify(fetchEngine).execute(argThat(request -> !request.headers().containsKey("If-None-Match")));
+        verify(validatorStore, never()).put(any(), any());
+
+        pageFetcher.confirmValidators(url);
+        verify(validatorStore).put(url, new PageValidators("\"v2\"", "Wed, 21 Oct 2015 07:28:00 GMT"));
+    }
+
+    @Test
+    void downloadPage_shouldBackOff_whenThrottled() throws Exception {
+        AdaptiveRateLimiter limiter = spy(new AdaptiveRateLimiter(Source.RT_RU, 1000, 10, 1000));
+        Callable<Document> loader = mock();
+
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        doReturn(false).when(pageFetcher).isThreadInterrupted();
+        when(loader.call()).thenThrow(new PageThrottledException("https://example.com", 503, Duration.ZERO));
+
+        Optional<Document> result = pageFetcher.downloadPage(
+                loader, "https://example.com", limiter, CrawlPriority.ARTICLE, null
+        );
+
+        assertTrue(result.isEmpty());
+        verify(limiter).onThrottle(Duration.ZERO);
+        assertEquals(500, limiter.getRate(), 0.001);
+    }
+
+    @Test
+    void downloadPage_shouldBackOff_whenTimedOut() throws Exception {
+        AdaptiveRateLimiter limiter = spy(new AdaptiveRateLimiter(Source.RT_RU, 1000, 10, 1000));
+        Callable<Document> loader = mock();
+
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        doReturn(false).when(pageFetcher).isThreadInterrupted();
+        when(loader.call()).thenThrow(new SocketTimeoutException("timeout"));
+
+        Optional<Document> result = pageFetcher.downloadPage(
+                loader, "https://example.com", limiter, CrawlPriority.ARTICLE, null
+        );
+
+        assertTrue(result.isEmpty());
+        verify(limiter).onTimeout();
+    }
+
+    @Test
+    void parseRetryAfter_shouldSupportSecondsAndHttpDate() {
+        assertEquals(Duration.ofSeconds(120), PageFetcher.parseRetryAfter("120"));
+        assertEquals(Duration.ZERO, PageFetcher.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertNull(PageFetcher.parseRetryAfter("invalid"));
+        assertNull(PageFetcher.parseRetryAfter(null));
     }
 
     @Test
     void fetchPost_shouldReturnDocumentWhenSuccessful() throws Exception {
         String url = "https://example.com";
-        String body = "{\"key\":\"value\"}";
-
-        Connection connection = mock(Connection.class);
-        Connection.Response response = mock(Connection.Response.class);
-
-        String jsonResponse = "{\"data\":\"<html><body>test</body></html>\"}";
-
-        try (var mockedStatic = mockStatic(org.jsoup.Jsoup.class)) {
-            mockedStatic.when(() -> org.jsoup.Jsoup.connect(url)).thenReturn(connection);
-
-            when(userAgentProvider.getNextUserAgent()).thenReturn("test user agent");
-            when(connection.userAgent("test user agent")).thenReturn(connection);
-            when(connection.timeout(45_000)).thenReturn(connection);
-            when(connection.headers(anyMap())).thenReturn(connection);
-            when(connection.header("X-Requested-With", "XMLHttpRequest")).thenReturn(connection);
-            when(connection.method(Connection.Method.POST)).thenReturn(connection);
-            when(connection.requestBody(body)).thenReturn(connection);
-            when(connection.ignoreContentType(true)).thenReturn(connection);
-            when(connection.execute()).thenReturn(response);
-            when(response.body()).thenReturn(jsonResponse);
-            mockedStatic.when(() -> Jsoup.parse(anyString())).thenCallRealMethod();
-
-            Callable<Document> callable = pageFetcher.fetchPost(url, body);
-            Document doc = callable.call();
-
-            assertNotNull(doc);
-            assertEquals("test", doc.body().text());
-
-            verify(connection).userAgent("test user agent");
-            verify(connection).timeout(45_000);
-            verify(connection).headers(anyMap());
-            verify(connection).header("X-Requested-With", "XMLHttpRequest");
-            verify(connection).method(Connection.Method.POST);
-            verify(connection).requestBody(body);
-            verify(connection).ignoreContentType(true);
-            verify(connection).execute();
-            verify(response).body();
-        }
+        String body = "page=2";
+        byte[] jsonResponse = "{\"data\":\"<html><body>test</body></html>\"}".getBytes(StandardCharsets.UTF_8);
+
+        when(userAgentProvider.getNextUserAgent()).thenReturn("test user agent");
+        when(fetchEngine.execute(any())).thenReturn(new FetchResponse(200, url, Map.of(), jsonResponse));
+
+        Callable<Document> callable = pageFetcher.fetchPost(url, body);
+        Document doc = callable.call();
+
+        assertNotNull(doc);
+        assertEquals("test", doc.body().text());
+        verify(fetchEngine).execute(argThat(request -> request.isPost()
+                && request.body().equals(body)
+                && "XMLHttpRequest".equals(request.headers().get("X-Requested-With"))
+                && "test user agent".equals(request.headers().get("User-Agent"))
+        ));
     }
 
     @Test
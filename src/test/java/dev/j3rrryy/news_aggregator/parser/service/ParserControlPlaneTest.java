@@ -0,0 +1,176 @@
+package dev.j3rrryy.news_aggregator.parser.service;
+
+import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserConfig;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ParserControlPlaneTest {
+
+    private static final String CHANNEL = ParserControlPlane.CHANNEL;
+
+    private ParserControlPlane controlPlane;
+    private StringRedisTemplate redisTemplate;
+    private HashOperations<String, Object, Object> hashOps;
+    private ZSetOperations<String, String> zSetOps;
+    private ParserProperties parserProperties;
+    private ParsingStatusManager parsingStatusManager;
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        hashOps = mock();
+        zSetOps = mock();
+        parsingStatusManager = mock(ParsingStatusManager.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        CrawlLeaseManager crawlLeaseManager = mock(CrawlLeaseManager.class);
+
+        parserProperties = new ParserProperties();
+        parserProperties.setClusterEnabled(true);
+
+        when(redisTemplate.opsForHash()).thenReturn(hashOps);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(crawlLeaseManager.getNodeId()).thenReturn("node-a");
+
+        controlPlane = new ParserControlPlane(
+                redisTemplate, parserProperties, crawlLeaseManager, parsingStatusManager, eventPublisher
+        );
+    }
+
+    @Test
+    void publish_shouldDoNothing_whenClusterModeDisabled() {
+        parserProperties.setClusterEnabled(false);
+
+        controlPlane.publishStop();
+        controlPlane.publishAutoParsing();
+        controlPlane.publishHeadPolling();
+        controlPlane.publishHostConcurrency(Source.RT_RU, 4);
+        controlPlane.publishSourceStatuses(Map.of(Source.RT_RU, false));
+        controlPlane.markRunning();
+
+        assertFalse(controlPlane.isParsingInProgressElsewhere());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void publishSourceStatuses_shouldStoreStateAndNotifyCluster() {
+        controlPlane.publishSourceStatuses(Map.of(Source.RT_RU, false));
+
+        verify(hashOps).putAll("parser:control:state", Map.of("source:RT_RU", "false"));
+        verify(redisTemplate).convertAndSend(CHANNEL, "SOURCE_STATUSES:node-a");
+    }
+
+    @Test
+    void onMessage_shouldRequestStop_whenParsingLocally() {
+        when(parsingStatusManager.isParsingInProgress()).thenReturn(true);
+
+        controlPlane.onMessage(message("STOP:node-b"), null);
+
+        verify(parsingStatusManager).requestStop();
+    }
+
+    @Test
+    void onMessage_shouldIgnoreOwnMessages() {
+        controlPlane.onMessage(message("STOP:node-a"), null);
+
+        verifyNoInteractions(parsingStatusManager);
+    }
+
+    @Test
+    void onMessage_shouldApplySourceStatusesFromSharedState() {
+        parserProperties.getSourceStatuses().put(Source.RT_RU, true);
+        parserProperties.getSourceStatuses().put(Source.AIF_RU, true);
+        when(hashOps.entries("parser:control:state")).thenReturn(Map.of("source:RT_RU", "false"));
+
+        controlPlane.onMessage(message("SOURCE_STATUSES:node-b"), null);
+
+        assertFalse(parserProperties.getSourceStatuses().get(Source.RT_RU));
+        assertTrue(parserProperties.getSourceStatuses().get(Source.AIF_RU));
+    }
+
+    @Test
+    void onMessage_shouldApplyAutoParsingAndNotifyScheduler() {
+        when(hashOps.entries("parser:control:state"))
+                .thenReturn(Map.of("autoParsingEnabled", "true", "autoParsingInterval", "PT2H"));
+
+        controlPlane.onMessage(message("AUTO_PARSING:node-b"), null);
+
+        assertTrue(parserProperties.isAutoParsingEnabled());
+        assertEquals(Duration.ofHours(2), parserProperties.getAutoParsingInterval());
+        verify(eventPublisher).publishEvent(new AutoParsingChangedEvent(true));
+    }
+
+    @Test
+    void publishHeadPolling_shouldStoreStateAndNotifyCluster() {
+        parserProperties.setHeadPollingEnabled(true);
+
+        controlPlane.publishHeadPolling();
+
+        verify(hashOps).put("parser:control:state", "headPollingEnabled", "true");
+        verify(redisTemplate).convertAndSend(CHANNEL, "HEAD_POLLING:node-a");
+    }
+
+    @Test
+    void onMessage_shouldApplyHeadPollingAndNotifyPoller() {
+        when(hashOps.entries("parser:control:state")).thenReturn(Map.of("headPollingEnabled", "true"));
+
+        controlPlane.onMessage(message("HEAD_POLLING:node-b"), null);
+
+        assertTrue(parserProperties.isHeadPollingEnabled());
+        verify(eventPublisher).publishEvent(new HeadPollingChangedEvent(true));
+    }
+
+    @Test
+    void publishHostConcurrency_shouldStoreLimitAndNotifyCluster() {
+        controlPlane.publishHostConcurrency(Source.RT_RU, 4);
+
+        verify(hashOps).put("parser:control:state", "maxConcurrentRequests:RT_RU", "4");
+        verify(redisTemplate).convertAndSend(CHANNEL, "HOST_CONCURRENCY:node-a");
+    }
+
+    @Test
+    void onMessage_shouldApplyChangedHostConcurrencyAndNotifyScheduler() {
+        ParserConfig rtConfig = new ParserConfig();
+        rtConfig.setMaxConcurrentRequests(20);
+        ParserConfig aifConfig = new ParserConfig();
+        aifConfig.setMaxConcurrentRequests(20);
+        parserProperties.getConfigs().put(Source.RT_RU, rtConfig);
+        parserProperties.getConfigs().put(Source.AIF_RU, aifConfig);
+        when(hashOps.entries("parser:control:state"))
+                .thenReturn(Map.of("maxConcurrentRequests:RT_RU", "4", "maxConcurrentRequests:AIF_RU", "20"));
+
+        controlPlane.onMessage(message("HOST_CONCURRENCY:node-b"), null);
+
+        assertEquals(4, rtConfig.getMaxConcurrentRequests());
+        verify(eventPublisher).publishEvent(new HostConcurrencyChangedEvent(Source.RT_RU, 4));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void isParsingInProgressElsewhere_shouldIgnoreOwnEntry() {
+        when(zSetOps.count(eq("parser:running"), anyDouble(), eq(Double.POSITIVE_INFINITY))).thenReturn(1L);
+        when(zSetOps.score("parser:running", "node-a")).thenReturn(1.0, (Double) null);
+
+        assertFalse(controlPlane.isParsingInProgressElsewhere());
+        assertTrue(controlPlane.isParsingInProgressElsewhere());
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -1,19 +1,23 @@
 package dev.j3rrryy.news_aggregator.parser.service;
 
-import dev.j3rrryy.news_aggregator.enums.Category;
+import dev.j3rrryy.news_aggregator.enums.ParsingOutcome;
 import dev.j3rrryy.news_aggregator.enums.Source;
 import dev.j3rrryy.news_aggregator.parser.NewsParser;
 import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.time.LocalDateTime;
-import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.mockito.Mockito.*;
 
@@ -38,14 +42,18 @@ public class ParsingOrchestratorTest {
     @Mock
     private ParsingStatusManager parsingStatusManager;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ExecutorService ioExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        ioExecutor.shutdownNow();
+    }
+
     @Test
     void runAsyncParsing_shouldRunParsersWhenNotStoppedAndEnabled() {
-        Map<Source, Map<Category, LocalDateTime>> latestPublishedAt = new EnumMap<>(Source.class);
-        EnumMap<Category, LocalDateTime> categoryMap = new EnumMap<>(Category.class);
-        categoryMap.put(Category.ECONOMICS, LocalDateTime.now());
-        latestPublishedAt.put(Source.SVPRESSA_RU, categoryMap);
-
-        when(parsingService.getLatestPublishedAtByCategoryAndSource()).thenReturn(latestPublishedAt);
         when(parserProperties.getSourceStatuses()).thenReturn(
                 Map.of(Source.SVPRESSA_RU, true, Source.AIF_RU, false)
         );
@@ -55,15 +63,15 @@ public class ParsingOrchestratorTest {
 
         List<NewsParser> parsers = List.of(parser1, parser2);
 
-        orchestrator = new ParsingOrchestrator(parsers, parsingService, parserProperties, parsingStatusManager);
-        orchestrator.runAsyncParsing();
+        orchestrator = new ParsingOrchestrator(parsers, ioExecutor, parsingService, parserProperties, parsingStatusManager, eventPublisher);
+        orchestrator.runAsyncParsing(EnumSet.allOf(Source.class));
 
-        verify(parsingService).prepareForParsing();
-        verify(parsingService).getLatestPublishedAtByCategoryAndSource();
-        verify(parser1).parse(latestPublishedAt.get(Source.SVPRESSA_RU));
-        verify(parser2, never()).parse(any());
-        verify(parsingStatusManager).stopParsing();
-        verify(parsingStatusManager).resetStopRequest();
+        verify(parsingService).prepareForParsing(EnumSet.allOf(Source.class));
+        verify(parser1).parse();
+        verify(parser2, never()).parse();
+        verify(eventPublisher).publishEvent(new SourceParsedEvent(Source.SVPRESSA_RU, ParsingOutcome.COMPLETED, 0));
+        verify(eventPublisher).publishEvent(new SourceParsedEvent(Source.AIF_RU, ParsingOutcome.SKIPPED, 0));
+        verify(parsingStatusManager).stopParsing(EnumSet.allOf(Source.class));
     }
 
     @Test
@@ -72,14 +80,74 @@ public class ParsingOrchestratorTest {
         when(parserProperties.getSourceStatuses()).thenReturn(Map.of(Source.SVPRESSA_RU, true));
         when(parser1.getSource()).thenReturn(Source.SVPRESSA_RU);
 
-        orchestrator = new ParsingOrchestrator(List.of(parser1), parsingService, parserProperties, parsingStatusManager);
-        orchestrator.runAsyncParsing();
+        orchestrator = new ParsingOrchestrator(List.of(parser1), ioExecutor, parsingService, parserProperties, parsingStatusManager, eventPublisher);
+        orchestrator.runAsyncParsing(EnumSet.allOf(Source.class));
+
+        verify(parsingService).prepareForParsing(EnumSet.allOf(Source.class));
+        verify(parser1, never()).parse();
+        verify(parsingStatusManager).stopParsing(EnumSet.allOf(Source.class));
+    }
+
+    @Test
+    void runAsyncParsing_shouldContinueWithOtherSources_whenOneParserFails() {
+        when(parserProperties.getSourceStatuses()).thenReturn(
+                Map.of(Source.SVPRESSA_RU, true, Source.AIF_RU, true)
+        );
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        when(parser1.getSource()).thenReturn(Source.SVPRESSA_RU);
+        when(parser2.getSource()).thenReturn(Source.AIF_RU);
+        doThrow(new IllegalStateException("test")).when(parser1).parse();
+
+        orchestrator = new ParsingOrchestrator(
+                List.of(parser1, parser2), ioExecutor, parsingService, parserProperties, parsingStatusManager, eventPublisher
+        );
+        orchestrator.runAsyncParsing(EnumSet.allOf(Source.class));
+
+        verify(parser1).parse();
+        verify(parser2).parse();
+        verify(parsingStatusManager).stopParsing(EnumSet.allOf(Source.class));
+    }
+
+    @Test
+    void runAsyncParsing_shouldRunEnabledSourcesConcurrently_whenConcurrentModeEnabled() {
+        when(parserProperties.isConcurrentSources()).thenReturn(true);
+        when(parserProperties.getSourceStatuses()).thenReturn(
+                Map.of(Source.SVPRESSA_RU, true, Source.AIF_RU, true)
+        );
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        when(parser1.getSource()).thenReturn(Source.SVPRESSA_RU);
+        when(parser2.getSource()).thenReturn(Source.AIF_RU);
+        doThrow(new IllegalStateException("test")).when(parser2).parse();
+
+        orchestrator = new ParsingOrchestrator(
+                List.of(parser1, parser2), ioExecutor, parsingService, parserProperties, parsingStatusManager, eventPublisher
+        );
+        orchestrator.runAsyncParsing(EnumSet.allOf(Source.class));
+
+        verify(parser1).parse();
+        verify(parser2).parse();
+        verify(parsingStatusManager).stopParsing(EnumSet.allOf(Source.class));
+    }
+
+    @Test
+    void runAsyncParsing_shouldOnlyRunRequestedSources() {
+        when(parserProperties.getSourceStatuses()).thenReturn(
+                Map.of(Source.SVPRESSA_RU, true, Source.AIF_RU, true)
+        );
+        when(parsingStatusManager.isStopRequested()).thenReturn(false);
+        when(parsingStatusManager.getSavedArticles(Source.AIF_RU)).thenReturn(7L);
+        when(parser1.getSource()).thenReturn(Source.SVPRESSA_RU);
+        when(parser2.getSource()).thenReturn(Source.AIF_RU);
+
+        orchestrator = new ParsingOrchestrator(
+                List.of(parser1, parser2), ioExecutor, parsingService, parserProperties, parsingStatusManager, eventPublisher
+        );
+        orchestrator.runAsyncParsing(Set.of(Source.AIF_RU));
 
-        verify(parsingService).prepareForParsing();
-        verify(parsingService).getLatestPublishedAtByCategoryAndSource();
-        verify(parser1, never()).parse(any());
-        verify(parsingStatusManager).stopParsing();
-        verify(parsingStatusManager).resetStopRequest();
+        verify(parser1, never()).parse();
+        verify(parser2).parse();
+        verify(eventPublisher).publishEvent(new SourceParsedEvent(Source.AIF_RU, ParsingOutcome.COMPLETED, 7));
+        verifyNoMoreInteractions(eventPublisher);
     }
 
 }
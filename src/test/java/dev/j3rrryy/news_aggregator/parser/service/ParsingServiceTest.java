@@ -3,6 +3,9 @@ package dev.j3rrryy.news_aggregator.parser.service;
 import dev.j3rrryy.news_aggregator.entity.NewsArticle;
 import dev.j3rrryy.news_aggregator.enums.Category;
 import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.dedup.DuplicateDetector;
+import dev.j3rrryy.news_aggregator.parser.dedup.DuplicateLinks;
 import dev.j3rrryy.news_aggregator.repository.NewsArticleBatchRepository;
 import dev.j3rrryy.news_aggregator.repository.NewsArticleRepository;
 import dev.j3rrryy.news_aggregator.service.v1.CacheManagerService;
@@ -12,9 +15,11 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class ParsingServiceTest {
@@ -23,6 +28,9 @@ public class ParsingServiceTest {
     private NewsArticleRepository repository;
     private CacheManagerService cacheManagerService;
     private NewsArticleBatchRepository batchRepository;
+    private KnownUrlIndex knownUrlIndex;
+    private DuplicateDetector duplicateDetector;
+    private ParserProperties parserProperties;
 
     @BeforeEach
     void setUp() {
@@ -30,51 +38,167 @@ public class ParsingServiceTest {
         repository = mock(NewsArticleRepository.class);
         batchRepository = mock(NewsArticleBatchRepository.class);
 
-        parsingService = new ParsingService(cacheManagerService, repository, batchRepository);
+        knownUrlIndex = mock(KnownUrlIndex.class);
+        duplicateDetector = mock(DuplicateDetector.class);
+        parserProperties = new ParserProperties();
+
+        parsingService = new ParsingService(
+                cacheManagerService, repository, batchRepository, knownUrlIndex, duplicateDetector, parserProperties
+        );
     }
 
     @Test
     void prepareForParsing_shouldClearCachesAndUpdateStatuses() {
-        parsingService.prepareForParsing();
+        when(repository.updateNewToActiveBySources(Set.of(Source.RT_RU))).thenReturn(2);
+
+        parsingService.prepareForParsing(Set.of(Source.RT_RU));
 
         verify(cacheManagerService).clearAllCaches();
-        verify(repository).updateAllNewToActive();
+        verify(repository).updateNewToActiveBySources(Set.of(Source.RT_RU));
+    }
+
+    @Test
+    void prepareForParsing_shouldKeepCaches_whenNoArticlesWereUpdated() {
+        parsingService.prepareForParsing(Set.of(Source.AIF_RU));
+
+        verify(repository).updateNewToActiveBySources(Set.of(Source.AIF_RU));
+        verifyNoInteractions(cacheManagerService);
+    }
+
+    @Test
+    void prepareForParsing_shouldDoNothing_whenNoSourcesAreParsed() {
+        parsingService.prepareForParsing(Set.of());
+
+        verifyNoInteractions(repository, cacheManagerService);
+    }
+
+    @Test
+    void getWatermark_shouldReturnStoredWatermark() {
+        LocalDateTime latest = LocalDateTime.of(2025, 5, 7, 0, 0);
+        when(batchRepository.findWatermark(Source.RT_RU, Category.POLITICS, "/politics"))
+                .thenReturn(Optional.of(new NewsArticleBatchRepository.StoredWatermark(latest, Set.of("a"))));
+
+        Optional<CrawlWatermark> watermark = parsingService.getWatermark(Source.RT_RU, Category.POLITICS, "/politics");
+
+        assertEquals(Optional.of(new CrawlWatermark(latest, Set.of("a"))), watermark);
+        verify(repository, never()).findLatestPublishedAt(any(), any());
+    }
+
+    @Test
+    void getWatermark_shouldFallBackToLatestPublishedAt_whenPathHasNoWatermark() {
+        LocalDateTime latest = LocalDateTime.of(2025, 5, 1, 0, 0);
+        when(batchRepository.findWatermark(Source.AIF_RU, Category.SOCIETY, "/society")).thenReturn(Optional.empty());
+        when(repository.findLatestPublishedAt(Source.AIF_RU, Category.SOCIETY)).thenReturn(Optional.of(latest));
+
+        Optional<CrawlWatermark> watermark = parsingService.getWatermark(Source.AIF_RU, Category.SOCIETY, "/society");
+
+        assertEquals(Optional.of(new CrawlWatermark(latest, Set.of())), watermark);
+    }
+
+    @Test
+    void getWatermark_shouldReturnEmpty_whenNothingStored() {
+        when(batchRepository.findWatermark(any(), any(), any())).thenReturn(Optional.empty());
+        when(repository.findLatestPublishedAt(any(), any())).thenReturn(Optional.empty());
+
+        assertTrue(parsingService.getWatermark(Source.AIF_RU, Category.SOCIETY, "/society").isEmpty());
     }
 
     @Test
-    void getLatestPublishedAtByCategoryAndSource_shouldReturnCorrectMap() {
-        Object[] row1 = new Object[]{Source.AIF_RU, Category.SOCIETY,
-                LocalDateTime.of(2025, 5, 1, 0, 0)};
-        Object[] row2 = new Object[]{Source.RT_RU, Category.POLITICS,
-                LocalDateTime.of(2025, 5, 7, 0, 0)};
-        when(repository.findLatestPublishedAtByCategoryAndSource()).thenReturn(List.of(row1, row2));
-
-        Map<Source, Map<Category, LocalDateTime>> result = parsingService.getLatestPublishedAtByCategoryAndSource();
-
-        assertEquals(LocalDateTime.of(2025, 5, 1, 0, 0),
-                result.get(Source.AIF_RU).get(Category.SOCIETY));
-        assertEquals(LocalDateTime.of(2025, 5, 7, 0, 0),
-                result.get(Source.RT_RU).get(Category.POLITICS));
-
-        for (Source source : Source.values()) {
-            for (Category category : Category.values()) {
-                if ((source != Source.AIF_RU || category != Category.SOCIETY) &&
-                        (source != Source.RT_RU || category != Category.POLITICS)) {
-                    assertNull(result.get(source).get(category));
-                }
-            }
-        }
+    void saveArticles_shouldAdvanceWatermarks_withSavedArticlesOnly() {
+        NewsArticle saved = NewsArticle.builder().url("a").build();
+        NewsArticle conflicting = NewsArticle.builder().url("b").build();
+        List<NewsArticle> articles = List.of(saved, conflicting);
+        when(batchRepository.saveAllBatch(articles)).thenReturn(Set.of("a"));
+
+        parsingService.saveArticles(articles);
+
+        verify(batchRepository).advanceWatermarks(List.of(saved));
     }
 
     @Test
-    void saveArticles_shouldDelegateToRepositoryAndReturnCount() {
+    void saveArticles_shouldDelegateToRepositoryAndReturnSavedUrls() {
         List<NewsArticle> articles = List.of(new NewsArticle(), new NewsArticle());
-        when(batchRepository.saveAllBatch(articles)).thenReturn(2);
+        when(batchRepository.saveAllBatch(articles)).thenReturn(Set.of("a", "b"));
 
-        int savedCount = parsingService.saveArticles(articles);
+        Set<String> savedUrls = parsingService.saveArticles(articles);
 
-        assertEquals(2, savedCount);
+        assertEquals(Set.of("a", "b"), savedUrls);
         verify(batchRepository).saveAllBatch(articles);
+        verify(knownUrlIndex).addAll(anyList());
+    }
+
+    @Test
+    void saveArticles_shouldUseCopy_whenBatchReachesThreshold() {
+        parserProperties.setCopyIngestThreshold(2);
+        List<NewsArticle> articles = List.of(new NewsArticle(), new NewsArticle());
+        when(batchRepository.copyAllBatch(articles)).thenReturn(Set.of("a", "b"));
+
+        assertEquals(Set.of("a", "b"), parsingService.saveArticles(articles));
+        verify(batchRepository, never()).saveAllBatch(any());
+    }
+
+    @Test
+    void saveArticles_shouldUseBatchStatements_belowThreshold() {
+        parserProperties.setCopyIngestThreshold(3);
+        List<NewsArticle> articles = List.of(new NewsArticle(), new NewsArticle());
+        when(batchRepository.saveAllBatch(articles)).thenReturn(Set.of("a", "b"));
+
+        assertEquals(Set.of("a", "b"), parsingService.saveArticles(articles));
+        verify(batchRepository, never()).copyAllBatch(any());
+    }
+
+    @Test
+    void saveArticles_shouldLinkDuplicatesBeforeInsert_andRegisterSavedCanonicals() {
+        List<NewsArticle> articles = List.of(new NewsArticle());
+        DuplicateLinks links = new DuplicateLinks(Map.of("a", new int[0]), Map.of(), Map.of());
+        when(duplicateDetector.linkDuplicates(articles)).thenReturn(links);
+        when(batchRepository.saveAllBatch(articles)).thenReturn(Set.of("a"));
+
+        parsingService.saveArticles(articles);
+
+        var inOrder = inOrder(duplicateDetector, batchRepository);
+        inOrder.verify(duplicateDetector).linkDuplicates(articles);
+        inOrder.verify(batchRepository).saveAllBatch(articles);
+        inOrder.verify(duplicateDetector).register(articles, links, Set.of("a"));
+    }
+
+    @Test
+    void upsertArticles_shouldClearCaches_whenArticlesWereUpdated() {
+        List<NewsArticle> articles = List.of(NewsArticle.builder().url("stored").build());
+        when(batchRepository.findExistingUrls(List.of("stored"))).thenReturn(Set.of("stored"));
+        when(batchRepository.updateArticlesByUrl(articles)).thenReturn(1);
+
+        assertEquals(1, parsingService.upsertArticles(articles));
+        verify(cacheManagerService).clearAllCaches();
+        verify(batchRepository, never()).saveAllBatch(any());
+    }
+
+    @Test
+    void upsertArticles_shouldInsertArticlesThatAreNotStored() {
+        NewsArticle stored = NewsArticle.builder().url("stored").build();
+        NewsArticle missing = NewsArticle.builder().url("missing").build();
+        when(batchRepository.findExistingUrls(List.of("stored", "missing"))).thenReturn(Set.of("stored"));
+        when(batchRepository.updateArticlesByUrl(List.of(stored))).thenReturn(1);
+        when(batchRepository.saveAllBatch(List.of(missing))).thenReturn(Set.of("missing"));
+
+        assertEquals(2, parsingService.upsertArticles(List.of(stored, missing)));
+        verify(knownUrlIndex).addAll(List.of("missing"));
+    }
+
+    @Test
+    void upsertArticles_shouldKeepCaches_whenNothingWasUpdated() {
+        when(batchRepository.findExistingUrls(List.of())).thenReturn(Set.of());
+        when(batchRepository.updateArticlesByUrl(List.of())).thenReturn(0);
+
+        assertEquals(0, parsingService.upsertArticles(List.of()));
+        verifyNoInteractions(cacheManagerService);
+    }
+
+    @Test
+    void filterUnknownUrls_shouldDelegateToKnownUrlIndex() {
+        when(knownUrlIndex.filterUnknown(Set.of("a", "b"))).thenReturn(Set.of("b"));
+
+        assertEquals(Set.of("b"), parsingService.filterUnknownUrls(Set.of("a", "b")));
     }
 
 }
@@ -4,10 +4,14 @@ import dev.j3rrryy.news_aggregator.enums.Category;
 import dev.j3rrryy.news_aggregator.enums.Source;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -18,13 +22,19 @@ public class ParsingStateStoreTest {
     private ParsingStateStore stateStore;
     private StringRedisTemplate redisTemplate;
     private ValueOperations<String, String> valueOps;
+    private SetOperations<String, String> setOps;
+    private HashOperations<String, Object, Object> hashOps;
 
     @BeforeEach
     void setUp() {
         redisTemplate = mock(StringRedisTemplate.class);
         valueOps = mock();
+        setOps = mock();
+        hashOps = mock();
 
         when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(redisTemplate.opsForSet()).thenReturn(setOps);
+        when(redisTemplate.opsForHash()).thenReturn(hashOps);
         stateStore = new ParsingStateStore(redisTemplate);
     }
 
@@ -62,13 +72,51 @@ public class ParsingStateStoreTest {
     }
 
     @Test
-    void clearState_shouldDeleteCorrectKey() {
+    void clearState_shouldDeletePageKeyOnly() {
         String path = "/news";
-        String expectedKey = "state:AIF_RU:SOCIETY:%2Fnews";
 
         stateStore.clearState(Source.AIF_RU, Category.SOCIETY, path);
 
-        verify(redisTemplate).delete(expectedKey);
+        verify(redisTemplate).delete("state:AIF_RU:SOCIETY:%2Fnews");
+        verifyNoMoreInteractions(setOps);
+    }
+
+    @Test
+    void getPendingUrls_shouldReturnFrontierMembers() {
+        when(setOps.members("frontier:RT_RU:SPORT:%2Fnews")).thenReturn(Set.of("a", "b"));
+
+        assertEquals(Set.of("a", "b"), stateStore.getPendingUrls(Source.RT_RU, Category.SPORT, "/news"));
+    }
+
+    @Test
+    void getPendingUrls_shouldReturnEmpty_whenRedisReturnsNull() {
+        when(setOps.members("frontier:RT_RU:SPORT:%2Fnews")).thenReturn(null);
+
+        assertTrue(stateStore.getPendingUrls(Source.RT_RU, Category.SPORT, "/news").isEmpty());
+    }
+
+    @Test
+    void addPendingUrlsAndAcknowledgeUrls_shouldUpdateFrontierSet() {
+        stateStore.addPendingUrls(Source.RT_RU, Category.SPORT, "/news", List.of("a"));
+        stateStore.acknowledgeUrls(Source.RT_RU, Category.SPORT, "/news", List.of("a"));
+        stateStore.addPendingUrls(Source.RT_RU, Category.SPORT, "/news", List.of());
+
+        verify(setOps).add("frontier:RT_RU:SPORT:%2Fnews", "a");
+        verify(setOps).remove("frontier:RT_RU:SPORT:%2Fnews", "a");
+        verify(hashOps).delete("frontier-attempts:RT_RU:SPORT:%2Fnews", "a");
+        verifyNoMoreInteractions(setOps);
+    }
+
+    @Test
+    void recordFailedAttempts_shouldReturnUrlsThatReachedMaxAttempts() {
+        when(hashOps.increment("frontier-attempts:RT_RU:SPORT:%2Fnews", "a", 1)).thenReturn(3L);
+        when(hashOps.increment("frontier-attempts:RT_RU:SPORT:%2Fnews", "b", 1)).thenReturn(1L);
+
+        Set<String> exhausted = stateStore.recordFailedAttempts(
+                Source.RT_RU, Category.SPORT, "/news", List.of("a", "b"), 3
+        );
+
+        assertEquals(Set.of("a"), exhausted);
     }
 
 }
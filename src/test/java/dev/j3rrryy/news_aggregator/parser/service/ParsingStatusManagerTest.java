@@ -1,8 +1,12 @@
 package dev.j3rrryy.news_aggregator.parser.service;
 
+import dev.j3rrryy.news_aggregator.enums.Source;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -50,6 +54,32 @@ public class ParsingStatusManagerTest {
         assertTrue(manager.isParsingInProgress());
     }
 
+    @Test
+    void startParsing_shouldRunDisjointSourcesIndependently() {
+        assertTrue(manager.startParsing(Set.of(Source.RT_RU)));
+        assertTrue(manager.startParsing(Set.of(Source.AIF_RU)));
+        assertFalse(manager.startParsing(Set.of(Source.RT_RU, Source.SVPRESSA_RU)));
+        assertFalse(manager.isParsingInProgress(Source.SVPRESSA_RU));
+
+        manager.stopParsing(Set.of(Source.RT_RU));
+        assertTrue(manager.isParsingInProgress());
+        assertFalse(manager.isParsingInProgress(Source.RT_RU));
+        assertTrue(manager.isParsingInProgress(Source.AIF_RU));
+    }
+
+    @Test
+    void stopParsing_shouldKeepStopRequest_untilLastSourceFinishes() {
+        manager.startParsing(Set.of(Source.RT_RU));
+        manager.startParsing(Set.of(Source.AIF_RU));
+        manager.requestStop();
+
+        manager.stopParsing(Set.of(Source.RT_RU));
+        assertTrue(manager.isStopRequested());
+
+        manager.stopParsing(Set.of(Source.AIF_RU));
+        assertFalse(manager.isStopRequested());
+    }
+
     @Test
     void stopParsing_shouldSetParsingInProgressFalse() {
         manager.startParsing();
@@ -59,4 +89,18 @@ public class ParsingStatusManagerTest {
         assertFalse(manager.isParsingInProgress());
     }
 
+    @Test
+    void recordSaved_shouldAccumulatePerSource_untilReset() {
+        manager.recordSaved(Source.RT_RU, 3);
+        manager.recordSaved(Source.RT_RU, 2);
+
+        assertEquals(5, manager.getSavedArticles(Source.RT_RU));
+        assertEquals(0, manager.getSavedArticles(Source.AIF_RU));
+
+        manager.recordSaved(Source.AIF_RU, 1);
+        manager.resetCounters(Set.of(Source.RT_RU));
+        assertEquals(0, manager.getSavedArticles(Source.RT_RU));
+        assertEquals(1, manager.getSavedArticles(Source.AIF_RU));
+    }
+
 }
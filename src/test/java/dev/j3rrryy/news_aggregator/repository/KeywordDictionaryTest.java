@@ -0,0 +1,76 @@
+package dev.j3rrryy.news_aggregator.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class KeywordDictionaryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private KeywordDictionary keywordDictionary;
+
+    @BeforeEach
+    void setUp() {
+        keywordDictionary = new KeywordDictionary(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void resolveIds_shouldNotQuery_whenKeywordsEmpty() {
+        assertEquals(Map.of(), keywordDictionary.resolveIds(Set.of()));
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void resolveIds_shouldUpsertMissingKeywords_inOwnTransaction() throws Exception {
+        stubUpsert(Map.of("java", 1, "spring", 2));
+
+        assertEquals(Map.of("java", 1, "spring", 2), keywordDictionary.resolveIds(Set.of("java", "spring")));
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+        ));
+    }
+
+    @Test
+    void resolveIds_shouldServeCachedKeywords_withoutQuerying() throws Exception {
+        stubUpsert(Map.of("java", 1));
+        keywordDictionary.resolveIds(Set.of("java"));
+
+        assertEquals(Map.of("java", 1), keywordDictionary.resolveIds(List.of("java")));
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private void stubUpsert(Map<String, Integer> rows) throws Exception {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map.Entry<String, Integer> row : rows.entrySet()) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn(row.getKey());
+                when(rs.getInt(2)).thenReturn(row.getValue());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+}
@@ -9,19 +9,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
 import org.postgresql.util.PGobject;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 
-import java.sql.PreparedStatement;
-import java.sql.Types;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,13 +40,16 @@ public class NewsArticleBatchRepositoryTest {
     @Mock
     JdbcTemplate jdbcTemplate;
 
+    @Mock
+    KeywordDictionary keywordDictionary;
+
     @InjectMocks
     NewsArticleBatchRepository repository;
 
     @Test
     void saveAllBatch_shouldReturnZero_whenArticlesEmpty() {
-        int result = repository.saveAllBatch(List.of());
-        assertEquals(0, result);
+        Set<String> result = repository.saveAllBatch(List.of());
+        assertEquals(0, result.size());
         verifyNoInteractions(jdbcTemplate);
     }
 
@@ -46,7 +59,8 @@ public class NewsArticleBatchRepositoryTest {
 
         when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
                 .thenReturn(new int[]{1});
-        when(jdbcTemplate.batchUpdate(contains("news_keywords"), anyList()))
+        when(keywordDictionary.resolveIds(Set.of("java"))).thenReturn(Map.of("java", 1));
+        when(jdbcTemplate.batchUpdate(contains("news_article_keywords"), anyList()))
                 .thenReturn(new int[]{1});
         when(jdbcTemplate.batchUpdate(contains("news_media_urls"), anyList()))
                 .thenReturn(new int[]{1});
@@ -62,11 +76,12 @@ public class NewsArticleBatchRepositoryTest {
         when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
                 .thenReturn(new int[]{0});
 
-        int result = repository.saveAllBatch(List.of(article));
+        Set<String> result = repository.saveAllBatch(List.of(article));
 
-        assertEquals(0, result);
-        verify(jdbcTemplate, never()).batchUpdate(contains("news_keywords"), anyList());
+        assertEquals(0, result.size());
+        verify(jdbcTemplate, never()).batchUpdate(contains("news_article_keywords"), anyList());
         verify(jdbcTemplate, never()).batchUpdate(contains("news_media_urls"), anyList());
+        verifyNoInteractions(keywordDictionary);
     }
 
     @Test
@@ -79,16 +94,18 @@ public class NewsArticleBatchRepositoryTest {
 
         when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
                 .thenReturn(new int[]{0, 1});
-        when(jdbcTemplate.batchUpdate(contains("news_keywords"), anyList()))
+        when(keywordDictionary.resolveIds(Set.of("spring"))).thenReturn(Map.of("spring", 2));
+        when(jdbcTemplate.batchUpdate(contains("news_article_keywords"), anyList()))
                 .thenReturn(new int[]{1});
         when(jdbcTemplate.batchUpdate(contains("news_media_urls"), anyList()))
                 .thenReturn(new int[]{1});
 
-        int result = repository.saveAllBatch(List.of(article1, article2));
+        Set<String> result = repository.saveAllBatch(List.of(article1, article2));
 
-        assertEquals(1, result);
-        verify(jdbcTemplate).batchUpdate(contains("news_keywords"),
-                argThat((List<Object[]> list) -> list.stream().allMatch(arr -> id2.equals(arr[0])))
+        assertEquals(Set.of(article2.getUrl()), result);
+        verify(jdbcTemplate).batchUpdate(contains("news_article_keywords"),
+                argThat((List<Object[]> list) -> list.stream()
+                        .allMatch(arr -> id2.equals(arr[0]) && Integer.valueOf(2).equals(arr[1])))
         );
     }
 
@@ -98,10 +115,10 @@ public class NewsArticleBatchRepositoryTest {
         when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
                 .thenReturn(new int[]{1});
 
-        int result = repository.saveAllBatch(List.of(article));
+        Set<String> result = repository.saveAllBatch(List.of(article));
 
-        assertEquals(1, result);
-        verify(jdbcTemplate, never()).batchUpdate(contains("news_keywords"), anyList());
+        assertEquals(1, result.size());
+        verify(jdbcTemplate, never()).batchUpdate(contains("news_article_keywords"), anyList());
         verify(jdbcTemplate, never()).batchUpdate(contains("news_media_urls"), anyList());
     }
 
@@ -124,13 +141,105 @@ public class NewsArticleBatchRepositoryTest {
                     verify(ps).setObject(eq(7), any(PGobject.class));
                     verify(ps).setTimestamp(eq(8), any());
                     verify(ps).setObject(eq(9), any(PGobject.class));
+                    verify(ps).setObject(eq(10), isNull(), eq(Types.OTHER));
 
                     assertEquals(1, setter.getBatchSize());
                     return new int[]{1};
                 });
 
-        int result = repository.saveAllBatch(List.of(article));
-        assertEquals(1, result);
+        Set<String> result = repository.saveAllBatch(List.of(article));
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void copyAllBatch_shouldReturnZero_whenArticlesEmpty() {
+        assertEquals(Set.of(), repository.copyAllBatch(List.of()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void copyAllBatch_shouldStageRowsWithCopy_andMoveThemInOneStatement() throws Exception {
+        NewsArticle article = dummyArticle(null, Set.of("java"), Set.of("test media url"));
+
+        Connection connection = mock();
+        Statement statement = mock();
+        PGConnection pgConnection = mock();
+        CopyManager copyManager = mock();
+        CopyIn copyIn = mock();
+        PreparedStatement ps = mock();
+        ResultSet rs = mock();
+        ByteArrayOutputStream copied = new ByteArrayOutputStream();
+
+        when(keywordDictionary.resolveIds(Set.of("java"))).thenReturn(Map.of("java", 42));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(inv -> inv.getArgument(0, ConnectionCallback.class).doInConnection(connection));
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+        when(copyIn.isActive()).thenReturn(true);
+        doAnswer(inv -> {
+            copied.write(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        when(connection.prepareStatement(contains("RETURNING id"))).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getString(1)).thenReturn(article.getUrl());
+
+        Set<String> result = repository.copyAllBatch(List.of(article));
+
+        assertEquals(1, result.size());
+        assertNotNull(article.getId());
+        verify(statement).execute(contains("CREATE TEMP TABLE IF NOT EXISTS staging_articles"));
+        verify(copyManager).copyIn("COPY staging_articles FROM STDIN WITH (FORMAT csv)");
+        verify(copyManager).copyIn("COPY staging_keywords FROM STDIN WITH (FORMAT csv)");
+        verify(copyManager).copyIn("COPY staging_media_urls FROM STDIN WITH (FORMAT csv)");
+        verify(copyIn, times(3)).endCopy();
+
+        String csv = copied.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains("\"test title\""));
+        assertTrue(csv.contains("\"POLITICS\""));
+        assertTrue(csv.contains("\"42\""));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    void findExistingUrls_shouldNotQuery_whenUrlsEmpty() {
+        assertEquals(Set.of(), repository.findExistingUrls(List.of()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findExistingUrls_shouldReturnStoredUrls() {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenReturn(List.of("test url"));
+
+        assertEquals(Set.of("test url"), repository.findExistingUrls(List.of("test url", "other url")));
+    }
+
+    @Test
+    void findCategoriesByUrls_shouldNotQuery_whenUrlsEmpty() {
+        assertEquals(Map.of(), repository.findCategoriesByUrls(List.of()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void updateArticlesByUrl_shouldSkipUpdates_whenNoArticleIsStored() {
+        NewsArticle article = dummyArticle(null, Set.of("java"), Set.of("test media url"));
+
+        assertEquals(0, repository.updateArticlesByUrl(List.of(article)));
+        verify(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void countUrls_shouldReturnZero_whenCountIsNull() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(null);
+
+        assertEquals(0, repository.countUrls());
     }
 
     private NewsArticle dummyArticle(UUID id, Set<String> keywords, Set<String> mediaUrls) {
@@ -9,9 +9,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -49,8 +48,7 @@ public class AnalyticsServiceTest {
 
     @Test
     void getTopFrequentKeywords_mapsRepositoryRowsToDto() {
-        Pageable pageable = PageRequest.of(0, 3);
-        when(repository.findMostFrequentKeywords(pageable)).thenReturn(List.of(
+        when(repository.findMostFrequentKeywords(3)).thenReturn(List.of(
                 new Object[]{"java", 7},
                 new Object[]{"spring", 3}
         ));
@@ -81,6 +79,18 @@ public class AnalyticsServiceTest {
         );
     }
 
+    @Test
+    void getKeywordTrend_mapsNativeTimestampToDate() {
+        String kw = "java";
+        when(repository.findKeywordFrequencyOverTime(kw)).thenReturn(List.<Object[]>of(
+                new Object[]{Timestamp.valueOf(LocalDateTime.of(2025, 5, 1, 0, 0)), 4}
+        ));
+
+        List<KeywordDateCount> trend = analyticsService.getKeywordTrend(kw);
+
+        assertThat(trend).containsExactly(new KeywordDateCount(LocalDate.of(2025, 5, 1), 4));
+    }
+
     @Test
     void getTrendingTopics_fromAfterTo_throws() {
         LocalDateTime from = LocalDateTime.of(2025, 5, 7, 0, 0);
@@ -71,6 +71,7 @@ public class ArticlesServiceTest {
 
         ArticlesAffected result = articlesService.deleteAllArticles();
 
+        verify(repository).deleteAllWatermarks();
         verify(cacheManagerService).clearAllCaches();
         assertThat(result.articlesAffected()).isEqualTo(12);
     }
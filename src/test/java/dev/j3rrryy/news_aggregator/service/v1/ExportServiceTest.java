@@ -62,7 +62,9 @@ public class ExportServiceTest {
                 "test url 1",
                 Status.NEW,
                 LocalDateTime.of(2025, 5, 1, 0, 0),
-                Source.SVPRESSA_RU
+                Source.SVPRESSA_RU,
+                null,
+                null
         );
         article2 = new NewsArticle(
                 UUID.randomUUID(),
@@ -75,7 +77,9 @@ public class ExportServiceTest {
                 "test url 2",
                 Status.ACTIVE,
                 LocalDateTime.of(2025, 5, 7, 0, 0),
-                Source.AIF_RU
+                Source.AIF_RU,
+                null,
+                null
         );
     }
 
@@ -1,15 +1,25 @@
 package dev.j3rrryy.news_aggregator.service.v1;
 
 import dev.j3rrryy.news_aggregator.dto.request.AutoParsingInterval;
+import dev.j3rrryy.news_aggregator.dto.request.BackfillRequest;
+import dev.j3rrryy.news_aggregator.dto.request.HostConcurrencyLimit;
 import dev.j3rrryy.news_aggregator.dto.request.NewsSourceStatusesRequest;
 import dev.j3rrryy.news_aggregator.dto.response.AutoParsingStatus;
+import dev.j3rrryy.news_aggregator.dto.response.BackfillStatus;
+import dev.j3rrryy.news_aggregator.dto.response.HostConcurrencyStatus;
 import dev.j3rrryy.news_aggregator.dto.response.NewsSourceStatusesResponse;
 import dev.j3rrryy.news_aggregator.dto.response.ParsingStatus;
 import dev.j3rrryy.news_aggregator.enums.Source;
+import dev.j3rrryy.news_aggregator.exceptions.BackfillInProgressException;
+import dev.j3rrryy.news_aggregator.exceptions.BackfillNotRunningException;
 import dev.j3rrryy.news_aggregator.exceptions.ParsingInProgressException;
 import dev.j3rrryy.news_aggregator.exceptions.ParsingNotRunningException;
 import dev.j3rrryy.news_aggregator.mapper.NewsSourceStatusesMapper;
 import dev.j3rrryy.news_aggregator.parser.config.ParserProperties;
+import dev.j3rrryy.news_aggregator.parser.service.ArchiveReparseService;
+import dev.j3rrryy.news_aggregator.parser.service.BackfillService;
+import dev.j3rrryy.news_aggregator.parser.service.CrawlScheduler;
+import dev.j3rrryy.news_aggregator.parser.service.ParserControlPlane;
 import dev.j3rrryy.news_aggregator.parser.service.ParsingOrchestrator;
 import dev.j3rrryy.news_aggregator.parser.service.ParsingStatusManager;
 import org.junit.jupiter.api.Test;
@@ -19,8 +29,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -35,27 +50,63 @@ public class ParserServiceTest {
     @Mock
     private ParserProperties parserProperties;
 
+    @Mock
+    private ParserControlPlane parserControlPlane;
+
     @Mock
     private ParsingOrchestrator parsingOrchestrator;
 
     @Mock
     private ParsingStatusManager parsingStatusManager;
 
+    @Mock
+    private ArchiveReparseService archiveReparseService;
+
+    @Mock
+    private BackfillService backfillService;
+
+    @Mock
+    private CrawlScheduler crawlScheduler;
+
     @Mock
     private NewsSourceStatusesMapper newsSourceStatusesMapper;
 
     @Test
     void startParsing_shouldRunParsingIfNotInProgress() {
-        when(parsingStatusManager.startParsing()).thenReturn(true);
+        when(parsingStatusManager.startParsing(EnumSet.allOf(Source.class))).thenReturn(true);
         parserService.startParsing();
-        verify(parsingOrchestrator).runAsyncParsing();
+        verify(parserControlPlane).markRunning();
+        verify(parsingOrchestrator).runAsyncParsing(EnumSet.allOf(Source.class));
+    }
+
+    @Test
+    void startParsing_shouldRunRequestedSourcesOnly() {
+        when(parsingStatusManager.startParsing(Set.of(Source.RT_RU))).thenReturn(true);
+        parserService.startParsing(Set.of(Source.RT_RU));
+        verify(parsingOrchestrator).runAsyncParsing(Set.of(Source.RT_RU));
+        verify(parserControlPlane, never()).isParsingInProgressElsewhere();
     }
 
     @Test
     void startParsing_shouldThrowExceptionIfAlreadyInProgress() {
-        when(parsingStatusManager.startParsing()).thenReturn(false);
+        when(parsingStatusManager.startParsing(EnumSet.allOf(Source.class))).thenReturn(false);
         assertThrows(ParsingInProgressException.class, () -> parserService.startParsing());
-        verify(parsingOrchestrator, never()).runAsyncParsing();
+        verify(parsingOrchestrator, never()).runAsyncParsing(any());
+    }
+
+    @Test
+    void startReparse_shouldRunReparseIfNotInProgress() {
+        when(parsingStatusManager.startParsing()).thenReturn(true);
+        parserService.startReparse();
+        verify(archiveReparseService).runAsyncReparse();
+        verifyNoInteractions(parsingOrchestrator);
+    }
+
+    @Test
+    void startReparse_shouldThrowExceptionIfAlreadyInProgress() {
+        when(parsingStatusManager.startParsing()).thenReturn(false);
+        assertThrows(ParsingInProgressException.class, () -> parserService.startReparse());
+        verify(archiveReparseService, never()).runAsyncReparse();
     }
 
     @Test
@@ -63,6 +114,18 @@ public class ParserServiceTest {
         when(parsingStatusManager.isParsingInProgress()).thenReturn(true);
         parserService.stopParsing();
         verify(parsingStatusManager).requestStop();
+        verify(parserControlPlane).publishStop();
+    }
+
+    @Test
+    void stopParsing_shouldOnlyPublishStop_whenParsingRunsOnAnotherNode() {
+        when(parsingStatusManager.isParsingInProgress()).thenReturn(false);
+        when(parserControlPlane.isParsingInProgressElsewhere()).thenReturn(true);
+
+        parserService.stopParsing();
+
+        verify(parsingStatusManager, never()).requestStop();
+        verify(parserControlPlane).publishStop();
     }
 
     @Test
@@ -79,6 +142,14 @@ public class ParserServiceTest {
         assertThat(status.inProgress()).isTrue();
     }
 
+    @Test
+    void getParsingStatus_shouldReflectOtherNodes() {
+        when(parsingStatusManager.isParsingInProgress()).thenReturn(false);
+        when(parserControlPlane.isParsingInProgressElsewhere()).thenReturn(true);
+
+        assertThat(parserService.getParsingStatus().inProgress()).isTrue();
+    }
+
     @Test
     void getSourceStatuses_shouldReturnMappedStatuses() {
         Map<Source, Boolean> statuses = Map.of(Source.SVPRESSA_RU, true);
@@ -103,6 +174,7 @@ public class ParserServiceTest {
 
         verify(newsSourceStatusesMapper).updateStatusMap(dto, currentStatuses);
         verify(parserProperties).setSourceStatuses(currentStatuses);
+        verify(parserControlPlane).publishSourceStatuses(currentStatuses);
     }
 
     @Test
@@ -125,6 +197,54 @@ public class ParserServiceTest {
         parserService.setAutoParsingInterval(dto);
 
         verify(parserProperties).setAutoParsingInterval(interval);
+        verify(parserControlPlane).publishAutoParsing();
+    }
+
+    @Test
+    void startBackfill_shouldThrowException_whenAlreadyRunning() {
+        LocalDate targetDate = LocalDate.of(2020, 1, 1);
+        when(backfillService.start(targetDate)).thenReturn(false);
+
+        assertThrows(BackfillInProgressException.class,
+                () -> parserService.startBackfill(new BackfillRequest(targetDate)));
+    }
+
+    @Test
+    void stopBackfill_shouldThrowException_whenNotRunning() {
+        when(backfillService.stop()).thenReturn(false);
+        assertThrows(BackfillNotRunningException.class, () -> parserService.stopBackfill());
+    }
+
+    @Test
+    void getBackfillStatus_shouldCombineStateAndProgress() {
+        LocalDate targetDate = LocalDate.of(2020, 1, 1);
+        when(backfillService.isRunning()).thenReturn(true);
+        when(backfillService.getTargetDate()).thenReturn(Optional.of(targetDate));
+        when(backfillService.getProgress()).thenReturn(new BackfillService.BackfillProgress(10, 4, 120, 2400));
+
+        BackfillStatus status = parserService.getBackfillStatus();
+
+        assertThat(status).isEqualTo(new BackfillStatus(true, targetDate, 10, 4, 120, 2400));
+    }
+
+    @Test
+    void getHostConcurrency_shouldMapSchedulerStats() {
+        when(crawlScheduler.getHostStats()).thenReturn(List.of(new CrawlScheduler.HostStats(
+                Source.SVPRESSA_RU, 8, 8, 3, 120, 2, Duration.ofMillis(15), Duration.ofMillis(400), 0.5
+        )));
+
+        List<HostConcurrencyStatus> result = parserService.getHostConcurrency();
+
+        assertThat(result.getFirst()).isEqualTo(new HostConcurrencyStatus(
+                Source.SVPRESSA_RU, 8, 8, 3, 120, 2, 15.0, 400, 0.5
+        ));
+    }
+
+    @Test
+    void setHostConcurrency_shouldResizeBulkheadAndPublishToCluster() {
+        parserService.setHostConcurrency(new HostConcurrencyLimit(Source.RT_RU, 12));
+        verify(crawlScheduler).setMaxConcurrentRequests(Source.RT_RU, 12);
+        verify(parserControlPlane).publishHostConcurrency(Source.RT_RU, 12);
     }
 
 }
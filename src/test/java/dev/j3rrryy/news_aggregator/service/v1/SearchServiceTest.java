@@ -95,7 +95,9 @@ public class SearchServiceTest {
                 "test url 1",
                 Status.ACTIVE,
                 LocalDateTime.of(2025, 5, 1, 0, 0),
-                Source.AIF_RU
+                Source.AIF_RU,
+                null,
+                null
         );
         NewsArticle a2 = new NewsArticle(
                 UUID.randomUUID(),
@@ -108,7 +110,9 @@ public class SearchServiceTest {
                 "test url 2",
                 Status.ACTIVE,
                 LocalDateTime.of(2025, 5, 7, 0, 0),
-                Source.SVPRESSA_RU
+                Source.SVPRESSA_RU,
+                null,
+                null
         );
 
         Page<NewsArticle> page = new PageImpl<>(List.of(a1, a2),
@@ -208,7 +212,9 @@ public class SearchServiceTest {
                 "test url",
                 Status.ACTIVE,
                 LocalDateTime.of(2025, 5, 1, 0, 0),
-                Source.AIF_RU
+                Source.AIF_RU,
+                null,
+                null
         );
 
         Page<NewsArticle> page = new PageImpl<>(List.of(article),
@@ -257,7 +263,9 @@ public class SearchServiceTest {
                 "test url",
                 Status.ACTIVE,
                 LocalDateTime.of(2025, 5, 1, 0, 0),
-                Source.AIF_RU
+                Source.AIF_RU,
+                null,
+                null
         );
         when(repository.findById(id)).thenReturn(Optional.of(article));
 